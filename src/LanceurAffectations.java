@@ -0,0 +1,98 @@
+import model.AdminAffectationsModel;
+import model.data.DPS;
+import model.data.Secouriste;
+import model.graphs.ChargeHoraire;
+import model.graphs.DecompositionJournees;
+import model.graphs.IndexDisponibilites;
+import model.graphs.RegistreStrategies;
+import model.graphs.ResultatAffectation;
+import model.graphs.StrategieAffectation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Lanceur sans interface graphique de la génération des affectations.
+ * Il charge les DPS, les secouristes et leurs disponibilités depuis la base, résout chaque journée avec
+ * la stratégie demandée, sous les mêmes plafonds horaires que l'interface, et affiche le résultat,
+ * sans rien enregistrer.
+ * <p>
+ * Usage : {@code java LanceurAffectations [--sans-plafonds | --plafonds <minutes/jour> <minutes/semaine>]
+ * [nom de stratégie]} (stratégie automatique et plafonds par défaut),
+ * ou {@code java LanceurAffectations --liste} pour lister les stratégies disponibles.
+ * </p>
+ */
+public class LanceurAffectations {
+
+    /** Durée accordée aux stratégies interruptibles pour l'ensemble des journées */
+    private static final Duration BUDGET = Duration.ofSeconds(5);
+
+    /**
+     * Point d'entrée du lanceur.
+     *
+     * @param args les options de plafonds puis le nom de la stratégie (éventuellement en plusieurs mots), ou --liste
+     */
+    public static void main(String[] args) {
+        AdminAffectationsModel model = new AdminAffectationsModel("lanceur");
+        RegistreStrategies strategies = model.getStrategies();
+
+        List<String> mots = new ArrayList<>(Arrays.asList(args));
+        if (!mots.isEmpty() && mots.get(0).equals("--sans-plafonds")) {
+            model.setPlafondsHoraires(ChargeHoraire.SANS_PLAFOND, ChargeHoraire.SANS_PLAFOND);
+            mots.remove(0);
+        } else if (!mots.isEmpty() && mots.get(0).equals("--plafonds")) {
+            try {
+                model.setPlafondsHoraires(Integer.parseInt(mots.get(1)), Integer.parseInt(mots.get(2)));
+            } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+                System.err.println("Usage : --plafonds <minutes par jour> <minutes par semaine>, positifs");
+                return;
+            }
+            mots.subList(0, 3).clear();
+        }
+
+        if (!mots.isEmpty() && mots.get(0).equals("--liste")) {
+            for (String nom : strategies.getNoms()) {
+                System.out.println(nom.equals(RegistreStrategies.AUTOMATIQUE) ? nom
+                        : nom + " (complexité " + strategies.get(nom).getComplexite() + ")");
+            }
+            return;
+        }
+        String nomStrategie = !mots.isEmpty() ? String.join(" ", mots) : RegistreStrategies.AUTOMATIQUE;
+        if (!strategies.getNoms().contains(nomStrategie)) {
+            System.err.println("Stratégie inconnue : " + nomStrategie + ". Stratégies disponibles : " + strategies.getNoms());
+            return;
+        }
+
+        List<DPS> dps = model.getAllDPS();
+        List<Secouriste> secouristes = model.getSecouristeDAO().findAll();
+        IndexDisponibilites disponibilites = model.chargerDisponibilites(dps, secouristes);
+        if (disponibilites == null) {
+            System.err.println("Impossible de charger les disponibilités des secouristes");
+            return;
+        }
+        System.out.println(dps.size() + " DPS, " + secouristes.size() + " secouristes, stratégie : " + nomStrategie
+                + ", plafonds : " + (model.creerChargeHoraire(dps, secouristes) == null ? "aucun"
+                        : model.getMaxMinutesJour() + " min/jour, " + model.getMaxMinutesSemaine() + " min/semaine"));
+
+        Instant echeance = Instant.now().plus(BUDGET);
+        long debut = System.nanoTime();
+        SortedMap<LocalDate, ResultatAffectation> parJournee =
+                model.resoudreParJournee(nomStrategie, dps, secouristes, disponibilites, echeance);
+        long duree = (System.nanoTime() - debut) / 1_000_000;
+
+        SortedMap<LocalDate, List<DPS>> journees = DecompositionJournees.grouperParJournee(dps);
+        for (Map.Entry<LocalDate, ResultatAffectation> entry : parJournee.entrySet()) {
+            StrategieAffectation strategie = nomStrategie.equals(RegistreStrategies.AUTOMATIQUE)
+                    ? strategies.choisir(disponibilites.getDisponibles(entry.getKey()), journees.get(entry.getKey()))
+                    : strategies.get(nomStrategie);
+            System.out.println("  " + entry.getKey() + " [" + strategie.getNom() + "] " + entry.getValue());
+        }
+        System.out.println("Total : " + ResultatAffectation.fusionner(parJournee.values()) + " en " + duree + " ms");
+    }
+}
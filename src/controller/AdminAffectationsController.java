@@ -1,5 +1,6 @@
 package controller;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.layout.AnchorPane;
@@ -8,23 +9,44 @@ import javafx.collections.FXCollections;
 import model.AdminAffectationsModel;
 import model.data.DPS;
 import model.data.Secouriste;
+import model.graphs.DeltaAffectation;
+import model.graphs.IndexDisponibilites;
+import model.graphs.RapportFaisabilite;
+import model.graphs.RegistreStrategies;
+import model.graphs.ResultatAffectation;
+import model.graphs.ResultatRechercheBornee;
 import view.AdminDashboardView;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SortedSet;
 
 /**
  * Contrôleur de l'interface d'administration des affectations.
  * Permet de générer les affectations de secouristes aux dispositifs (DPS)
- * en utilisant soit un algorithme glouton, soit un algorithme exhaustif.
+ * en utilisant soit un algorithme glouton amélioré par recherche locale, soit une recherche exhaustive
+ * bornée dans le temps, soit toute stratégie du registre choisie par son nom (ou automatiquement).
  */
 public class AdminAffectationsController {
-    
+
+    /** Durée maximale de la recherche bornée, au-delà de laquelle la meilleure solution trouvée est retenue */
+    private static final Duration BUDGET_RECHERCHE = Duration.ofSeconds(5);
+
+    /** Stratégie du bouton glouton */
+    private static final String STRATEGIE_GLOUTONNE = "Glouton amélioré";
+
+    /** Stratégie du bouton de recherche bornée */
+    private static final String STRATEGIE_BORNEE = "Exhaustif borné";
+
     private Button greedyButton;
     private Button exhaustiveButton;
+    private ComboBox<String> strategieComboBox;
+    private Button strategieButton;
     private TableView<AdminAffectationsModel.Affectation> tableView;
     private Label nomUtilisateurLabel;
     private Label homeIcon;
@@ -37,8 +59,10 @@ public class AdminAffectationsController {
     /**
      * Constructeur du contrôleur.
      * 
-     * @param greedyButton bouton pour lancer l'algorithme glouton
-     * @param exhaustiveButton bouton pour lancer l'algorithme exhaustif
+     * @param greedyButton bouton pour lancer l'algorithme glouton (amélioré par recherche locale)
+     * @param exhaustiveButton bouton pour lancer la recherche exhaustive bornée dans le temps
+     * @param strategieComboBox liste de choix de la stratégie d'affectation
+     * @param strategieButton bouton pour lancer la stratégie choisie
      * @param tableView table d'affichage des affectations
      * @param colDate colonne pour la date
      * @param colSitesOlympiques colonne pour le site
@@ -50,6 +74,8 @@ public class AdminAffectationsController {
     public AdminAffectationsController(
             Button greedyButton,
             Button exhaustiveButton,
+            ComboBox<String> strategieComboBox,
+            Button strategieButton,
             TableView<AdminAffectationsModel.Affectation> tableView,
             TableColumn<AdminAffectationsModel.Affectation, String> colDate,
             TableColumn<AdminAffectationsModel.Affectation, String> colSitesOlympiques,
@@ -59,6 +85,8 @@ public class AdminAffectationsController {
             String nomUtilisateur) {
         this.greedyButton = greedyButton;
         this.exhaustiveButton = exhaustiveButton;
+        this.strategieComboBox = strategieComboBox;
+        this.strategieButton = strategieButton;
         this.tableView = tableView;
         this.colDate = colDate;
         this.colSitesOlympiques = colSitesOlympiques;
@@ -69,6 +97,35 @@ public class AdminAffectationsController {
         
         setupBindings();
         setupListeners();
+        Platform.runLater(this::proposerRevisionDisponibilites);
+    }
+
+    /**
+     * Propose de réparer les journées du planning enregistré où des secouristes affectés ont retiré leur
+     * disponibilité depuis sa génération. Chaque journée est réparée sans régénérer le reste du planning ;
+     * une journée dont la réparation échoue garde ses affectations.
+     */
+    private void proposerRevisionDisponibilites() {
+        SortedSet<LocalDate> journees = model.journeesAReviser();
+        if (journees == null || journees.isEmpty()) return;
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Disponibilités modifiées");
+        alert.setHeaderText(journees.size() + " journée(s) comptent des secouristes affectés devenus indisponibles");
+        alert.setContentText("Journées concernées : " + journees + "\n\nRéparer le planning de ces journées ?");
+        if (alert.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+
+        int echecs = 0;
+        for (LocalDate date : journees) {
+            if (model.reparerAffectations(DeltaAffectation.revisionDisponibilites(date)) == null) echecs++;
+        }
+        if (echecs > 0) {
+            Alert erreur = new Alert(Alert.AlertType.ERROR);
+            erreur.setTitle("Erreur de Réparation");
+            erreur.setHeaderText("Réparation incomplète");
+            erreur.setContentText(echecs + " journée(s) n'ont pas pu être réparées : leurs affectations ont été conservées.");
+            erreur.showAndWait();
+        }
     }
 
     /**
@@ -77,6 +134,8 @@ public class AdminAffectationsController {
     private void setupBindings() {
         nomUtilisateurLabel.textProperty().bind(model.nomUtilisateurProperty());
         tableView.setItems(model.getAffectations());
+        strategieComboBox.setItems(FXCollections.observableArrayList(model.getStrategies().getNoms()));
+        strategieComboBox.setValue(RegistreStrategies.AUTOMATIQUE);
     }
 
     /**
@@ -84,8 +143,9 @@ public class AdminAffectationsController {
      */
     private void setupListeners() {
         homeIcon.setOnMouseClicked(event -> handleRetour());
-        greedyButton.setOnAction(e -> handleGenerate(true));
-        exhaustiveButton.setOnAction(e -> handleGenerate(false));
+        greedyButton.setOnAction(e -> handleGenerate(STRATEGIE_GLOUTONNE));
+        exhaustiveButton.setOnAction(e -> handleGenerate(STRATEGIE_BORNEE));
+        strategieButton.setOnAction(e -> handleGenerate(strategieComboBox.getValue()));
     }
 
     /**
@@ -107,30 +167,18 @@ public class AdminAffectationsController {
     /**
      * Lance la génération des affectations selon l'algorithme choisi.
      *
-     * @param useGreedy true pour l'algorithme glouton, false pour l'exhaustif
+     * @param nomStrategie le nom de la stratégie du registre, ou {@link RegistreStrategies#AUTOMATIQUE}
      */
-    private void handleGenerate(boolean useGreedy) {
-        generateAffectations(useGreedy);
+    private void handleGenerate(String nomStrategie) {
+        generateAffectations(nomStrategie);
     }
 
     /**
-     * Génère les affectations des secouristes aux DPS en utilisant l'algorithme spécifié.
+     * Génère les affectations des secouristes aux DPS en utilisant la stratégie spécifiée.
      *
-     * @param useGreedy true pour utiliser l’algorithme glouton, false pour l’exhaustif
+     * @param nomStrategie le nom d'une stratégie du registre, ou {@link RegistreStrategies#AUTOMATIQUE}
      */
-    public void generateAffectations(boolean useGreedy) {
-
-        System.out.println("Contrôleur: Tentative de suppression des affectations existantes...");
-        boolean nettoyageReussi = model.nettoyerAffectations();
-        if (!nettoyageReussi) {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Erreur de Préparation");
-            alert.setHeaderText("Nettoyage Échoué");
-            alert.setContentText("Impossible de supprimer les affectations précédentes de la base de données. Veuillez vérifier les logs.");
-            alert.showAndWait();
-            return;
-        }
-        System.out.println("Contrôleur: Affectations existantes supprimées (ou aucune à supprimer).");
+    public void generateAffectations(String nomStrategie) {
 
         ObservableList<DPS> allDPS = model.getAllDPS();
         if (allDPS.isEmpty()) {
@@ -152,13 +200,56 @@ public class AdminAffectationsController {
             return;
         }
 
-        Map<DPS, List<Secouriste>> assignments;
-        if (useGreedy) {
-            assignments = model.getGraphe().affectationGloutonne(allSecouristes, allDPS);
-        } else {
-            assignments = model.getGraphe().affectationExhaustive(allSecouristes, allDPS);
+        // Disponibilités de tout l'horizon chargées en une requête : seuls les secouristes disponibles
+        // sont candidats, chaque journée étant résolue séparément
+        IndexDisponibilites disponibilites = model.chargerDisponibilites(allDPS, allSecouristes);
+        if (disponibilites == null) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Erreur de Préparation");
+            alert.setHeaderText("Disponibilités illisibles");
+            alert.setContentText("Impossible de charger les disponibilités des secouristes. Les affectations existantes ont été conservées.");
+            alert.showAndWait();
+            return;
+        }
+
+        // Pénuries détectées avant résolution : l'administrateur peut renoncer avant que les affectations
+        // existantes ne soient supprimées. Le choix automatique ne retient jamais une stratégie multi-vacations
+        boolean multiVacations = !RegistreStrategies.AUTOMATIQUE.equals(nomStrategie)
+                && model.getStrategies().get(nomStrategie).autoriseMultiVacations();
+        RapportFaisabilite faisabilite = model.getGraphe().verifierFaisabilite(allDPS, disponibilites, multiVacations);
+        if (!faisabilite.isRealisable()) {
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Effectifs insuffisants");
+            alert.setHeaderText(faisabilite.getDeficitTotal() + " poste(s) ne pourront pas être pourvus");
+            alert.setContentText(faisabilite + "\n\nGénérer quand même les affectations ?");
+            if (alert.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
         }
 
+        System.out.println("Contrôleur: Tentative de suppression des affectations existantes...");
+        boolean nettoyageReussi = model.nettoyerAffectations();
+        if (!nettoyageReussi) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Erreur de Préparation");
+            alert.setHeaderText("Nettoyage Échoué");
+            alert.setContentText("Impossible de supprimer les affectations précédentes de la base de données. Veuillez vérifier les logs.");
+            alert.showAndWait();
+            return;
+        }
+        System.out.println("Contrôleur: Affectations existantes supprimées (ou aucune à supprimer).");
+
+        // Chaque journée est résolue par la stratégie choisie (ou par celle adaptée à sa taille) ; les stratégies
+        // interruptibles disposent du temps restant avant l'échéance commune. Sous plafonds horaires, les journées
+        // sont résolues une à une dans l'ordre chronologique (voir AdminAffectationsModel#resoudreParJournee)
+        Instant echeance = Instant.now().plus(BUDGET_RECHERCHE);
+        List<ResultatAffectation> parJournee = new ArrayList<>(
+                model.resoudreParJournee(nomStrategie, allDPS, allSecouristes, disponibilites, echeance).values());
+        ResultatAffectation resultat = ResultatAffectation.fusionner(parJournee);
+        List<ResultatRechercheBornee> bornes = new ArrayList<>();
+        for (ResultatAffectation journee : parJournee) {
+            if (journee instanceof ResultatRechercheBornee) bornes.add((ResultatRechercheBornee) journee);
+        }
+        Map<DPS, List<Secouriste>> assignments = resultat.getAffectation();
+
         if (assignments.isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("Échec des affectations");
@@ -180,21 +271,26 @@ public class AdminAffectationsController {
                     dps.getJournee().getJour()
                 );
 
-                List<Secouriste> availableSecouristes = secouristes.stream()
-                    .filter(s -> model.isSecouristeAvailable(s, date))
-                    .collect(Collectors.toList());
-
-                if (!availableSecouristes.isEmpty()) {
-                    model.createAffectation(dps, date, FXCollections.observableArrayList(availableSecouristes));
-                    totalAffectations += availableSecouristes.size();
-                }
+                model.createAffectation(dps, date, FXCollections.observableArrayList(secouristes));
+                totalAffectations += secouristes.size();
             }
         }
 
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Succès");
         alert.setHeaderText("Affectations générées");
-        alert.setContentText(totalAffectations + " affectations ont été générées et enregistrées avec succès.");
+        String details = totalAffectations + " affectations ont été générées et enregistrées avec succès.";
+        details += "\nStratégie : " + nomStrategie
+                + "\nScore : " + resultat.getScore()
+                + "\nPostes non pourvus : " + resultat.getDeficitTotal()
+                + " (" + resultat.getNbDPSIncomplets() + " DPS incomplets)";
+        if (bornes.size() == parJournee.size()) {
+            ResultatRechercheBornee borne = ResultatRechercheBornee.fusionnerBornes(bornes);
+            details += borne.isOptimal() ? "\nSolution optimale"
+                    : String.format("\nÉcart à l'optimum : au plus %.1f %% (budget de %d s atteint)",
+                        borne.getEcart() * 100, BUDGET_RECHERCHE.toSeconds());
+        }
+        alert.setContentText(details);
         alert.showAndWait();
     }
 
@@ -546,7 +546,12 @@ public class AdminDispositifsController {
                 
                 idTextField.requestFocus();
                 
-                showAlert("Succès", "Dispositif 'DPS-" + id + "' ajouté avec succès!", Alert.AlertType.INFORMATION);
+                if (model.isPlanningAJour()) {
+                    showAlert("Succès", "Dispositif 'DPS-" + id + "' ajouté avec succès!", Alert.AlertType.INFORMATION);
+                } else {
+                    showAlert("Attention", "Dispositif 'DPS-" + id + "' ajouté, mais le planning n'a pas pu être mis à jour : "
+                            + "veuillez régénérer les affectations.", Alert.AlertType.WARNING);
+                }
             } else {
                 if (model.getDispositifs().stream().noneMatch(d -> d.getJournee().getJour() == jour && 
                                                                   d.getJournee().getMois() == mois && 
@@ -579,6 +584,8 @@ public class AdminDispositifsController {
                 
                 if (success) {
                     showAlert("Succès", "Dispositif 'DPS-" + idDispositif + "' supprimé avec succès!", Alert.AlertType.INFORMATION);
+                } else if (!model.isPlanningAJour()) {
+                    showAlert("Erreur", "Le planning n'a pas pu être mis à jour : le dispositif n'a pas été supprimé.", Alert.AlertType.ERROR);
                 } else {
                     showAlert("Erreur", "Erreur lors de la suppression en base de données.", Alert.AlertType.ERROR);
                 }
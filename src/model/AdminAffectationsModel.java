@@ -6,26 +6,58 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import model.dao.*;
 import model.data.*;
+import model.graphs.ChargeHoraire;
 import model.graphs.DAG;
+import model.graphs.DeltaAffectation;
+import model.graphs.DecompositionJournees;
 import model.graphs.Graphe;
+import model.graphs.IndexDisponibilites;
+import model.graphs.RegistreStrategies;
+import model.graphs.ReparationAffectation;
+import model.graphs.ResultatAffectation;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
  * Modèle pour la gestion des affectations d'un administrateur.
  */
 public class AdminAffectationsModel {
+
+    /** Temps maximal de DPS d'un secouriste par journée par défaut, en minutes */
+    public static final int MAX_MINUTES_JOUR = 10 * 60;
+
+    /** Temps maximal de DPS d'un secouriste par semaine des Jeux par défaut, en minutes */
+    public static final int MAX_MINUTES_SEMAINE = 48 * 60;
+
+    /** Temps maximal de DPS d'un secouriste par journée, en minutes, ou {@link ChargeHoraire#SANS_PLAFOND} */
+    private int maxMinutesJour = MAX_MINUTES_JOUR;
+
+    /** Temps maximal de DPS d'un secouriste par semaine des Jeux, en minutes, ou {@link ChargeHoraire#SANS_PLAFOND} */
+    private int maxMinutesSemaine = MAX_MINUTES_SEMAINE;
     
     private final StringProperty nomUtilisateur = new SimpleStringProperty("");
     private final ObservableList<Affectation> affectations = FXCollections.observableArrayList();
     private final DPSDAO dpsDAO;
     private final SecouristeDAO secouristeDAO;
     private final AffectationDAO affectationDAO;
+    private final DisponibiliteDAO disponibiliteDAO;
     private final Graphe graphe;
+    private final RegistreStrategies strategies;
     
     /**
      * Constructeur principal du modèle.
@@ -36,7 +68,9 @@ public class AdminAffectationsModel {
         this.dpsDAO = new DPSDAO();
         this.secouristeDAO = new SecouristeDAO();
         this.affectationDAO = new AffectationDAO();
+        this.disponibiliteDAO = new DisponibiliteDAO();
         this.graphe = new Graphe(new DAG());
+        this.strategies = RegistreStrategies.standard(graphe);
         initializeData();
     }
 
@@ -82,6 +116,116 @@ public class AdminAffectationsModel {
         }
     }
 
+    /**
+     * Répare les affectations enregistrées après une modification ponctuelle (DPS ajouté ou supprimé,
+     * besoin modifié, disponibilité déclarée ou retirée), sans régénérer le planning.
+     * La modification doit déjà être enregistrée en base, sauf la suppression d'un DPS, à réparer avant de
+     * supprimer le DPS que ses lignes d'affectation référencent encore ; seules les lignes d'affectation
+     * qui changent sont ensuite supprimées ou créées, en une seule transaction. Sans planning enregistré,
+     * il n'y a rien à réparer.
+     * @param delta la modification à absorber
+     * @return le résultat de la réparation (vide sans planning), ou null si les affectations actuelles
+     *         ou les disponibilités n'ont pas pu être chargées, ou si les modifications n'ont pas pu être
+     *         enregistrées (aucune ne l'est alors)
+     */
+    public ReparationAffectation reparerAffectations(DeltaAffectation delta) {
+        Map<Long, List<Long>> couples = affectationDAO.findCouplesAffectation();
+        if (couples == null) {
+            return null;
+        }
+        if (couples.isEmpty()) {
+            return new ReparationAffectation(Map.of(), 0, Map.of(), Map.of(), Map.of());
+        }
+
+        List<Secouriste> allSecouristes = secouristeDAO.findAll();
+        Map<Long, Secouriste> secouristesParId = new HashMap<>();
+        for (Secouriste s : allSecouristes) {
+            secouristesParId.put(s.getId(), s);
+        }
+
+        // Affectation actuelle ; un DPS supprimé garde ses lignes tant qu'elles n'ont pas été retirées
+        List<DPS> allDPS = new ArrayList<>(dpsDAO.findAll());
+        List<DPS> dpsActuels = new ArrayList<>(allDPS);
+        if (delta.getType() == DeltaAffectation.Type.SUPPRESSION_DPS) {
+            allDPS.removeIf(d -> d.getId() == delta.getDps().getId());
+            dpsActuels.removeIf(d -> d.getId() == delta.getDps().getId());
+            dpsActuels.add(delta.getDps());
+        }
+        Map<DPS, List<Secouriste>> actuelle = new HashMap<>();
+        for (DPS d : dpsActuels) {
+            List<Secouriste> membres = new ArrayList<>();
+            for (long id : couples.getOrDefault(d.getId(), List.of())) {
+                Secouriste s = secouristesParId.get(id);
+                if (s != null) membres.add(s);
+            }
+            actuelle.put(d, membres);
+        }
+
+        // Sans les disponibilités, la réparation retirerait tous les secouristes affectés ce jour-là
+        Map<LocalDate, Set<Long>> dispos = disponibiliteDAO.findDisponibilitesEntre(delta.getDate(), delta.getDate());
+        if (dispos == null) {
+            return null;
+        }
+        IndexDisponibilites disponibilites = new IndexDisponibilites(allSecouristes, dispos);
+        ReparationAffectation reparation = graphe.reparerAffectation(actuelle, allDPS, disponibilites, delta);
+
+        if (!affectationDAO.appliquerModifications(identifiants(reparation.getRetraits()),
+                                                   identifiants(reparation.getAjouts()))) {
+            return null;
+        }
+        affectations.setAll(affectationDAO.findAllAffectations());
+        return reparation;
+    }
+
+    /**
+     * @param parDPS des secouristes par DPS
+     * @return pour chaque identifiant de DPS, les identifiants de ses secouristes
+     */
+    private static Map<Long, List<Long>> identifiants(Map<DPS, List<Secouriste>> parDPS) {
+        Map<Long, List<Long>> identifiants = new HashMap<>();
+        for (Map.Entry<DPS, List<Secouriste>> entry : parDPS.entrySet()) {
+            identifiants.put(entry.getKey().getId(),
+                    entry.getValue().stream().map(Secouriste::getId).collect(Collectors.toList()));
+        }
+        return identifiants;
+    }
+
+    /**
+     * Recherche les journées du planning enregistré où un secouriste affecté a retiré sa disponibilité depuis :
+     * chacune peut être réparée par {@link #reparerAffectations(DeltaAffectation)} avec
+     * {@link DeltaAffectation#revisionDisponibilites(LocalDate)}, sans régénérer le planning.
+     * @return les journées à revoir, dans l'ordre chronologique, ou null si les affectations ou les
+     *         disponibilités n'ont pas pu être chargées
+     */
+    public SortedSet<LocalDate> journeesAReviser() {
+        Map<Long, List<Long>> couples = affectationDAO.findCouplesAffectation();
+        if (couples == null) {
+            return null;
+        }
+        SortedMap<LocalDate, Set<Long>> affectesParJour = new TreeMap<>();
+        for (DPS d : dpsDAO.findAll()) {
+            List<Long> affectes = couples.get(d.getId());
+            if (affectes == null) continue;
+            affectesParJour.computeIfAbsent(DecompositionJournees.dateDe(d.getJournee()), k -> new HashSet<>())
+                    .addAll(affectes);
+        }
+        SortedSet<LocalDate> journees = new TreeSet<>();
+        if (affectesParJour.isEmpty()) {
+            return journees;
+        }
+        Map<LocalDate, Set<Long>> dispos = disponibiliteDAO.findDisponibilitesEntre(
+                affectesParJour.firstKey(), affectesParJour.lastKey());
+        if (dispos == null) {
+            return null;
+        }
+        for (Map.Entry<LocalDate, Set<Long>> entry : affectesParJour.entrySet()) {
+            if (!dispos.getOrDefault(entry.getKey(), Set.of()).containsAll(entry.getValue())) {
+                journees.add(entry.getKey());
+            }
+        }
+        return journees;
+    }
+
     /**
      * Récupère tous les DPS depuis la base.
      * @return la liste observable des DPS
@@ -92,21 +236,63 @@ public class AdminAffectationsModel {
 
     /**
      * Recherche les secouristes compétents et disponibles pour un DPS donné à une date donnée.
+     * Sous plafonds horaires, seuls sont proposés les secouristes dont les heures déjà enregistrées sur les autres
+     * DPS laissent, ce jour-là et cette semaine-là, le temps de couvrir celui-ci.
      * @param dps le DPS ciblé
      * @param date la date de l’événement
-     * @return liste observable de secouristes disponibles
+     * @return liste observable de secouristes disponibles (vide si les affectations enregistrées ou les
+     *         disponibilités n'ont pas pu être chargées)
      */
     public ObservableList<Secouriste> searchCompetentSecouristes(DPS dps, LocalDate date) {
         List<Secouriste> allSecouristes = secouristeDAO.findAll();
         List<DPS> dpsList = List.of(dps);
 
-        Map<DPS, List<Secouriste>> result = graphe.affectationGloutonne(allSecouristes, dpsList);
+        ChargeHoraire charge = null;
+        if (maxMinutesJour != ChargeHoraire.SANS_PLAFOND || maxMinutesSemaine != ChargeHoraire.SANS_PLAFOND) {
+            Map<Long, List<Long>> couples = affectationDAO.findCouplesAffectation();
+            if (couples == null) {
+                return FXCollections.observableArrayList();
+            }
+            charge = chargeEnregistree(dps, allSecouristes, couples);
+        }
+
+        // Seuls les secouristes disponibles ce jour-là sont candidats
+        Map<LocalDate, Set<Long>> dispos = disponibiliteDAO.findDisponibilitesEntre(date, date);
+        if (dispos == null) {
+            return FXCollections.observableArrayList();
+        }
+        IndexDisponibilites disponibilites = new IndexDisponibilites(allSecouristes, dispos);
+        Map<DPS, List<Secouriste>> result = graphe.affectationGloutonne(disponibilites.getDisponibles(date), dpsList, charge);
+
+        return FXCollections.observableArrayList(result.getOrDefault(dps, List.of()));
+    }
 
-        List<Secouriste> available = result.getOrDefault(dps, List.of()).stream()
-                .filter(s -> isSecouristeAvailable(s, date))
-                .collect(Collectors.toList());
+    /**
+     * Construit la charge horaire des affectations enregistrées, aux plafonds en vigueur, hors celles d'un DPS
+     * dont l'équipe est à recomposer. La période est celle de tous les DPS, comme pour une génération.
+     * @param dps le DPS dont les affectations ne sont pas comptées
+     * @param secouristes l'ensemble des secouristes
+     * @param couples pour chaque identifiant de DPS, les identifiants des secouristes affectés
+     * @return la charge horaire
+     */
+    private ChargeHoraire chargeEnregistree(DPS dps, List<Secouriste> secouristes, Map<Long, List<Long>> couples) {
+        List<DPS> allDPS = new ArrayList<>(dpsDAO.findAll());
+        allDPS.removeIf(d -> d.getId() == dps.getId());
+        allDPS.add(dps);
+        ChargeHoraire charge = creerChargeHoraire(allDPS, secouristes);
 
-        return FXCollections.observableArrayList(available);
+        Map<Long, Secouriste> secouristesParId = new HashMap<>();
+        for (Secouriste s : secouristes) {
+            secouristesParId.put(s.getId(), s);
+        }
+        for (DPS d : allDPS) {
+            if (d.getId() == dps.getId()) continue;
+            for (long id : couples.getOrDefault(d.getId(), List.of())) {
+                Secouriste s = secouristesParId.get(id);
+                if (s != null) charge.enregistrer(s, d);
+            }
+        }
+        return charge;
     }
 
     /**
@@ -124,6 +310,96 @@ public class AdminAffectationsModel {
         );
     }
 
+    /**
+     * Charge les disponibilités de tout l'horizon couvert par une liste de DPS, en une seule requête.
+     * @param dps les DPS à planifier (leurs journées délimitent l'horizon)
+     * @param secouristes l'ensemble des secouristes
+     * @return l'index des disponibilités secouristes × journées, ou null si elles n'ont pas pu être chargées
+     */
+    public IndexDisponibilites chargerDisponibilites(List<DPS> dps, List<Secouriste> secouristes) {
+        SortedMap<LocalDate, List<DPS>> journees = DecompositionJournees.grouperParJournee(dps);
+        if (journees.isEmpty()) {
+            return new IndexDisponibilites(secouristes, Map.of());
+        }
+        Map<LocalDate, Set<Long>> dispos = disponibiliteDAO.findDisponibilitesEntre(journees.firstKey(), journees.lastKey());
+        return dispos == null ? null : new IndexDisponibilites(secouristes, dispos);
+    }
+
+    /**
+     * Modifie les plafonds horaires des générations suivantes ({@link #MAX_MINUTES_JOUR} et
+     * {@link #MAX_MINUTES_SEMAINE} par défaut).
+     * @param maxMinutesJour le temps maximal de DPS d'un secouriste par journée, en minutes,
+     *                       ou {@link ChargeHoraire#SANS_PLAFOND}
+     * @param maxMinutesSemaine le temps maximal de DPS d'un secouriste par semaine des Jeux, en minutes,
+     *                          ou {@link ChargeHoraire#SANS_PLAFOND}
+     * @throws IllegalArgumentException si un plafond est négatif
+     */
+    public void setPlafondsHoraires(int maxMinutesJour, int maxMinutesSemaine) {
+        if (maxMinutesJour < 0 || maxMinutesSemaine < 0) {
+            throw new IllegalArgumentException("Les plafonds horaires doivent être positifs");
+        }
+        this.maxMinutesJour = maxMinutesJour;
+        this.maxMinutesSemaine = maxMinutesSemaine;
+    }
+
+    /** @return le temps maximal de DPS d'un secouriste par journée, en minutes, ou {@link ChargeHoraire#SANS_PLAFOND} */
+    public int getMaxMinutesJour() {
+        return maxMinutesJour;
+    }
+
+    /** @return le temps maximal de DPS d'un secouriste par semaine, en minutes, ou {@link ChargeHoraire#SANS_PLAFOND} */
+    public int getMaxMinutesSemaine() {
+        return maxMinutesSemaine;
+    }
+
+    /**
+     * Crée la charge horaire vierge d'une génération, aux plafonds en vigueur.
+     * @param dps les DPS à planifier (leur première journée ouvre la première semaine des Jeux)
+     * @param secouristes l'ensemble des secouristes
+     * @return la charge horaire, à enregistrer journée par journée, ou null si les deux plafonds sont levés
+     *         ou s'il n'y a aucun DPS
+     */
+    public ChargeHoraire creerChargeHoraire(List<DPS> dps, List<Secouriste> secouristes) {
+        if (dps.isEmpty() || (maxMinutesJour == ChargeHoraire.SANS_PLAFOND && maxMinutesSemaine == ChargeHoraire.SANS_PLAFOND)) {
+            return null;
+        }
+        return ChargeHoraire.pour(secouristes, dps, maxMinutesJour, maxMinutesSemaine);
+    }
+
+    /**
+     * Résout chaque journée d'une génération avec une stratégie du registre, sous les plafonds horaires en vigueur.
+     * Sans plafonds, les journées sont indépendantes et résolues en parallèle. Sous plafonds, les cumuls
+     * hebdomadaires couplent les journées : un exécuteur à un seul thread les résout alors une à une dans l'ordre
+     * chronologique, chacune enregistrant ses heures dans la charge avant la suivante, ce qui prive la génération
+     * du parallélisme entre journées.
+     * @param nomStrategie le nom d'une stratégie du registre, ou {@link RegistreStrategies#AUTOMATIQUE}
+     * @param dps les DPS à planifier
+     * @param secouristes l'ensemble des secouristes
+     * @param disponibilites les disponibilités des secouristes sur l'horizon des DPS
+     * @param echeance l'échéance commune des stratégies interruptibles
+     * @return le résultat de chaque journée, par date
+     */
+    public SortedMap<LocalDate, ResultatAffectation> resoudreParJournee(String nomStrategie, List<DPS> dps,
+                                                                        List<Secouriste> secouristes,
+                                                                        IndexDisponibilites disponibilites,
+                                                                        Instant echeance) {
+        ChargeHoraire charge = creerChargeHoraire(dps, secouristes);
+        if (charge == null) {
+            return new DecompositionJournees().resoudre(dps, disponibilites,
+                    (vivier, dpsDuJour) -> strategies.resoudre(nomStrategie, vivier, dpsDuJour, echeance));
+        }
+        ExecutorService sequentiel = Executors.newSingleThreadExecutor();
+        try {
+            return new DecompositionJournees(sequentiel).resoudre(dps, disponibilites, (vivier, dpsDuJour) -> {
+                ResultatAffectation journee = strategies.resoudre(nomStrategie, vivier, dpsDuJour, echeance, charge);
+                charge.enregistrer(journee.getAffectation());
+                return journee;
+            });
+        } finally {
+            sequentiel.shutdown();
+        }
+    }
+
     public StringProperty nomUtilisateurProperty() {
         return nomUtilisateur;
     }
@@ -144,6 +420,13 @@ public class AdminAffectationsModel {
         return graphe;
     }
 
+    /**
+     * @return le registre des stratégies d'affectation proposées à l'administrateur
+     */
+    public RegistreStrategies getStrategies() {
+        return strategies;
+    }
+
     public SecouristeDAO getSecouristeDAO() {
         return secouristeDAO;
     }
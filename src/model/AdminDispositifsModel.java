@@ -6,6 +6,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import model.dao.*;
 import model.data.*;
+import model.graphs.DeltaAffectation;
 import controller.AdminDispositifsController.BesoinInput;
 
 import java.sql.Time;
@@ -34,6 +35,12 @@ public class AdminDispositifsModel {
     private final CompetenceDAO competenceDAO;
     private final BesoinDAO besoinDAO;
 
+    /** Modèle des affectations, créé à la première réparation du planning après l'ajout ou la suppression d'un DPS */
+    private AdminAffectationsModel affectationsModel;
+
+    /** false si la dernière réparation du planning a échoué : les affectations sont alors à régénérer */
+    private boolean planningAJour = true;
+
     /**
      * Constructeur par défaut.
      */
@@ -126,9 +133,11 @@ public class AdminDispositifsModel {
      * @param mois mois de la journée
      * @param annee année de la journée
      * @param besoinsInputs liste des besoins
-     * @return true si l'ajout est un succès, false sinon
+     * @return true si l'ajout est un succès, false sinon ; le DPS ajouté, {@link #isPlanningAJour()} indique
+     *         si le planning a pu être réparé
      */
     public boolean ajouterDispositif(long id, Time horaireDep, Time horaireFin, Site site, Sport sport, int jour, int mois, int annee, List<BesoinInput> besoinsInputs) {
+        planningAJour = true;
         try {
             Journee journee = journeeDAO.findByID(jour, mois, annee);
             if (journee == null) {
@@ -151,6 +160,7 @@ public class AdminDispositifsModel {
             }
 
             dispositifs.add(new DispositifView(id, horaireDep, horaireFin, site, sport, journee));
+            reparerAffectations(DeltaAffectation.ajoutDPS(nouveauDPS));
             return true;
 
         } catch (Exception e) {
@@ -160,13 +170,19 @@ public class AdminDispositifsModel {
     }
 
     /**
-     * Supprime un dispositif (DPS) et ses besoins associés.
+     * Supprime un dispositif (DPS) et ses besoins associés. Ses secouristes sont d'abord retirés du planning
+     * et réaffectés aux autres DPS de la journée ; si le planning ne peut pas être réparé, rien n'est supprimé.
      * @param dispositif le dispositif à supprimer
-     * @return true si suppression réussie, false sinon
+     * @return true si suppression réussie, false sinon ({@link #isPlanningAJour()} indique alors si c'est
+     *         la réparation du planning qui a échoué)
      */
     public boolean supprimerDispositif(DispositifView dispositif) {
+        planningAJour = true;
         try {
             if (dispositif.getDps() != null) {
+                if (!reparerAffectations(DeltaAffectation.suppressionDPS(dispositif.getDps()))) {
+                    return false;
+                }
                 List<Besoin> besoins = besoinDAO.findAll().stream()
                         .filter(b -> b.getDps().getId() == dispositif.getId())
                         .toList();
@@ -185,6 +201,28 @@ public class AdminDispositifsModel {
         return false;
     }
 
+    /**
+     * Répercute l'ajout ou la suppression d'un DPS sur le planning enregistré, sans le régénérer.
+     * @param delta la modification
+     * @return true si le planning a été réparé (ou s'il n'y en avait pas), false si les affectations
+     *         n'ont pas pu être chargées ou enregistrées
+     */
+    private boolean reparerAffectations(DeltaAffectation delta) {
+        if (affectationsModel == null) {
+            affectationsModel = new AdminAffectationsModel(nomUtilisateur.get());
+        }
+        planningAJour = affectationsModel.reparerAffectations(delta) != null;
+        return planningAJour;
+    }
+
+    /**
+     * Indique si la dernière modification de dispositif a pu être répercutée sur le planning enregistré.
+     * @return false si le planning n'a pas pu être réparé et doit être régénéré
+     */
+    public boolean isPlanningAJour() {
+        return planningAJour;
+    }
+
     /**
      * Recharge toutes les données depuis la base (utile après ajout ou suppression).
      */
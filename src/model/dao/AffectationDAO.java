@@ -88,6 +88,30 @@ public class AffectationDAO extends DAO<Object> {
         return affectations;
     }
 
+    /**
+     * Charge tous les couples (DPS, secouriste) de la table Affectation en une seule requête.
+     * Une erreur de lecture renvoie null, et non une map vide qui se confondrait avec un planning vide.
+     * @return pour chaque identifiant de DPS, les identifiants des secouristes affectés, ou null en cas d'erreur
+     */
+    public Map<Long, List<Long>> findCouplesAffectation() {
+        Map<Long, List<Long>> couples = new HashMap<>();
+        String query = "SELECT idDps, idSecouriste FROM Affectation";
+        try (Connection con = getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(query)) {
+
+            while (rs.next()) {
+                couples.computeIfAbsent(rs.getLong("idDps"), k -> new ArrayList<>()).add(rs.getLong("idSecouriste"));
+            }
+
+        } catch (SQLException ex) {
+            System.err.println("Erreur lors du chargement des couples d'affectation : " + ex.getMessage());
+            ex.printStackTrace();
+            return null;
+        }
+        return couples;
+    }
+
     /**
      * Crée une affectation entre un secouriste et un DPS.
      * @param idSecouriste identifiant du secouriste
@@ -157,6 +181,67 @@ public class AffectationDAO extends DAO<Object> {
         }
     }
 
+    /**
+     * Applique en une seule transaction les affectations à supprimer puis celles à créer : si l'une d'elles
+     * échoue (erreur SQL, ligne à supprimer introuvable), aucune n'est appliquée.
+     * @param retraits pour chaque identifiant de DPS, les identifiants des secouristes à en retirer
+     * @param ajouts pour chaque identifiant de DPS, les identifiants des secouristes à y affecter
+     * @return true si toutes les modifications ont été appliquées, false si la transaction a été annulée
+     */
+    public boolean appliquerModifications(Map<Long, List<Long>> retraits, Map<Long, List<Long>> ajouts) {
+        Connection con = null;
+        try {
+            con = getConnection();
+            con.setAutoCommit(false); // Start transaction
+
+            try (PreparedStatement suppression = con.prepareStatement(
+                         "DELETE FROM Affectation WHERE idSecouriste = ? AND idDps = ?");
+                 PreparedStatement insertion = con.prepareStatement(
+                         "INSERT INTO Affectation(idSecouriste, idDps) VALUES (?, ?)")) {
+                for (Map.Entry<Long, List<Long>> entry : retraits.entrySet()) {
+                    for (long idSecouriste : entry.getValue()) {
+                        suppression.setLong(1, idSecouriste);
+                        suppression.setLong(2, entry.getKey());
+                        if (suppression.executeUpdate() != 1) {
+                            throw new SQLException("Affectation introuvable : secouriste " + idSecouriste
+                                    + ", DPS " + entry.getKey());
+                        }
+                    }
+                }
+                for (Map.Entry<Long, List<Long>> entry : ajouts.entrySet()) {
+                    for (long idSecouriste : entry.getValue()) {
+                        insertion.setLong(1, idSecouriste);
+                        insertion.setLong(2, entry.getKey());
+                        insertion.executeUpdate();
+                    }
+                }
+            }
+
+            con.commit();
+            return true;
+
+        } catch (SQLException ex) {
+            if (con != null) {
+                try {
+                    con.rollback();
+                } catch (SQLException rollbackEx) {
+                    rollbackEx.printStackTrace();
+                }
+            }
+            ex.printStackTrace();
+            return false;
+        } finally {
+            if (con != null) {
+                try {
+                    con.setAutoCommit(true);
+                    con.close();
+                } catch (SQLException closeEx) {
+                    closeEx.printStackTrace();
+                }
+            }
+        }
+    }
+
     /**
      * Récupère toutes les affectations existantes dans la base.
      * @return liste des affectations sous forme de modèle admin
@@ -1,6 +1,7 @@
 package model.dao;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.*;
 import model.data.Journee;
 
@@ -139,6 +140,38 @@ public class DisponibiliteDAO extends DAO<Void> {
         }
     }
 
+    /**
+     * Charge en une seule requête toutes les disponibilités d'un horizon de planification.
+     * Une erreur de lecture renvoie null, et non une map vide qui se confondrait avec un horizon sans disponibilité.
+     *
+     * @param debut première date de l'horizon (incluse)
+     * @param fin dernière date de l'horizon (incluse)
+     * @return pour chaque date ayant au moins une disponibilité, les identifiants des secouristes disponibles,
+     *         ou null en cas d'erreur
+     */
+    public Map<LocalDate, Set<Long>> findDisponibilitesEntre(LocalDate debut, LocalDate fin) {
+        Map<LocalDate, Set<Long>> dispos = new HashMap<>();
+        String sql =
+            "SELECT idSecouriste, jour, mois, annee FROM Disponibilite "
+            + "WHERE annee * 10000 + mois * 100 + jour BETWEEN ? AND ?";
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, debut.getYear() * 10000 + debut.getMonthValue() * 100 + debut.getDayOfMonth());
+            pstmt.setInt(2, fin.getYear() * 10000 + fin.getMonthValue() * 100 + fin.getDayOfMonth());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate date = LocalDate.of(rs.getInt("annee"), rs.getInt("mois"), rs.getInt("jour"));
+                    dispos.computeIfAbsent(date, d -> new HashSet<>()).add(rs.getLong("idSecouriste"));
+                }
+            }
+            return dispos;
+        } catch (SQLException e) {
+            System.err.println("Erreur lors du chargement des disponibilités : " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     @Override
     public int create(Void v) {
         throw new UnsupportedOperationException("Use createDisponibilite instead");
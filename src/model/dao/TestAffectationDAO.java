@@ -0,0 +1,53 @@
+package model.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe de test pour le DAO {@link AffectationDAO}.
+ * <p>
+ * Ce test vérifie que le chargement des couples (DPS, secouriste) distingue un échec de lecture
+ * d'un planning vide : la réparation incrémentale ne doit pas insérer de lignes par-dessus
+ * des affectations qu'elle n'a pas pu lire. Il vérifie aussi qu'une réparation dont l'écriture
+ * échoue est signalée comme non appliquée.
+ * </p>
+ */
+public class TestAffectationDAO {
+
+    /**
+     * Méthode principale exécutant les tests du DAO {@link AffectationDAO}.
+     *
+     * @param args arguments de la ligne de commande (non utilisés ici)
+     */
+    public static void main(String[] args) {
+        System.out.println("========== TEST FIND COUPLES ==========");
+        Map<Long, List<Long>> couples = new AffectationDAO().findCouplesAffectation();
+        if (couples != null) {
+            System.out.println("Couples chargés pour " + couples.size() + " DPS");
+        } else {
+            System.out.println("Base injoignable : aucun couple chargé.");
+        }
+
+        System.out.println("\n========== TEST FIND COUPLES (ERREUR DE LECTURE) ==========");
+        AffectationDAO enErreur = new AffectationDAO() {
+            @Override
+            protected Connection getConnection() throws SQLException {
+                throw new SQLException("Connexion refusée (simulée)");
+            }
+        };
+        if (enErreur.findCouplesAffectation() == null) {
+            System.out.println("Échec de lecture signalé par null.");
+        } else {
+            System.out.println("Échec : l'erreur de lecture est confondue avec un planning vide.");
+        }
+
+        System.out.println("\n========== TEST APPLIQUER MODIFICATIONS (ERREUR D'ÉCRITURE) ==========");
+        if (!enErreur.appliquerModifications(Map.of(1L, List.of(1L)), Map.of(2L, List.of(1L)))) {
+            System.out.println("Échec d'écriture signalé : aucune modification appliquée.");
+        } else {
+            System.out.println("Échec : la réparation est annoncée comme appliquée.");
+        }
+    }
+}
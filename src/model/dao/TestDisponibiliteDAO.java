@@ -0,0 +1,49 @@
+package model.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe de test pour le DAO {@link DisponibiliteDAO}.
+ * <p>
+ * Ce test vérifie que le chargement des disponibilités d'un horizon distingue un échec de lecture
+ * d'un horizon sans disponibilité : la génération et la réparation ne doivent pas retirer
+ * des affectations faute d'avoir pu lire les disponibilités.
+ * </p>
+ */
+public class TestDisponibiliteDAO {
+
+    /**
+     * Méthode principale exécutant les tests du DAO {@link DisponibiliteDAO}.
+     *
+     * @param args arguments de la ligne de commande (non utilisés ici)
+     */
+    public static void main(String[] args) {
+        LocalDate debut = LocalDate.of(2030, 9, 1);
+        LocalDate fin = LocalDate.of(2030, 9, 14);
+
+        System.out.println("========== TEST FIND DISPONIBILITES ENTRE ==========");
+        Map<LocalDate, Set<Long>> dispos = new DisponibiliteDAO().findDisponibilitesEntre(debut, fin);
+        if (dispos != null) {
+            System.out.println("Disponibilités chargées pour " + dispos.size() + " journée(s)");
+        } else {
+            System.out.println("Base injoignable : aucune disponibilité chargée.");
+        }
+
+        System.out.println("\n========== TEST FIND DISPONIBILITES ENTRE (ERREUR DE LECTURE) ==========");
+        DisponibiliteDAO enErreur = new DisponibiliteDAO() {
+            @Override
+            protected Connection getConnection() throws SQLException {
+                throw new SQLException("Connexion refusée (simulée)");
+            }
+        };
+        if (enErreur.findDisponibilitesEntre(debut, fin) == null) {
+            System.out.println("Échec de lecture signalé par null.");
+        } else {
+            System.out.println("Échec : l'erreur de lecture est confondue avec un horizon sans disponibilité.");
+        }
+    }
+}
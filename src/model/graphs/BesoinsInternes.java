@@ -0,0 +1,99 @@
+package model.graphs;
+
+import model.data.Besoin;
+import model.data.DPS;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pendant de {@link MatriceEligibilite} du côté des DPS : chaque DPS est désigné par sa position dans la liste
+ * résolue, chaque besoin par l'indice de sa compétence dans la matrice et son nombre requis. Les algorithmes
+ * parcourent ces tableaux d'entiers plutôt que les objets {@link Besoin} et ne reviennent aux entités qu'en
+ * construisant leur résultat. La structure est en lecture seule après construction.
+ */
+class BesoinsInternes {
+
+    private final List<DPS> dps;
+
+    /** Indice de chaque DPS (par identité, DPS ne redéfinissant pas equals) */
+    private final Map<DPS, Integer> indexDPS;
+
+    /** Compétence et nombre requis de chaque besoin, par DPS */
+    private final int[][] competences;
+    private final int[][] requis;
+
+    /** Niveau de budget horaire de chaque DPS (0 sans plafonds) */
+    private final int[] niveaux;
+
+    /**
+     * @param eligibilite la matrice d'éligibilité couvrant les compétences des DPS
+     * @param dps les DPS à interner, dans l'ordre de la liste
+     */
+    BesoinsInternes(MatriceEligibilite eligibilite, List<DPS> dps) {
+        this(eligibilite, dps, null);
+    }
+
+    /**
+     * @param eligibilite la matrice d'éligibilité couvrant les compétences des DPS
+     * @param dps les DPS à interner, dans l'ordre de la liste
+     * @param budget le budget horaire de la résolution, ou null sans plafonds
+     */
+    BesoinsInternes(MatriceEligibilite eligibilite, List<DPS> dps, BudgetHoraire budget) {
+        this.dps = dps;
+        this.niveaux = new int[dps.size()];
+        this.indexDPS = new IdentityHashMap<>();
+        this.competences = new int[dps.size()][];
+        this.requis = new int[dps.size()][];
+        for (int d = 0; d < dps.size(); d++) {
+            indexDPS.putIfAbsent(dps.get(d), d);
+            List<Besoin> besoins = dps.get(d).getBesoins();
+            competences[d] = new int[besoins.size()];
+            requis[d] = new int[besoins.size()];
+            for (int b = 0; b < besoins.size(); b++) {
+                competences[d][b] = eligibilite.indexCompetence(besoins.get(b).getCompetence().getIntitule());
+                requis[d][b] = besoins.get(b).getNombre();
+            }
+            if (budget != null) niveaux[d] = budget.getNiveauDPS(d);
+        }
+    }
+
+    /** @return le nombre de DPS */
+    int getNbDPS() {
+        return dps.size();
+    }
+
+    /** @return les DPS, dans l'ordre de leurs indices */
+    List<DPS> getDPS() {
+        return dps;
+    }
+
+    /** @return l'indice du DPS, ou -1 s'il est inconnu */
+    int indexDe(DPS d) {
+        Integer index = indexDPS.get(d);
+        return index == null ? -1 : index;
+    }
+
+    /** @return les indices des compétences requises par les besoins du DPS d'indice {@code d} */
+    int[] getCompetences(int d) {
+        return competences[d];
+    }
+
+    /** @return le nombre requis de chaque besoin du DPS d'indice {@code d} */
+    int[] getRequis(int d) {
+        return requis[d];
+    }
+
+    /** @return le niveau de budget horaire du DPS d'indice {@code d} (voir {@link BudgetHoraire}) */
+    int getNiveau(int d) {
+        return niveaux[d];
+    }
+
+    /** @return le nombre total de postes du DPS d'indice {@code d} */
+    int getNbPostes(int d) {
+        int total = 0;
+        for (int r : requis[d]) total += r;
+        return total;
+    }
+}
@@ -0,0 +1,129 @@
+package model.graphs;
+
+import model.data.DPS;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Temps encore attribuable à chaque secouriste pendant une résolution, tiré d'une {@link ChargeHoraire}.
+ * Le budget de chaque secouriste (indice de la matrice d'éligibilité) est lu une fois à la construction dans
+ * un tableau d'entiers : accepter ou écarter un candidat est ensuite une comparaison, et une affectation une
+ * soustraction. Lorsque les DPS couvrent plusieurs journées, le budget retenu est le plus petit de ces
+ * journées : il est prudent, les minutes d'une journée comptant aussi dans sa semaine.
+ * <p>
+ * Pour les algorithmes qui raisonnent par classes de secouristes, les durées distinctes des DPS, rangées par
+ * ordre croissant, définissent des niveaux : le niveau d'un DPS est le rang de sa durée, celui d'un secouriste
+ * le rang de la plus longue durée que couvre son budget (-1 s'il ne couvre même pas le plus court DPS).
+ * Un secouriste peut prendre un DPS si et seulement si son niveau est au moins celui du DPS.
+ */
+class BudgetHoraire {
+
+    /** Minutes encore attribuables à chaque secouriste */
+    private final int[] restant;
+
+    /** Durée de chaque DPS, par indice dans la liste résolue */
+    private final int[] duree;
+
+    /** Durées distinctes des DPS, croissantes */
+    private final int[] durees;
+
+    /** Niveau de chaque DPS */
+    private final int[] niveauDPS;
+
+    /** Niveau initial de chaque secouriste */
+    private final int[] niveaux;
+
+    /**
+     * @param charge la charge horaire en vigueur
+     * @param eligibilite la matrice d'éligibilité de la résolution (indices des secouristes)
+     * @param dps les DPS de la résolution, dans l'ordre de leurs indices
+     */
+    BudgetHoraire(ChargeHoraire charge, MatriceEligibilite eligibilite, List<DPS> dps) {
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        this.duree = new int[dps.size()];
+        for (int d = 0; d < dps.size(); d++) {
+            duree[d] = dps.get(d).calculTemps();
+            dates.add(DecompositionJournees.dateDe(dps.get(d).getJournee()));
+        }
+        this.durees = Arrays.stream(duree).distinct().sorted().toArray();
+        this.niveauDPS = new int[dps.size()];
+        for (int d = 0; d < dps.size(); d++) niveauDPS[d] = Arrays.binarySearch(durees, duree[d]);
+
+        int n = eligibilite.getNbSecouristes();
+        this.restant = new int[n];
+        this.niveaux = new int[n];
+        for (int s = 0; s < n; s++) {
+            int minutes = Integer.MAX_VALUE;
+            for (LocalDate date : dates) {
+                minutes = Math.min(minutes, charge.getMinutesRestantes(eligibilite.getSecouriste(s), date));
+            }
+            restant[s] = minutes;
+            // Rang de la plus longue durée couverte : nombre de durées ≤ minutes, moins un
+            int position = Arrays.binarySearch(durees, minutes);
+            niveaux[s] = position >= 0 ? position : -position - 2;
+        }
+    }
+
+    /**
+     * @param s indice du secouriste
+     * @param minutes durée envisagée
+     * @return true si la durée tient dans le budget restant du secouriste
+     */
+    boolean admet(int s, int minutes) {
+        return minutes <= restant[s];
+    }
+
+    /**
+     * Déduit une durée du budget d'un secouriste.
+     * @param s indice du secouriste
+     * @param minutes durée attribuée
+     */
+    void consommer(int s, int minutes) {
+        restant[s] -= minutes;
+    }
+
+    /**
+     * @param s indice du secouriste
+     * @return les minutes encore attribuables au secouriste
+     */
+    int getRestant(int s) {
+        return restant[s];
+    }
+
+    /** @return la durée, en minutes, du DPS d'indice {@code d} */
+    int getDuree(int d) {
+        return duree[d];
+    }
+
+    /** @return la durée du plus court DPS, en minutes (0 sans DPS) */
+    int getDureeMin() {
+        return durees.length == 0 ? 0 : durees[0];
+    }
+
+    /** @return le nombre de niveaux (durées distinctes des DPS) */
+    int getNbNiveaux() {
+        return durees.length;
+    }
+
+    /**
+     * @param minutes la durée d'un des DPS de la résolution
+     * @return le niveau de cette durée
+     */
+    int getNiveauDuree(int minutes) {
+        return Arrays.binarySearch(durees, minutes);
+    }
+
+    /** @return le niveau du DPS d'indice {@code d} */
+    int getNiveauDPS(int d) {
+        return niveauDPS[d];
+    }
+
+    /** @return le niveau initial de chaque secouriste (à ne pas modifier) */
+    int[] getNiveaux() {
+        return niveaux;
+    }
+}
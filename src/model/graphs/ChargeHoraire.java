@@ -0,0 +1,204 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plafonds de charge horaire des secouristes et heures déjà attribuées sur la période des Jeux.
+ * Les durées sont comptées en minutes ({@link DPS#calculTemps()}). Chaque secouriste dispose d'un cumul par
+ * journée et d'un cumul par semaine des Jeux (tranches de {@value #JOURS_PAR_SEMAINE} jours à partir du premier
+ * jour de la période), rangés dans deux tableaux d'entiers indexés par secouriste et par tranche : le temps
+ * restant d'un secouriste une journée donnée se lit sans reparcourir ses affectations passées.
+ * <p>
+ * Les journées étant couplées par les cumuls hebdomadaires, elles se résolvent une à une dans l'ordre
+ * chronologique, chacune étant {@link #enregistrer(Map) enregistrée} avant la suivante. Les algorithmes
+ * d'affectation reçoivent la charge en paramètre et ne font que la lire : un secouriste n'y est affecté à un
+ * DPS que si sa durée tient dans le temps qu'il lui reste ce jour-là et cette semaine-là.
+ */
+public class ChargeHoraire {
+
+    /** Nombre de jours d'une semaine des Jeux */
+    public static final int JOURS_PAR_SEMAINE = 7;
+
+    /** Valeur d'un plafond levé : aucun cumul ne l'atteint */
+    public static final int SANS_PLAFOND = Integer.MAX_VALUE;
+
+    private final int maxMinutesJour;
+    private final int maxMinutesSemaine;
+
+    /** Premier jour de la période, début de la première semaine */
+    private final LocalDate premierJour;
+    private final int nbJours;
+    private final int nbSemaines;
+
+    /** Indice de chaque secouriste, par identifiant */
+    private final Map<Long, Integer> indexSecouriste = new HashMap<>();
+
+    /** Minutes attribuées à chaque secouriste, par journée (indice secouriste × nbJours + jour) */
+    private final int[] minutesJour;
+
+    /** Minutes attribuées à chaque secouriste, par semaine (indice secouriste × nbSemaines + semaine) */
+    private final int[] minutesSemaine;
+
+    /**
+     * @param secouristes les secouristes suivis
+     * @param premierJour le premier jour de la période
+     * @param nbJours le nombre de jours de la période
+     * @param maxMinutesJour le nombre maximal de minutes de DPS d'un secouriste par journée,
+     *                       ou {@link #SANS_PLAFOND}
+     * @param maxMinutesSemaine le nombre maximal de minutes de DPS d'un secouriste par semaine des Jeux,
+     *                          ou {@link #SANS_PLAFOND}
+     * @throws IllegalArgumentException si un plafond est négatif ou la période vide
+     */
+    public ChargeHoraire(List<Secouriste> secouristes, LocalDate premierJour, int nbJours,
+                         int maxMinutesJour, int maxMinutesSemaine) {
+        if (maxMinutesJour < 0 || maxMinutesSemaine < 0) {
+            throw new IllegalArgumentException("Les plafonds horaires doivent être positifs");
+        }
+        if (nbJours <= 0) {
+            throw new IllegalArgumentException("La période doit compter au moins un jour");
+        }
+        this.maxMinutesJour = maxMinutesJour;
+        this.maxMinutesSemaine = maxMinutesSemaine;
+        this.premierJour = premierJour;
+        this.nbJours = nbJours;
+        this.nbSemaines = (nbJours + JOURS_PAR_SEMAINE - 1) / JOURS_PAR_SEMAINE;
+        for (Secouriste s : secouristes) indexSecouriste.putIfAbsent(s.getId(), indexSecouriste.size());
+        this.minutesJour = new int[indexSecouriste.size() * nbJours];
+        this.minutesSemaine = new int[indexSecouriste.size() * nbSemaines];
+    }
+
+    /**
+     * Crée une charge vierge couvrant les journées d'une liste de DPS.
+     * @param secouristes les secouristes suivis
+     * @param dps les DPS à planifier (leur première journée ouvre la première semaine)
+     * @param maxMinutesJour le nombre maximal de minutes de DPS d'un secouriste par journée
+     * @param maxMinutesSemaine le nombre maximal de minutes de DPS d'un secouriste par semaine des Jeux
+     * @return la charge horaire
+     * @throws IllegalArgumentException si la liste de DPS est vide
+     */
+    public static ChargeHoraire pour(List<Secouriste> secouristes, List<DPS> dps, int maxMinutesJour, int maxMinutesSemaine) {
+        if (dps.isEmpty()) {
+            throw new IllegalArgumentException("Aucun DPS à planifier");
+        }
+        LocalDate premier = null;
+        LocalDate dernier = null;
+        for (DPS d : dps) {
+            LocalDate date = DecompositionJournees.dateDe(d.getJournee());
+            if (premier == null || date.isBefore(premier)) premier = date;
+            if (dernier == null || date.isAfter(dernier)) dernier = date;
+        }
+        int nbJours = (int) ChronoUnit.DAYS.between(premier, dernier) + 1;
+        return new ChargeHoraire(secouristes, premier, nbJours, maxMinutesJour, maxMinutesSemaine);
+    }
+
+    /** @return le nombre maximal de minutes par journée */
+    public int getMaxMinutesJour() {
+        return maxMinutesJour;
+    }
+
+    /** @return le nombre maximal de minutes par semaine des Jeux */
+    public int getMaxMinutesSemaine() {
+        return maxMinutesSemaine;
+    }
+
+    /**
+     * @param date une date de la période
+     * @return l'indice de la journée dans la période
+     * @throws IllegalArgumentException si la date est hors de la période
+     */
+    public int jourDe(LocalDate date) {
+        long jour = ChronoUnit.DAYS.between(premierJour, date);
+        if (jour < 0 || jour >= nbJours) {
+            throw new IllegalArgumentException("Date hors de la période suivie : " + date);
+        }
+        return (int) jour;
+    }
+
+    /**
+     * @param date une date de la période
+     * @return l'indice de la semaine des Jeux contenant la date
+     * @throws IllegalArgumentException si la date est hors de la période
+     */
+    public int semaineDe(LocalDate date) {
+        return jourDe(date) / JOURS_PAR_SEMAINE;
+    }
+
+    /**
+     * Temps encore attribuable à un secouriste une journée donnée : le moins restant des deux plafonds.
+     * Un secouriste non suivi n'a aucune heure attribuée.
+     * @param secouriste le secouriste
+     * @param date la journée
+     * @return le nombre de minutes restantes (éventuellement négatif si un plafond a été abaissé)
+     */
+    public int getMinutesRestantes(Secouriste secouriste, LocalDate date) {
+        int jour = jourDe(date);
+        Integer s = indexSecouriste.get(secouriste.getId());
+        if (s == null) return Math.min(maxMinutesJour, maxMinutesSemaine);
+        return Math.min(maxMinutesJour - minutesJour[s * nbJours + jour],
+                        maxMinutesSemaine - minutesSemaine[s * nbSemaines + jour / JOURS_PAR_SEMAINE]);
+    }
+
+    /**
+     * @param secouriste le secouriste
+     * @param date la journée
+     * @return le nombre de minutes attribuées au secouriste ce jour-là
+     */
+    public int getMinutesJour(Secouriste secouriste, LocalDate date) {
+        int jour = jourDe(date);
+        Integer s = indexSecouriste.get(secouriste.getId());
+        return s == null ? 0 : minutesJour[s * nbJours + jour];
+    }
+
+    /**
+     * @param secouriste le secouriste
+     * @param date une journée de la semaine considérée
+     * @return le nombre de minutes attribuées au secouriste dans la semaine des Jeux contenant la date
+     */
+    public int getMinutesSemaine(Secouriste secouriste, LocalDate date) {
+        int semaine = semaineDe(date);
+        Integer s = indexSecouriste.get(secouriste.getId());
+        return s == null ? 0 : minutesSemaine[s * nbSemaines + semaine];
+    }
+
+    /**
+     * @param secouriste le secouriste
+     * @param dps le DPS envisagé
+     * @return true si la durée du DPS tient dans le temps restant du secouriste ce jour-là
+     */
+    public boolean admet(Secouriste secouriste, DPS dps) {
+        return dps.calculTemps() <= getMinutesRestantes(secouriste, DecompositionJournees.dateDe(dps.getJournee()));
+    }
+
+    /**
+     * Ajoute la durée d'un DPS aux cumuls d'un secouriste, sans vérifier les plafonds.
+     * @param secouriste le secouriste affecté
+     * @param dps le DPS
+     * @throws IllegalArgumentException si le secouriste n'est pas suivi ou le DPS hors de la période
+     */
+    public void enregistrer(Secouriste secouriste, DPS dps) {
+        int jour = jourDe(DecompositionJournees.dateDe(dps.getJournee()));
+        Integer s = indexSecouriste.get(secouriste.getId());
+        if (s == null) {
+            throw new IllegalArgumentException("Secouriste non suivi : " + secouriste.getId());
+        }
+        minutesJour[s * nbJours + jour] += dps.calculTemps();
+        minutesSemaine[s * nbSemaines + jour / JOURS_PAR_SEMAINE] += dps.calculTemps();
+    }
+
+    /**
+     * Ajoute aux cumuls toutes les affectations d'une solution (typiquement une journée résolue).
+     * @param affectation une map DPS → Liste des secouristes affectés
+     */
+    public void enregistrer(Map<DPS, List<Secouriste>> affectation) {
+        for (Map.Entry<DPS, List<Secouriste>> entry : affectation.entrySet()) {
+            for (Secouriste s : entry.getValue()) enregistrer(s, entry.getKey());
+        }
+    }
+}
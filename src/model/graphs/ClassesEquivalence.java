@@ -0,0 +1,205 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.*;
+
+/**
+ * Partition des secouristes en classes d'équivalence : deux secouristes sont interchangeables
+ * lorsqu'ils ont exactement les mêmes compétences effectives parmi celles demandées.
+ * Les algorithmes raisonnent alors sur un nombre de secouristes par classe plutôt que sur des
+ * personnes ; les personnes concrètes ne sont réintroduites qu'à la matérialisation de l'affectation.
+ * <p>
+ * Sous plafonds horaires, les secouristes sont en outre distingués par le niveau de leur
+ * {@link BudgetHoraire budget} : deux membres d'une même classe peuvent alors prendre les mêmes DPS.
+ */
+public class ClassesEquivalence {
+
+    /** Matrice d'éligibilité d'origine */
+    private final MatriceEligibilite eligibilite;
+
+    /** Membres de chaque classe (indices de secouristes croissants) */
+    private final int[][] membres;
+
+    /** Classe de chaque secouriste */
+    private final int[] classeDe;
+
+    /** Pour chaque compétence, les classes éligibles (indices croissants) */
+    private final int[][] classesEligibles;
+
+    /** Niveau de budget horaire de chaque classe (0 sans plafonds, -1 pour une classe qui ne peut prendre aucun DPS) */
+    private final int[] niveauDe;
+
+    /** Pour chaque compétence et chaque niveau de DPS, les classes éligibles de niveau suffisant */
+    private final int[][][] classesEligiblesParNiveau;
+
+    /**
+     * Regroupe les secouristes d'une matrice d'éligibilité par masque de compétences.
+     * Les classes sont numérotées dans l'ordre de leur premier membre.
+     * @param eligibilite la matrice des secouristes et de leurs compétences effectives
+     */
+    public ClassesEquivalence(MatriceEligibilite eligibilite) {
+        this(eligibilite, null);
+    }
+
+    /**
+     * Regroupe les secouristes d'une matrice d'éligibilité par masque de compétences et par niveau de budget horaire.
+     * @param eligibilite la matrice des secouristes et de leurs compétences effectives
+     * @param budget le budget horaire de la résolution, ou null sans plafonds
+     */
+    ClassesEquivalence(MatriceEligibilite eligibilite, BudgetHoraire budget) {
+        this.eligibilite = eligibilite;
+        int n = eligibilite.getNbSecouristes();
+        this.classeDe = new int[n];
+
+        Map<List<Long>, Integer> parMasque = new HashMap<>();
+        List<List<Integer>> groupes = new ArrayList<>();
+        for (int s = 0; s < n; s++) {
+            List<Long> cle = new ArrayList<>();
+            for (long mot : eligibilite.getMasque(s)) cle.add(mot);
+            if (budget != null) cle.add((long) budget.getNiveaux()[s]);
+            Integer k = parMasque.get(cle);
+            if (k == null) {
+                k = groupes.size();
+                parMasque.put(cle, k);
+                groupes.add(new ArrayList<>());
+            }
+            groupes.get(k).add(s);
+            classeDe[s] = k;
+        }
+
+        this.membres = new int[groupes.size()][];
+        for (int k = 0; k < groupes.size(); k++) {
+            membres[k] = groupes.get(k).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int m = eligibilite.getNbCompetences();
+        this.classesEligibles = new int[m][];
+        for (int c = 0; c < m; c++) {
+            List<Integer> eligibles = new ArrayList<>();
+            for (int k = 0; k < membres.length; k++) {
+                if (membres[k].length > 0 && eligibilite.estEligible(membres[k][0], c)) eligibles.add(k);
+            }
+            classesEligibles[c] = eligibles.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.niveauDe = new int[membres.length];
+        if (budget != null) {
+            for (int k = 0; k < membres.length; k++) niveauDe[k] = budget.getNiveaux()[membres[k][0]];
+        }
+        int nbNiveaux = budget != null ? budget.getNbNiveaux() : 1;
+        this.classesEligiblesParNiveau = new int[m][nbNiveaux][];
+        for (int c = 0; c < m; c++) {
+            for (int niveau = 0; niveau < nbNiveaux; niveau++) {
+                int minimum = niveau;
+                classesEligiblesParNiveau[c][niveau] = budget == null ? classesEligibles[c]
+                        : Arrays.stream(classesEligibles[c]).filter(k -> niveauDe[k] >= minimum).toArray();
+            }
+        }
+    }
+
+    /** @return la matrice d'éligibilité d'origine */
+    public MatriceEligibilite getEligibilite() {
+        return eligibilite;
+    }
+
+    /** @return le nombre de classes */
+    public int getNbClasses() {
+        return membres.length;
+    }
+
+    /**
+     * @param classe indice de la classe
+     * @return le nombre de secouristes de la classe
+     */
+    public int getTaille(int classe) {
+        return membres[classe].length;
+    }
+
+    /**
+     * @param classe indice de la classe
+     * @param rang rang du membre dans la classe
+     * @return l'indice du secouriste correspondant
+     */
+    public int getMembre(int classe, int rang) {
+        return membres[classe][rang];
+    }
+
+    /**
+     * @param secouriste indice d'un secouriste
+     * @return l'indice de sa classe
+     */
+    public int classeDe(int secouriste) {
+        return classeDe[secouriste];
+    }
+
+    /**
+     * @param classe indice de la classe
+     * @param competence indice de la compétence
+     * @return true si les membres de la classe possèdent la compétence
+     */
+    public boolean estEligible(int classe, int competence) {
+        return competence >= 0 && membres[classe].length > 0 && eligibilite.estEligible(membres[classe][0], competence);
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @return les classes dont les membres possèdent la compétence (à ne pas modifier)
+     */
+    public int[] getClassesEligibles(int competence) {
+        return competence < 0 ? new int[0] : classesEligibles[competence];
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @param niveau niveau de budget horaire du DPS demandeur (0 sans plafonds)
+     * @return les classes dont les membres possèdent la compétence et peuvent prendre un DPS de ce niveau
+     *         (à ne pas modifier)
+     */
+    int[] getClassesEligibles(int competence, int niveau) {
+        if (competence < 0 || niveau >= classesEligiblesParNiveau[competence].length) return new int[0];
+        return classesEligiblesParNiveau[competence][niveau];
+    }
+
+    /**
+     * @param classe indice de la classe
+     * @return le niveau de budget horaire de ses membres (0 sans plafonds, -1 s'ils ne peuvent prendre aucun DPS)
+     */
+    int getNiveau(int classe) {
+        return niveauDe[classe];
+    }
+
+    /** @return un tableau des effectifs de chaque classe */
+    public int[] effectifs() {
+        int[] effectifs = new int[membres.length];
+        for (int k = 0; k < membres.length; k++) {
+            effectifs[k] = membres[k].length;
+        }
+        return effectifs;
+    }
+
+    /**
+     * Réintroduit les personnes concrètes : chaque DPS reçoit, pour chaque classe, le nombre demandé
+     * de membres, pris dans l'ordre de la classe et jamais deux fois.
+     * @param dps la liste des DPS, dans l'ordre des équipes
+     * @param equipes pour chaque DPS, le nombre de secouristes de chaque classe (null pour une équipe vide)
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> materialiser(List<DPS> dps, int[][] equipes) {
+        int[] prochain = new int[membres.length];
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        for (int i = 0; i < dps.size(); i++) {
+            List<Secouriste> affectes = new ArrayList<>();
+            if (equipes[i] != null) {
+                for (int k = 0; k < equipes[i].length; k++) {
+                    for (int x = 0; x < equipes[i][k]; x++) {
+                        affectes.add(eligibilite.getSecouriste(membres[k][prochain[k]++]));
+                    }
+                }
+            }
+            affectation.put(dps.get(i), affectes);
+        }
+        return affectation;
+    }
+}
@@ -12,13 +12,22 @@ public class DAG {
     /** Map représentant les compétences et leurs prérequis directs */
     private Map<String, List<String>> prerequis;
 
+    /** Indice dense de chaque compétence connue (clé ou prérequis) dans la fermeture transitive */
+    private final Map<String, Integer> indexCompetences;
+
+    /** Fermeture transitive : la ligne i contient toutes les compétences impliquées par la compétence i (elle comprise) */
+    private final List<BitSet> fermeture;
+
     /**
      * Constructeur du graphe de compétences.
      * Initialise les compétences et leurs prérequis de manière statique.
      */
     public DAG() {
         this.prerequis = new HashMap<>();
+        this.indexCompetences = new HashMap<>();
+        this.fermeture = new ArrayList<>();
         initialiserGrapheCompetences();
+        construireFermeture();
     }
 
     /**
@@ -26,17 +35,17 @@ public class DAG {
      */
     private void initialiserGrapheCompetences() {
         // Compétences sans prérequis
-        prerequis.put("SSA", new ArrayList<>());
-        prerequis.put("VPSP", new ArrayList<>());
-        prerequis.put("PBF", new ArrayList<>());
+        prerequis.put("SSA", List.of());
+        prerequis.put("VPSP", List.of());
+        prerequis.put("PBF", List.of());
 
         // Compétences avec prerequis
-        prerequis.put("PSE1", Arrays.asList("SSA"));
-        prerequis.put("PSE2", Arrays.asList("PSE1", "VPSP"));
-        prerequis.put("CE", Arrays.asList("PSE2"));
-        prerequis.put("CP", Arrays.asList("CE"));
-        prerequis.put("CO", Arrays.asList("CP"));
-        prerequis.put("PBC", Arrays.asList("PBF"));
+        prerequis.put("PSE1", List.of("SSA"));
+        prerequis.put("PSE2", List.of("PSE1", "VPSP"));
+        prerequis.put("CE", List.of("PSE2"));
+        prerequis.put("CP", List.of("CE"));
+        prerequis.put("CO", List.of("CP"));
+        prerequis.put("PBC", List.of("PBF"));
     }
 
     /**
@@ -97,21 +106,23 @@ public class DAG {
     /**
      * Tente d'ajouter une compétence avec ses prérequis dans le graphe.
      * Si l'ajout introduit un cycle, il est annulé.
+     * Le cycle est détecté directement sur la fermeture transitive : l'ajout est invalide si l'un
+     * des nouveaux prérequis implique déjà la compétence ajoutée.
      *
      * @param nouvelleComp l'intitulé de la nouvelle compétence
      * @param nouveauxPrereq la liste des compétences prérequis
      * @return true si l'ajout est valide, false sinon
      */
     public boolean ajouterCompetence(String nouvelleComp, List<String> nouveauxPrereq) {
-        Map<String, List<String>> backup = new HashMap<>(prerequis); // Backup de la Map prerequis
-        prerequis.put(nouvelleComp, nouveauxPrereq); // Ajoute la nouvelle compétence à la Map prerequis
-
-        if (verifierDAG()) { // Vérifie s'il y a un cycle
-            return true;
-        } else { // Si ça crée un cycle
-            prerequis = backup; // Utilisation de la backup
-            return false; // Ajout invalide
+        for (String p : nouveauxPrereq) {
+            if (p.equals(nouvelleComp) || implique(p, nouvelleComp)) { // Le prérequis dépend déjà de la compétence : cycle
+                return false; // Ajout invalide
+            }
         }
+
+        List<String> anciensPrereq = prerequis.put(nouvelleComp, List.copyOf(nouveauxPrereq)); // Ajoute la nouvelle compétence à la Map prerequis
+        mettreAJourFermeture(nouvelleComp, anciensPrereq);
+        return true;
     }
 
     /**
@@ -128,40 +139,121 @@ public class DAG {
             return false;
         }
 
+        Integer requise = indexCompetences.get(competenceRequise);
         for (Competence c : secouriste.getCompetences()) {
             // Si le secouriste possède la compétence
             if (c.getIntitule().equals(competenceRequise)) {
                 return true;
             }
             // Si le secouriste possède une compétence qui implique celle souhaitée
-            if (implique(c.getIntitule(), competenceRequise)) {
-                return true;
+            if (requise != null) {
+                Integer possedee = indexCompetences.get(c.getIntitule());
+                if (possedee != null && fermeture.get(possedee).get(requise)) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
     /**
-     * Vérifie récursivement si une compétence donnée en implique une autre.
+     * Vérifie si une compétence donnée en implique une autre, par lecture de la fermeture transitive.
      *
      * @param competencePossedee compétence possédée par le secouriste
      * @param competenceRequise compétence à vérifier
      * @return true si la compétence possédée implique la compétence requise
      */
     private boolean implique(String competencePossedee, String competenceRequise) {
-        List<String> prereq = prerequis.get(competencePossedee);
-        if (prereq == null) return false;
+        Integer possedee = indexCompetences.get(competencePossedee);
+        Integer requise = indexCompetences.get(competenceRequise);
+        if (possedee == null || requise == null || possedee.equals(requise)) return false;
+        return fermeture.get(possedee).get(requise);
+    }
+
+    /**
+     * Retourne l'indice d'une compétence dans la fermeture, en l'enregistrant si elle est inconnue.
+     */
+    private int indexer(String competence) {
+        Integer index = indexCompetences.get(competence);
+        if (index == null) {
+            index = fermeture.size();
+            indexCompetences.put(competence, index);
+            BitSet ligne = new BitSet();
+            ligne.set(index);
+            fermeture.add(ligne);
+        }
+        return index;
+    }
+
+    /**
+     * Calcule entièrement la fermeture transitive à partir de la map des prérequis.
+     */
+    private void construireFermeture() {
+        indexCompetences.clear();
+        fermeture.clear();
+        for (Map.Entry<String, List<String>> entry : prerequis.entrySet()) {
+            indexer(entry.getKey());
+            for (String p : entry.getValue()) {
+                indexer(p);
+            }
+        }
+        boolean[] calculee = new boolean[fermeture.size()];
+        for (String competence : prerequis.keySet()) {
+            calculerLigne(competence, calculee);
+        }
+    }
 
-        return prereq.contains(competenceRequise) || // Vérifie si la compétence requise est directement dans la liste des prérequis de competencePossedee
-               prereq.stream().anyMatch(p -> implique(p, competenceRequise)); // Sinon vérifie récursivement si l'un des prérequis de competencePossedee implique la competenceRequise
+    /**
+     * Calcule (par parcours en profondeur mémoïsé) la ligne de fermeture d'une compétence.
+     */
+    private BitSet calculerLigne(String competence, boolean[] calculee) {
+        int index = indexCompetences.get(competence);
+        BitSet ligne = fermeture.get(index);
+        if (calculee[index]) return ligne;
+        calculee[index] = true;
+        for (String p : prerequis.getOrDefault(competence, List.of())) {
+            ligne.or(calculerLigne(p, calculee));
+        }
+        return ligne;
     }
 
     /**
-     * Renvoie une copie du graphe des prérequis.
+     * Met à jour la fermeture après l'ajout (ou la redéfinition) d'une compétence.
+     * Une nouvelle compétence, ou une redéfinition qui ne fait qu'ajouter des prérequis, est propagée
+     * incrémentalement aux compétences qui en dépendent ; une redéfinition qui retire des prérequis
+     * impose de recalculer la fermeture.
+     *
+     * @param competence la compétence ajoutée ou redéfinie
+     * @param anciensPrereq ses anciens prérequis directs, ou null si elle n'en avait pas
+     */
+    private void mettreAJourFermeture(String competence, List<String> anciensPrereq) {
+        if (anciensPrereq != null && !prerequis.get(competence).containsAll(anciensPrereq)) {
+            construireFermeture();
+            return;
+        }
+
+        int index = indexer(competence);
+        BitSet nouvelleLigne = new BitSet();
+        nouvelleLigne.set(index);
+        for (String p : prerequis.get(competence)) {
+            nouvelleLigne.or(fermeture.get(indexer(p)));
+        }
+        for (BitSet ligne : fermeture) {
+            if (ligne.get(index)) ligne.or(nouvelleLigne); // Toute compétence qui implique la nouvelle hérite de ses prérequis
+        }
+    }
+
+    /**
+     * Renvoie une copie non modifiable du graphe des prérequis : ni la map ni ses listes ne peuvent
+     * altérer le graphe, dont la fermeture transitive ne serait plus à jour.
      *
      * @return Map des compétences avec leur liste de prérequis directs
      */
     public Map<String, List<String>> getPrerequisGraphe() {
-        return new HashMap<>(prerequis);
+        Map<String, List<String>> copie = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : prerequis.entrySet()) {
+            copie.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(copie);
     }
 }
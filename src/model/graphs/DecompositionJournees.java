@@ -0,0 +1,146 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Journee;
+import model.data.Secouriste;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Décomposition du problème d'affectation par journée.
+ * Deux DPS de journées différentes ne se disputent jamais un secouriste : chaque journée est un
+ * sous-problème indépendant, résolu sur le vivier des secouristes disponibles ce jour-là.
+ * Les viviers sont construits séquentiellement (ils peuvent nécessiter un accès à la base),
+ * puis les journées sont résolues en parallèle sur un exécuteur et les résultats fusionnés.
+ * La durée totale est ainsi proche de celle de la journée la plus difficile.
+ * <p>
+ * Sous plafonds horaires ({@link ChargeHoraire}), les journées d'une même semaine se disputent le temps des
+ * secouristes : un exécuteur à un seul thread les résout alors une à une, dans l'ordre chronologique
+ * de leur soumission, ce qui laisse au solveur le temps d'enregistrer chaque journée avant la suivante.
+ */
+public class DecompositionJournees {
+
+    /** Exécuteur fourni par l'appelant, ou null pour un pool créé à chaque résolution */
+    private final ExecutorService executor;
+
+    /**
+     * Construit une décomposition qui crée son propre pool de threads à chaque résolution
+     * (un thread par journée, dans la limite du nombre de processeurs).
+     */
+    public DecompositionJournees() {
+        this(null);
+    }
+
+    /**
+     * Construit une décomposition utilisant un exécuteur existant, qui n'est pas arrêté après usage.
+     * @param executor l'exécuteur sur lequel résoudre les journées
+     */
+    public DecompositionJournees(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Regroupe des DPS par journée, dans l'ordre chronologique.
+     * L'ordre relatif des DPS d'une même journée est conservé.
+     * @param dps la liste des DPS
+     * @return une map date → DPS de la journée
+     */
+    public static SortedMap<LocalDate, List<DPS>> grouperParJournee(List<DPS> dps) {
+        SortedMap<LocalDate, List<DPS>> parJournee = new TreeMap<>();
+        for (DPS d : dps) {
+            parJournee.computeIfAbsent(dateDe(d.getJournee()), k -> new ArrayList<>()).add(d);
+        }
+        return parJournee;
+    }
+
+    /**
+     * @param journee une journée
+     * @return la date correspondante
+     */
+    public static LocalDate dateDe(Journee journee) {
+        return LocalDate.of(journee.getAnnee(), journee.getMois(), journee.getJour());
+    }
+
+    /**
+     * Résout chaque journée indépendamment et en parallèle.
+     * @param dps la liste de tous les DPS
+     * @param candidats fournit le vivier des secouristes disponibles pour une date (appelé dans le thread courant)
+     * @param solveur l'algorithme d'affectation appliqué à chaque journée (secouristes, DPS) → résultat
+     * @param <R> le type de résultat du solveur
+     * @return le résultat de chaque journée, dans l'ordre chronologique
+     */
+    public <R> SortedMap<LocalDate, R> resoudre(List<DPS> dps, Function<LocalDate, List<Secouriste>> candidats,
+                                               BiFunction<List<Secouriste>, List<DPS>, R> solveur) {
+        SortedMap<LocalDate, List<DPS>> parJournee = grouperParJournee(dps);
+        SortedMap<LocalDate, R> resultats = new TreeMap<>();
+        if (parJournee.isEmpty()) return resultats;
+
+        Map<LocalDate, List<Secouriste>> viviers = new HashMap<>();
+        for (LocalDate date : parJournee.keySet()) {
+            viviers.put(date, candidats.apply(date));
+        }
+
+        ExecutorService pool = executor != null ? executor
+                : Executors.newFixedThreadPool(Math.min(parJournee.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            Map<LocalDate, Future<R>> taches = new LinkedHashMap<>();
+            for (Map.Entry<LocalDate, List<DPS>> entry : parJournee.entrySet()) {
+                List<Secouriste> vivier = viviers.get(entry.getKey());
+                List<DPS> dpsDuJour = entry.getValue();
+                taches.put(entry.getKey(), pool.submit(() -> solveur.apply(vivier, dpsDuJour)));
+            }
+            for (Map.Entry<LocalDate, Future<R>> entry : taches.entrySet()) {
+                resultats.put(entry.getKey(), attendre(entry.getValue()));
+            }
+        } finally {
+            if (executor == null) pool.shutdownNow();
+        }
+        return resultats;
+    }
+
+    /**
+     * Résout chaque journée indépendamment et en parallèle, chaque journée ne disposant que des
+     * secouristes disponibles d'après l'index préchargé.
+     * @param dps la liste de tous les DPS
+     * @param disponibilites l'index des disponibilités couvrant l'horizon des DPS
+     * @param solveur l'algorithme d'affectation appliqué à chaque journée (secouristes, DPS) → résultat
+     * @param <R> le type de résultat du solveur
+     * @return le résultat de chaque journée, dans l'ordre chronologique
+     */
+    public <R> SortedMap<LocalDate, R> resoudre(List<DPS> dps, IndexDisponibilites disponibilites,
+                                               BiFunction<List<Secouriste>, List<DPS>, R> solveur) {
+        return resoudre(dps, disponibilites::getDisponibles, solveur);
+    }
+
+    /**
+     * Fusionne les affectations de plusieurs journées.
+     * @param parJournee les affectations de chaque journée
+     * @return une map DPS → Liste des secouristes affectés couvrant toutes les journées
+     */
+    public static Map<DPS, List<Secouriste>> fusionner(Collection<Map<DPS, List<Secouriste>>> parJournee) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        for (Map<DPS, List<Secouriste>> journee : parJournee) {
+            affectation.putAll(journee);
+        }
+        return affectation;
+    }
+
+    /**
+     * Attend le résultat d'une tâche en propageant l'exception éventuelle du solveur.
+     */
+    static <R> R attendre(Future<R> tache) {
+        try {
+            return tache.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Résolution par journée interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException("Échec de la résolution d'une journée", e.getCause());
+        }
+    }
+}
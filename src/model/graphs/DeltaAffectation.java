@@ -0,0 +1,131 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.time.LocalDate;
+
+/**
+ * Modification ponctuelle du problème d'affectation, à partir de laquelle une affectation existante
+ * est réparée par {@link Graphe#reparerAffectation} plutôt que recalculée entièrement.
+ * Le delta décrit ce qui a changé ; les DPS et disponibilités transmis à la réparation sont
+ * déjà dans leur état après modification.
+ */
+public class DeltaAffectation {
+
+    /** Nature de la modification */
+    public enum Type {
+        /** Un DPS a été ajouté */
+        AJOUT_DPS,
+        /** Un DPS a été supprimé : ses secouristes sont libérés */
+        SUPPRESSION_DPS,
+        /** Le nombre requis d'un ou plusieurs besoins d'un DPS a changé */
+        MODIFICATION_BESOIN,
+        /** Un secouriste a déclaré ou retiré une disponibilité, ou les disponibilités d'une journée sont revues */
+        DISPONIBILITE
+    }
+
+    private final Type type;
+    private final DPS dps;
+    private final Secouriste secouriste;
+    private final LocalDate date;
+    private final boolean disponible;
+
+    private DeltaAffectation(Type type, DPS dps, Secouriste secouriste, LocalDate date, boolean disponible) {
+        this.type = type;
+        this.dps = dps;
+        this.secouriste = secouriste;
+        this.date = date;
+        this.disponible = disponible;
+    }
+
+    /**
+     * @param dps le DPS ajouté
+     * @return le delta correspondant
+     */
+    public static DeltaAffectation ajoutDPS(DPS dps) {
+        return new DeltaAffectation(Type.AJOUT_DPS, dps, null, DecompositionJournees.dateDe(dps.getJournee()), false);
+    }
+
+    /**
+     * @param dps le DPS supprimé
+     * @return le delta correspondant
+     */
+    public static DeltaAffectation suppressionDPS(DPS dps) {
+        return new DeltaAffectation(Type.SUPPRESSION_DPS, dps, null, DecompositionJournees.dateDe(dps.getJournee()), false);
+    }
+
+    /**
+     * @param dps le DPS dont les besoins ont changé (dans son nouvel état)
+     * @return le delta correspondant
+     */
+    public static DeltaAffectation modificationBesoin(DPS dps) {
+        return new DeltaAffectation(Type.MODIFICATION_BESOIN, dps, null, DecompositionJournees.dateDe(dps.getJournee()), false);
+    }
+
+    /**
+     * @param secouriste le secouriste concerné
+     * @param date la journée concernée
+     * @param disponible true si le secouriste est désormais disponible, false s'il ne l'est plus
+     * @return le delta correspondant
+     */
+    public static DeltaAffectation disponibilite(Secouriste secouriste, LocalDate date, boolean disponible) {
+        return new DeltaAffectation(Type.DISPONIBILITE, null, secouriste, date, disponible);
+    }
+
+    /**
+     * Revue de toutes les disponibilités d'une journée, enregistrées depuis par les secouristes : ceux qui ne sont
+     * plus disponibles sont retirés, et tous les postes vacants de la journée peuvent être pourvus.
+     * @param date la journée concernée
+     * @return le delta correspondant
+     */
+    public static DeltaAffectation revisionDisponibilites(LocalDate date) {
+        return new DeltaAffectation(Type.DISPONIBILITE, null, null, date, true);
+    }
+
+    /** @return la nature de la modification */
+    public Type getType() {
+        return type;
+    }
+
+    /** @return le DPS concerné, ou null pour une modification de disponibilité */
+    public DPS getDps() {
+        return dps;
+    }
+
+    /** @return le secouriste concerné, ou null si la modification porte sur un DPS ou sur toute une journée */
+    public Secouriste getSecouriste() {
+        return secouriste;
+    }
+
+    /** @return la journée concernée : seule cette journée est réparée */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return pour une modification de disponibilité, true si le secouriste devient disponible
+     *         (toujours pour une revue de journée)
+     */
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    /**
+     * Indique si la modification peut libérer des secouristes, auquel cas tous les postes vacants
+     * de la journée sont susceptibles d'être pourvus.
+     * @return true pour une suppression de DPS, une nouvelle disponibilité ou une revue de journée
+     */
+    boolean augmenteOffre() {
+        return type == Type.SUPPRESSION_DPS || (type == Type.DISPONIBILITE && disponible);
+    }
+
+    /**
+     * Retourne une représentation textuelle du delta.
+     * @return une chaîne décrivant la modification
+     */
+    @Override
+    public String toString() {
+        return type + " (" + date + ")";
+    }
+}
@@ -0,0 +1,163 @@
+package model.graphs;
+
+/**
+ * Domaines vivants de la recherche exhaustive : pour chaque compétence demandée, le nombre de secouristes
+ * éligibles encore libres. Tous les besoins d'une même compétence partagent ce domaine ; il est tenu à jour
+ * à chaque affectation d'équipe (et restitué au retour arrière) au lieu d'être recalculé à chaque nœud.
+ * <p>
+ * Les domaines servent à deux choses. D'une part la propagation : dès qu'une équipe est affectée, la réduction
+ * des domaines se répercute sur tous les besoins en attente, et un besoin dont le domaine tombe sous son nombre
+ * requis (anéantissement) ne peut plus être complet, ce que la borne supérieure constate immédiatement.
+ * D'autre part l'ordre de parcours « échec d'abord » : le prochain DPS développé est celui dont un besoin a le
+ * plus petit domaine rapporté à son nombre requis, si bien que les DPS les plus contraints, qui ont le moins
+ * d'équipes possibles, sont tranchés près de la racine. À égalité, le DPS de plus petit indice est choisi :
+ * l'ordre ne dépend que de l'état des domaines, ce qui garde la recherche parallèle identique à la séquentielle.
+ * <p>
+ * Les DPS sont tenus dans une permutation dont le préfixe contient les DPS déjà traités.
+ */
+class DomainesCandidats {
+
+    private final BesoinsInternes besoins;
+
+    /** Compétences possédées par les membres de chaque classe (partagé entre copies) */
+    private final int[][] competencesDeClasse;
+
+    /** Ordre « échec d'abord » (true) ou ordre des indices (false) */
+    private final boolean premierEchec;
+
+    /** Nombre de secouristes éligibles encore libres pour chaque compétence */
+    private final int[] domaine;
+
+    /** Permutation des DPS : les {@code profondeur} premiers sont traités */
+    private final int[] ordre;
+
+    /**
+     * @param besoins les besoins internés des DPS
+     * @param classes les classes d'équivalence des secouristes
+     * @param restants secouristes encore libres par classe (non modifié)
+     * @param premierEchec true pour développer d'abord le DPS le plus contraint, false pour l'ordre des indices
+     */
+    DomainesCandidats(BesoinsInternes besoins, ClassesEquivalence classes, int[] restants, boolean premierEchec) {
+        this.besoins = besoins;
+        this.premierEchec = premierEchec;
+        int nbCompetences = classes.getEligibilite().getNbCompetences();
+        int[] nbParClasse = new int[classes.getNbClasses()];
+        for (int c = 0; c < nbCompetences; c++) {
+            for (int k : classes.getClassesEligibles(c)) nbParClasse[k]++;
+        }
+        this.competencesDeClasse = new int[classes.getNbClasses()][];
+        for (int k = 0; k < nbParClasse.length; k++) competencesDeClasse[k] = new int[nbParClasse[k]];
+        this.domaine = new int[nbCompetences];
+        int[] rempli = new int[nbParClasse.length];
+        for (int c = 0; c < nbCompetences; c++) {
+            for (int k : classes.getClassesEligibles(c)) {
+                competencesDeClasse[k][rempli[k]++] = c;
+                domaine[c] += restants[k];
+            }
+        }
+        this.ordre = new int[besoins.getNbDPS()];
+        for (int d = 0; d < ordre.length; d++) ordre[d] = d;
+    }
+
+    private DomainesCandidats(DomainesCandidats source) {
+        this.besoins = source.besoins;
+        this.competencesDeClasse = source.competencesDeClasse;
+        this.premierEchec = source.premierEchec;
+        this.domaine = source.domaine.clone();
+        this.ordre = source.ordre.clone();
+    }
+
+    /** @return une copie indépendante des domaines et de l'ordre (tâches parallèles) */
+    DomainesCandidats copier() {
+        return new DomainesCandidats(this);
+    }
+
+    /**
+     * Choisit le prochain DPS à développer parmi ceux qui ne sont pas encore traités et le place
+     * en position {@code profondeur} de l'ordre.
+     * @param profondeur le nombre de DPS déjà traités
+     * @return l'indice du DPS choisi
+     */
+    int choisir(int profondeur) {
+        int meilleur = profondeur;
+        // Tension : plus petit rapport domaine / requis des besoins d'un DPS, 1/0 (infini) s'il n'a aucun besoin
+        long numerateurMeilleur = 1;
+        long denominateurMeilleur = 0;
+        for (int p = profondeur; p < ordre.length; p++) {
+            int d = ordre[p];
+            if (!premierEchec) {
+                if (d < ordre[meilleur]) meilleur = p;
+                continue;
+            }
+            int[] competences = besoins.getCompetences(d);
+            int[] requis = besoins.getRequis(d);
+            long numerateur = 1;
+            long denominateur = 0;
+            for (int b = 0; b < competences.length; b++) {
+                if (requis[b] <= 0) continue;
+                int dom = competences[b] < 0 ? 0 : domaine[competences[b]];
+                if (dom * denominateur < numerateur * requis[b]) {
+                    numerateur = dom;
+                    denominateur = requis[b];
+                }
+            }
+            // Comparaison des rapports sans division : x/y < u/v ⇔ x·v < u·y ; à égalité, le plus petit indice
+            long gauche = numerateur * denominateurMeilleur;
+            long droite = numerateurMeilleur * denominateur;
+            if (p == profondeur || gauche < droite || (gauche == droite && d < ordre[meilleur])) {
+                meilleur = p;
+                numerateurMeilleur = numerateur;
+                denominateurMeilleur = denominateur;
+            }
+        }
+        int d = ordre[meilleur];
+        ordre[meilleur] = ordre[profondeur];
+        ordre[profondeur] = d;
+        return d;
+    }
+
+    /**
+     * Propage l'affectation d'une équipe : ses membres sont retirés du domaine de chacune de leurs compétences.
+     * @param equipe le nombre de secouristes de chaque classe
+     */
+    void retirer(int[] equipe) {
+        propager(equipe, -1);
+    }
+
+    /**
+     * Annule {@link #retirer} au retour arrière.
+     * @param equipe la même équipe, inchangée
+     */
+    void restituer(int[] equipe) {
+        propager(equipe, 1);
+    }
+
+    private void propager(int[] equipe, int sens) {
+        for (int k = 0; k < equipe.length; k++) {
+            if (equipe[k] == 0) continue;
+            for (int c : competencesDeClasse[k]) domaine[c] += sens * equipe[k];
+        }
+    }
+
+    /**
+     * Borne supérieure admissible du score atteignable par les DPS non encore traités. Chaque besoin est évalué
+     * sur son domaine, indépendamment des autres : il ne peut pas être couvert par plus de secouristes qu'il n'en
+     * reste d'éligibles, et un besoin anéanti perd le bonus de couverture complète.
+     * @param profondeur le nombre de DPS déjà traités
+     * @return la borne
+     */
+    int borne(int profondeur) {
+        int borne = 0;
+        for (int p = profondeur; p < ordre.length; p++) {
+            int d = ordre[p];
+            int[] competences = besoins.getCompetences(d);
+            int[] requis = besoins.getRequis(d);
+            for (int b = 0; b < competences.length; b++) {
+                int dom = competences[b] < 0 ? 0 : domaine[competences[b]];
+                borne += Math.min(dom, requis[b]) * 10;
+                if (dom >= requis[b]) borne += 5;
+            }
+        }
+        return borne;
+    }
+}
@@ -0,0 +1,65 @@
+package model.graphs;
+
+/**
+ * Échéance d'une recherche exhaustive bornée dans le temps.
+ * L'horloge n'est consultée qu'un nœud sur {@link #PERIODE} ; une fois l'échéance atteinte, la recherche
+ * remonte sans explorer davantage et chaque sous-arbre abandonné y déclare sa borne supérieure, ce qui
+ * majore le score que la recherche aurait pu atteindre. Propre à une recherche (non partagé entre threads) :
+ * la recherche parallèle en donne une {@link #copier() copie} à chaque tâche.
+ */
+class Echeance {
+
+    /** Nombre de nœuds entre deux lectures de l'horloge */
+    static final int PERIODE = 256;
+
+    /** Instant limite, au sens de {@link System#nanoTime()} */
+    private final long limite;
+
+    private int compteur;
+
+    private boolean atteinte;
+
+    /** Plus grande borne supérieure des sous-arbres abandonnés */
+    private int borneAbandonnee = Integer.MIN_VALUE;
+
+    /**
+     * @param limite l'instant limite, au sens de {@link System#nanoTime()}
+     */
+    Echeance(long limite) {
+        this.limite = limite;
+    }
+
+    /**
+     * Indique si l'échéance est atteinte, en consultant l'horloge périodiquement (dès le premier appel).
+     * @return true si la recherche doit s'arrêter
+     */
+    boolean verifier() {
+        if (!atteinte && compteur++ % PERIODE == 0 && System.nanoTime() - limite >= 0) {
+            atteinte = true;
+        }
+        return atteinte;
+    }
+
+    /** @return une échéance de même limite, pas encore constatée et sans sous-arbre abandonné */
+    Echeance copier() {
+        return new Echeance(limite);
+    }
+
+    /** @return true si l'échéance a été constatée */
+    boolean isAtteinte() {
+        return atteinte;
+    }
+
+    /**
+     * Déclare la borne supérieure d'un sous-arbre abandonné.
+     * @param borne score maximal atteignable dans ce sous-arbre
+     */
+    void abandonner(int borne) {
+        borneAbandonnee = Math.max(borneAbandonnee, borne);
+    }
+
+    /** @return la plus grande borne des sous-arbres abandonnés, ou {@link Integer#MIN_VALUE} si aucun */
+    int getBorneAbandonnee() {
+        return borneAbandonnee;
+    }
+}
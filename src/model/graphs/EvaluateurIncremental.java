@@ -0,0 +1,171 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Évaluation incrémentale d'une affectation, au même sens que {@link Graphe#evaluerAffectation(Map)}.
+ * Un compteur par (DPS, besoin) retient le nombre de secouristes affectés éligibles au besoin ; affecter
+ * ou retirer un secouriste ne met à jour que les besoins du DPS concerné dont il possède la compétence,
+ * et renvoie la variation du score. Comme {@link Graphe#evaluerAffectation(Map)}, l'évaluateur ne vérifie
+ * pas qu'un secouriste n'est affecté qu'à un seul DPS : c'est à l'algorithme appelant de le garantir.
+ */
+public class EvaluateurIncremental {
+
+    private final MatriceEligibilite eligibilite;
+
+    /** Compétence et nombre requis de chaque besoin, par indice de DPS */
+    private final BesoinsInternes besoins;
+
+    /** Nombre de secouristes affectés éligibles à chaque besoin, par DPS */
+    private final int[][] couverts;
+
+    private int score;
+
+    /**
+     * Construit un évaluateur pour une affectation vide.
+     * @param dag le DAG des compétences
+     * @param secouristes les secouristes susceptibles d'être affectés
+     * @param dps les DPS à couvrir
+     */
+    public EvaluateurIncremental(DAG dag, List<Secouriste> secouristes, List<DPS> dps) {
+        this(MatriceEligibilite.pour(dag, secouristes, dps), dps);
+    }
+
+    /**
+     * Construit un évaluateur pour une affectation vide à partir d'une matrice déjà construite.
+     * @param eligibilite la matrice d'éligibilité couvrant les compétences des DPS
+     * @param dps les DPS à couvrir
+     */
+    EvaluateurIncremental(MatriceEligibilite eligibilite, List<DPS> dps) {
+        this.eligibilite = eligibilite;
+        this.besoins = new BesoinsInternes(eligibilite, dps);
+        this.couverts = new int[dps.size()][];
+        for (int d = 0; d < dps.size(); d++) {
+            int[] requis = besoins.getRequis(d);
+            couverts[d] = new int[requis.length];
+            for (int r : requis) score += contribution(r, 0);
+        }
+    }
+
+    /**
+     * Affecte tous les secouristes d'une affectation (les DPS et secouristes inconnus sont ignorés).
+     * @param affectation la map DPS → secouristes affectés
+     * @return la variation du score
+     */
+    public int charger(Map<DPS, List<Secouriste>> affectation) {
+        int delta = 0;
+        for (Map.Entry<DPS, List<Secouriste>> entry : affectation.entrySet()) {
+            for (Secouriste secouriste : entry.getValue()) {
+                delta += affecter(secouriste, entry.getKey());
+            }
+        }
+        return delta;
+    }
+
+    /** @return le score de l'affectation courante */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Affecte un secouriste à un DPS.
+     * @param secouriste le secouriste
+     * @param dps le DPS
+     * @return la variation du score (0 si le secouriste ou le DPS est inconnu)
+     */
+    public int affecter(Secouriste secouriste, DPS dps) {
+        return varier(secouriste, dps, 1);
+    }
+
+    /**
+     * Retire un secouriste d'un DPS auquel il a été affecté.
+     * @param secouriste le secouriste
+     * @param dps le DPS
+     * @return la variation du score (0 si le secouriste ou le DPS est inconnu)
+     */
+    public int retirer(Secouriste secouriste, DPS dps) {
+        return varier(secouriste, dps, -1);
+    }
+
+    /**
+     * Retourne la variation de score qu'entraînerait l'affectation d'un secouriste, sans l'effectuer.
+     * @param secouriste le secouriste
+     * @param dps le DPS
+     * @return le gain d'une affectation
+     */
+    public int gainAffectation(Secouriste secouriste, DPS dps) {
+        int d = besoins.indexDe(dps);
+        int s = eligibilite.indexDe(secouriste);
+        return d < 0 || s < 0 ? 0 : gain(s, d, 1);
+    }
+
+    /**
+     * @param dps le DPS
+     * @param besoin l'indice du besoin dans {@link DPS#getBesoins()}
+     * @return le nombre de secouristes affectés éligibles à ce besoin
+     */
+    public int getCouverture(DPS dps, int besoin) {
+        return couverts[besoins.indexDe(dps)][besoin];
+    }
+
+    /**
+     * Affecte (signe 1) ou retire (signe -1) le secouriste d'indice {@code s} du DPS d'indice {@code d}.
+     * @return la variation du score
+     */
+    int varier(int s, int d, int signe) {
+        int delta = 0;
+        int[] comp = besoins.getCompetences(d);
+        int[] requis = besoins.getRequis(d);
+        for (int b = 0; b < comp.length; b++) {
+            if (!eligibilite.estEligible(s, comp[b])) continue;
+            int avant = couverts[d][b];
+            couverts[d][b] = avant + signe;
+            delta += contribution(requis[b], avant + signe) - contribution(requis[b], avant);
+        }
+        score += delta;
+        return delta;
+    }
+
+    /** @return la variation du score qu'entraînerait {@code varier(s, d, signe)}, sans l'effectuer */
+    int gain(int s, int d, int signe) {
+        int delta = 0;
+        int[] comp = besoins.getCompetences(d);
+        int[] requis = besoins.getRequis(d);
+        for (int b = 0; b < comp.length; b++) {
+            if (!eligibilite.estEligible(s, comp[b])) continue;
+            int avant = couverts[d][b];
+            delta += contribution(requis[b], avant + signe) - contribution(requis[b], avant);
+        }
+        return delta;
+    }
+
+    /** @return le nombre de secouristes affectés éligibles au besoin {@code b} du DPS d'indice {@code d} */
+    int getCouverture(int d, int b) {
+        return couverts[d][b];
+    }
+
+    /** @return les indices des compétences requises par les besoins du DPS d'indice {@code d} */
+    int[] getCompetences(int d) {
+        return besoins.getCompetences(d);
+    }
+
+    /** @return l'indice du DPS, ou -1 s'il est inconnu */
+    int indexDe(DPS dps) {
+        return besoins.indexDe(dps);
+    }
+
+    private int varier(Secouriste secouriste, DPS dps, int signe) {
+        int d = besoins.indexDe(dps);
+        int s = eligibilite.indexDe(secouriste);
+        return d < 0 || s < 0 ? 0 : varier(s, d, signe);
+    }
+
+    /** Score d'un besoin couvert par {@code couverts} secouristes, au sens de {@link Graphe#evaluerDPS}. */
+    static int contribution(int requis, int couverts) {
+        return Math.min(couverts, requis) * 10 + (couverts >= requis ? 5 : 0);
+    }
+}
@@ -0,0 +1,186 @@
+package model.graphs;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Réseau de flot à coût minimal résolu par chemins augmentants successifs
+ * (plus courts chemins de Dijkstra sur coûts réduits par potentiels de Johnson).
+ * Les coûts négatifs sont autorisés tant que le réseau initial ne contient pas de cycle
+ * de coût négatif : les potentiels initiaux sont alors obtenus par Bellman-Ford.
+ */
+public class FlotCoutMinimal {
+
+    /** Distance « infinie » pour les sommets non atteints */
+    private static final long INFINI = Long.MAX_VALUE / 4;
+
+    /** Nombre de sommets du réseau */
+    private final int nbSommets;
+
+    /** Premier arc sortant de chaque sommet (-1 si aucun) */
+    private final int[] premierArc;
+
+    /** Sommet d'arrivée de chaque arc */
+    private int[] destination;
+
+    /** Capacité résiduelle de chaque arc */
+    private int[] capacite;
+
+    /** Coût unitaire de chaque arc (opposé pour l'arc retour) */
+    private long[] cout;
+
+    /** Arc suivant dans la liste d'adjacence du même sommet */
+    private int[] suivant;
+
+    /** Nombre d'arcs (arcs retour compris) */
+    private int nbArcs;
+
+    /** Flot total envoyé par le dernier appel à {@link #calculer(int, int)} */
+    private int flotTotal;
+
+    /**
+     * Construit un réseau vide.
+     * @param nbSommets le nombre de sommets du réseau
+     */
+    public FlotCoutMinimal(int nbSommets) {
+        this.nbSommets = nbSommets;
+        this.premierArc = new int[nbSommets];
+        Arrays.fill(premierArc, -1);
+        int capaciteInitiale = 16;
+        this.destination = new int[capaciteInitiale];
+        this.capacite = new int[capaciteInitiale];
+        this.cout = new long[capaciteInitiale];
+        this.suivant = new int[capaciteInitiale];
+    }
+
+    /**
+     * Ajoute un arc orienté (et son arc retour de capacité nulle et de coût opposé).
+     * @param origine sommet de départ
+     * @param arrivee sommet d'arrivée
+     * @param cap capacité de l'arc
+     * @param coutUnitaire coût par unité de flot
+     * @return l'identifiant de l'arc, utilisable avec {@link #getFlot(int)}
+     */
+    public int ajouterArc(int origine, int arrivee, int cap, long coutUnitaire) {
+        if (nbArcs + 2 > destination.length) {
+            int nouvelleTaille = destination.length * 2;
+            destination = Arrays.copyOf(destination, nouvelleTaille);
+            capacite = Arrays.copyOf(capacite, nouvelleTaille);
+            cout = Arrays.copyOf(cout, nouvelleTaille);
+            suivant = Arrays.copyOf(suivant, nouvelleTaille);
+        }
+        int arc = nbArcs;
+        destination[nbArcs] = arrivee;
+        capacite[nbArcs] = cap;
+        cout[nbArcs] = coutUnitaire;
+        suivant[nbArcs] = premierArc[origine];
+        premierArc[origine] = nbArcs++;
+
+        destination[nbArcs] = origine;
+        capacite[nbArcs] = 0;
+        cout[nbArcs] = -coutUnitaire;
+        suivant[nbArcs] = premierArc[arrivee];
+        premierArc[arrivee] = nbArcs++;
+        return arc;
+    }
+
+    /**
+     * Retourne le flot circulant sur un arc.
+     * @param arc identifiant renvoyé par {@link #ajouterArc(int, int, int, long)}
+     * @return le flot sur l'arc
+     */
+    public int getFlot(int arc) {
+        return capacite[arc ^ 1];
+    }
+
+    /** @return le flot total envoyé lors du dernier calcul */
+    public int getFlotTotal() {
+        return flotTotal;
+    }
+
+    /**
+     * Envoie du flot de la source au puits tant que cela diminue le coût total.
+     * Le résultat est donc un flot de coût minimal parmi tous les flots (et non seulement
+     * parmi les flots maximaux) : un chemin de coût positif n'est jamais emprunté.
+     * @param source sommet source
+     * @param puits sommet puits
+     * @return le coût total du flot envoyé
+     */
+    public long calculer(int source, int puits) {
+        long[] potentiel = potentielsInitiaux(source);
+        long[] distance = new long[nbSommets];
+        int[] arcParent = new int[nbSommets];
+        long coutTotal = 0;
+        flotTotal = 0;
+
+        while (true) {
+            Arrays.fill(distance, INFINI);
+            Arrays.fill(arcParent, -1);
+            distance[source] = 0;
+            PriorityQueue<long[]> file = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            file.add(new long[]{0, source});
+            while (!file.isEmpty()) {
+                long[] tete = file.poll();
+                int u = (int) tete[1];
+                if (tete[0] > distance[u]) continue;
+                for (int a = premierArc[u]; a != -1; a = suivant[a]) {
+                    if (capacite[a] <= 0) continue;
+                    int v = destination[a];
+                    long reduit = cout[a] + potentiel[u] - potentiel[v];
+                    if (distance[u] + reduit < distance[v]) {
+                        distance[v] = distance[u] + reduit;
+                        arcParent[v] = a;
+                        file.add(new long[]{distance[v], v});
+                    }
+                }
+            }
+            if (distance[puits] >= INFINI) break;
+
+            for (int v = 0; v < nbSommets; v++) {
+                if (distance[v] < INFINI) potentiel[v] += distance[v];
+            }
+            // Coût réel du chemin : un chemin non profitable termine l'algorithme
+            long coutChemin = potentiel[puits] - potentiel[source];
+            if (coutChemin >= 0) break;
+
+            int pousse = Integer.MAX_VALUE;
+            for (int v = puits; v != source; v = destination[arcParent[v] ^ 1]) {
+                pousse = Math.min(pousse, capacite[arcParent[v]]);
+            }
+            for (int v = puits; v != source; v = destination[arcParent[v] ^ 1]) {
+                capacite[arcParent[v]] -= pousse;
+                capacite[arcParent[v] ^ 1] += pousse;
+            }
+            flotTotal += pousse;
+            coutTotal += pousse * coutChemin;
+        }
+        return coutTotal;
+    }
+
+    /**
+     * Calcule des potentiels initiaux valides (plus courtes distances depuis la source)
+     * par Bellman-Ford, afin que tous les coûts réduits soient positifs.
+     */
+    private long[] potentielsInitiaux(int source) {
+        long[] potentiel = new long[nbSommets];
+        Arrays.fill(potentiel, INFINI);
+        potentiel[source] = 0;
+        boolean modifie = true;
+        for (int tour = 0; tour < nbSommets && modifie; tour++) {
+            modifie = false;
+            for (int u = 0; u < nbSommets; u++) {
+                if (potentiel[u] >= INFINI) continue;
+                for (int a = premierArc[u]; a != -1; a = suivant[a]) {
+                    if (capacite[a] > 0 && potentiel[u] + cout[a] < potentiel[destination[a]]) {
+                        potentiel[destination[a]] = potentiel[u] + cout[a];
+                        modifie = true;
+                    }
+                }
+            }
+        }
+        for (int v = 0; v < nbSommets; v++) {
+            if (potentiel[v] >= INFINI) potentiel[v] = 0;
+        }
+        return potentiel;
+    }
+}
@@ -0,0 +1,149 @@
+package model.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Réseau de flot à capacités entières résolu par l'algorithme de Dinic.
+ * Les arcs sont stockés dans des tableaux primitifs (listes d'adjacence chaînées)
+ * afin de supporter des réseaux de plusieurs centaines de milliers d'arcs.
+ */
+public class FlotMaximal {
+
+    /** Nombre de sommets du réseau */
+    private final int nbSommets;
+
+    /** Premier arc sortant de chaque sommet (-1 si aucun) */
+    private final int[] premierArc;
+
+    /** Sommet d'arrivée de chaque arc */
+    private int[] destination;
+
+    /** Capacité résiduelle de chaque arc */
+    private int[] capacite;
+
+    /** Arc suivant dans la liste d'adjacence du même sommet */
+    private int[] suivant;
+
+    /** Nombre d'arcs (arcs retour compris) */
+    private int nbArcs;
+
+    /** Distance de chaque sommet à la source dans le graphe de niveaux */
+    private int[] niveau;
+
+    /** Prochain arc à explorer pour chaque sommet lors de la recherche de flot bloquant */
+    private int[] arcCourant;
+
+    /**
+     * Construit un réseau vide.
+     * @param nbSommets le nombre de sommets du réseau
+     */
+    public FlotMaximal(int nbSommets) {
+        this.nbSommets = nbSommets;
+        this.premierArc = new int[nbSommets];
+        Arrays.fill(premierArc, -1);
+        int capaciteInitiale = 16;
+        this.destination = new int[capaciteInitiale];
+        this.capacite = new int[capaciteInitiale];
+        this.suivant = new int[capaciteInitiale];
+        this.niveau = new int[nbSommets];
+        this.arcCourant = new int[nbSommets];
+    }
+
+    /**
+     * Ajoute un arc orienté (et son arc retour de capacité nulle).
+     * @param origine sommet de départ
+     * @param arrivee sommet d'arrivée
+     * @param cap capacité de l'arc
+     * @return l'identifiant de l'arc, utilisable avec {@link #getFlot(int)}
+     */
+    public int ajouterArc(int origine, int arrivee, int cap) {
+        if (nbArcs + 2 > destination.length) {
+            int nouvelleTaille = destination.length * 2;
+            destination = Arrays.copyOf(destination, nouvelleTaille);
+            capacite = Arrays.copyOf(capacite, nouvelleTaille);
+            suivant = Arrays.copyOf(suivant, nouvelleTaille);
+        }
+        int arc = nbArcs;
+        destination[nbArcs] = arrivee;
+        capacite[nbArcs] = cap;
+        suivant[nbArcs] = premierArc[origine];
+        premierArc[origine] = nbArcs++;
+
+        destination[nbArcs] = origine;
+        capacite[nbArcs] = 0;
+        suivant[nbArcs] = premierArc[arrivee];
+        premierArc[arrivee] = nbArcs++;
+        return arc;
+    }
+
+    /**
+     * Retourne le flot circulant sur un arc, c'est-à-dire la capacité résiduelle de son arc retour.
+     * @param arc identifiant renvoyé par {@link #ajouterArc(int, int, int)}
+     * @return le flot sur l'arc
+     */
+    public int getFlot(int arc) {
+        return capacite[arc ^ 1];
+    }
+
+    /**
+     * Calcule le flot maximal entre deux sommets.
+     * @param source sommet source
+     * @param puits sommet puits
+     * @return la valeur du flot maximal
+     */
+    public int calculer(int source, int puits) {
+        int total = 0;
+        while (construireNiveaux(source, puits)) {
+            System.arraycopy(premierArc, 0, arcCourant, 0, nbSommets);
+            int pousse;
+            while ((pousse = pousser(source, puits, Integer.MAX_VALUE)) > 0) {
+                total += pousse;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Parcours en largeur depuis la source pour construire le graphe de niveaux.
+     * @return true si le puits est encore atteignable
+     */
+    private boolean construireNiveaux(int source, int puits) {
+        Arrays.fill(niveau, -1);
+        int[] file = new int[nbSommets];
+        int tete = 0, queue = 0;
+        file[queue++] = source;
+        niveau[source] = 0;
+        while (tete < queue) {
+            int u = file[tete++];
+            for (int a = premierArc[u]; a != -1; a = suivant[a]) {
+                int v = destination[a];
+                if (capacite[a] > 0 && niveau[v] < 0) {
+                    niveau[v] = niveau[u] + 1;
+                    file[queue++] = v;
+                }
+            }
+        }
+        return niveau[puits] >= 0;
+    }
+
+    /**
+     * Recherche en profondeur d'un chemin augmentant dans le graphe de niveaux.
+     * @return la quantité de flot poussée (0 si aucun chemin)
+     */
+    private int pousser(int u, int puits, int limite) {
+        if (u == puits) return limite;
+        for (; arcCourant[u] != -1; arcCourant[u] = suivant[arcCourant[u]]) {
+            int a = arcCourant[u];
+            int v = destination[a];
+            if (capacite[a] > 0 && niveau[v] == niveau[u] + 1) {
+                int pousse = pousser(v, puits, Math.min(limite, capacite[a]));
+                if (pousse > 0) {
+                    capacite[a] -= pousse;
+                    capacite[a ^ 1] += pousse;
+                    return pousse;
+                }
+            }
+        }
+        return 0;
+    }
+}
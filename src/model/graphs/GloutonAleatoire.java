@@ -0,0 +1,139 @@
+package model.graphs;
+
+import model.data.Besoin;
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.*;
+
+/**
+ * Construction gloutonne randomisée, phase de construction de la recherche GRASP.
+ * Elle suit le glouton de {@link Graphe#affectationGloutonne} mais chaque décision est tirée au hasard
+ * dans une liste restreinte de candidats : les DPS dont l'effectif requis est proche du plus grand restant,
+ * puis, pour chaque poste, les secouristes libres dont le gain (évalué par différence) est proche du meilleur.
+ * Le paramètre alpha règle la largeur de ces listes : 0 reproduit les choix gloutons, 1 tire parmi tous
+ * les candidats. La matrice d'éligibilité étant en lecture seule, plusieurs constructions peuvent s'exécuter
+ * en parallèle sur la même instance. Sous plafonds horaires, les secouristes dont le budget ne couvre pas la
+ * durée du DPS ne figurent pas parmi les candidats.
+ */
+class GloutonAleatoire {
+
+    /** Nombre de secouristes libres examinés pour chaque poste */
+    static final int TAILLE_LISTE_CANDIDATS = 8;
+
+    private final MatriceEligibilite eligibilite;
+    private final List<DPS> dps;
+
+    /** Budget horaire des secouristes (lu seulement), ou null sans plafonds */
+    private final BudgetHoraire budget;
+    private final double alpha;
+
+    /**
+     * @param eligibilite la matrice d'éligibilité des secouristes aux compétences des DPS
+     * @param dps la liste des DPS
+     * @param budget le budget horaire des secouristes, ou null sans plafonds
+     * @param alpha largeur des listes restreintes de candidats, entre 0 et 1
+     */
+    GloutonAleatoire(MatriceEligibilite eligibilite, List<DPS> dps, BudgetHoraire budget, double alpha) {
+        this.eligibilite = eligibilite;
+        this.dps = dps;
+        this.budget = budget;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Construit une affectation.
+     * @param graine la graine du générateur aléatoire (une graine donne toujours la même affectation)
+     * @return l'affectation construite et son score
+     */
+    Solution construire(long graine) {
+        Random random = new Random(graine);
+        EvaluateurIncremental evaluateur = new EvaluateurIncremental(eligibilite, dps);
+        IndexCompetences disponibles = new IndexCompetences(eligibilite);
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+
+        List<Integer> restants = new ArrayList<>();
+        for (int d = 0; d < dps.size(); d++) restants.add(d);
+        int[] candidats = new int[TAILLE_LISTE_CANDIDATS];
+        int[] gains = new int[TAILLE_LISTE_CANDIDATS];
+
+        while (!restants.isEmpty()) {
+            int d = restants.remove(choisirDPS(restants, random));
+            List<Besoin> besoins = dps.get(d).getBesoins();
+            List<Secouriste> equipe = new ArrayList<>();
+            for (int b = 0; b < besoins.size(); b++) {
+                int comp = evaluateur.getCompetences(d)[b];
+                while (evaluateur.getCouverture(d, b) < besoins.get(b).getNombre()) {
+                    int nb = 0;
+                    for (int s = disponibles.premier(comp); s >= 0 && nb < candidats.length; s = disponibles.suivant(comp, s)) {
+                        if (budget != null && !budget.admet(s, budget.getDuree(d))) continue;
+                        candidats[nb] = s;
+                        gains[nb++] = evaluateur.gain(s, d, 1);
+                    }
+                    if (nb == 0) break;
+                    int s = candidats[choisir(gains, nb, random)];
+                    evaluateur.varier(s, d, 1);
+                    disponibles.retirer(s);
+                    equipe.add(eligibilite.getSecouriste(s));
+                }
+            }
+            affectation.put(dps.get(d), equipe);
+        }
+        return new Solution(evaluateur.getScore(), affectation);
+    }
+
+    /** Tire un DPS parmi ceux dont l'effectif requis est proche du plus grand restant. */
+    private int choisirDPS(List<Integer> restants, Random random) {
+        int[] requis = new int[restants.size()];
+        for (int i = 0; i < requis.length; i++) requis[i] = dps.get(restants.get(i)).getNbSecouristesRequis();
+        return choisir(requis, requis.length, random);
+    }
+
+    /**
+     * Tire uniformément un indice parmi les {@code nb} premières valeurs supérieures ou égales au seuil
+     * max - alpha × (max - min).
+     */
+    private int choisir(int[] valeurs, int nb, Random random) {
+        int max = Integer.MIN_VALUE;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < nb; i++) {
+            max = Math.max(max, valeurs[i]);
+            min = Math.min(min, valeurs[i]);
+        }
+        double seuil = max - alpha * (max - min);
+        int retenus = 0;
+        for (int i = 0; i < nb; i++) if (valeurs[i] >= seuil) retenus++;
+        int tirage = random.nextInt(retenus);
+        for (int i = 0; i < nb; i++) {
+            if (valeurs[i] >= seuil && tirage-- == 0) return i;
+        }
+        throw new IllegalStateException("Liste restreinte de candidats vide");
+    }
+
+    /**
+     * Affectation construite et son score.
+     */
+    static class Solution {
+        private final int score;
+        private final Map<DPS, List<Secouriste>> affectation;
+
+        /**
+         * @param score le score de l'affectation
+         * @param affectation la map DPS → secouristes affectés
+         */
+        Solution(int score, Map<DPS, List<Secouriste>> affectation) {
+            this.score = score;
+            this.affectation = affectation;
+        }
+
+        /** @return le score de l'affectation */
+        int getScore() {
+            return score;
+        }
+
+        /** @return la map DPS → secouristes affectés */
+        Map<DPS, List<Secouriste>> getAffectation() {
+            return affectation;
+        }
+    }
+}
@@ -1,15 +1,53 @@
 package model.graphs;
 
 import model.data.*;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Classe représentant un graphe utilisé pour l'affectation de secouristes à des dispositifs (DPS).
- * Contient deux algorithmes d'affectation : un exhaustif (backtracking) et un glouton.
+ * Contient plusieurs algorithmes d'affectation : un exhaustif (backtracking, éventuellement borné dans le temps), deux par flot
+ * (maximal et à coût minimal) et un glouton, éventuellement amélioré par recherche locale ou randomisé en
+ * démarrages multiples (GRASP), ainsi qu'une réparation incrémentale d'affectation existante.
  */
 public class Graphe {
     private DAG dag;
 
+    /** Active l'élagage par séparation et évaluation dans la recherche exhaustive */
+    private boolean elagage = true;
+
+    /** Développe d'abord le DPS le plus contraint dans la recherche exhaustive (sinon, ordre de la liste) */
+    private boolean premierEchec = true;
+
+    /** Nombre de nœuds explorés par la dernière recherche exhaustive */
+    private final AtomicLong nbNoeudsExplores = new AtomicLong();
+
+    /** Nombre d'équipes en double écartées par la dernière recherche exhaustive */
+    private final AtomicLong nbDoublonsElimines = new AtomicLong();
+
+    /** Nombre maximal d'équipes évaluées individuellement par nœud lors de l'abandon à échéance */
+    private static final int MAX_BORNES_ABANDON = 4096;
+
+    /** Nombre de mouvements tentés par le recuit simulé, par poste à pourvoir */
+    private static final int ITERATIONS_RECUIT_PAR_POSTE = 200;
+
+    /** Nombre minimal de mouvements tentés par le recuit simulé */
+    private static final int ITERATIONS_MIN_RECUIT = 10_000;
+
+    /** Nombre de constructions de la recherche GRASP par défaut */
+    public static final int GRASP_DEMARRAGES = 32;
+
+    /** Largeur des listes restreintes de candidats de la recherche GRASP */
+    private static final double GRASP_ALPHA = 0.3;
+
     /**
      * Constructeur du graphe prenant en paramètre un DAG représentant les relations de compétences.
      * @param dag le DAG des compétences
@@ -18,193 +56,1561 @@ public class Graphe {
         this.dag = dag;
     }
 
-    //============================================================ AFFECTATION EXHAUSTIVE ============================================================\\
+    //============================================================ AFFECTATION EXHAUSTIVE ============================================================\
+
+    /**
+     * Variante de {@link #affectationExhaustive(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationExhaustive(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationExhaustive(secouristes, dps, null);
+    }
 
     /**
      * Algorithme exhaustif (backtracking) pour trouver la meilleure affectation possible
      * des secouristes aux dispositifs selon leurs compétences.
+     * La recherche part de la solution gloutonne et élague tout sous-arbre dont la borne
+     * supérieure ne peut pas dépasser le meilleur score connu.
+     * Les secouristes ayant les mêmes compétences effectives sont interchangeables : la recherche
+     * énumère le nombre de secouristes pris dans chaque {@link ClassesEquivalence classe} plutôt que
+     * des sous-ensembles de personnes, et ne réintroduit les personnes qu'à la fin.
      * @param secouristes la liste de tous les secouristes
      * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
      * @return une map DPS → Liste des secouristes affectés
      */
-    public Map<DPS, List<Secouriste>> affectationExhaustive(List<Secouriste> secouristes, List<DPS> dps) {
-        Map<DPS, List<Secouriste>> meilleureAffectation = new HashMap<>();
-        int[] meilleurScore = {-1};
+    public Map<DPS, List<Secouriste>> affectationExhaustive(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        nbNoeudsExplores.set(0);
+        nbDoublonsElimines.set(0);
+
+        // Démarrage à chaud : la solution gloutonne fixe le score à battre dès le premier nœud
+        Map<DPS, List<Secouriste>> affectationGloutonne = affectationGloutonne(secouristes, dps, charge);
+        int[] meilleurScore = {elagage ? evaluerAffectation(affectationGloutonne) : -1};
+        int[][][] meilleuresEquipes = new int[1][][];
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budget);
+        BesoinsInternes besoins = new BesoinsInternes(eligibilite, dps, budget);
+        backtrack(besoins, domaines(besoins, classes), 0, 0, classes, classes.effectifs(), new int[dps.size()][],
+                  meilleuresEquipes, meilleurScore, null, null);
+        return meilleuresEquipes[0] != null ? classes.materialiser(dps, meilleuresEquipes[0]) : affectationGloutonne;
+    }
+
+    /**
+     * Variante de {@link #affectationExhaustiveBornee(List, List, Duration, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param budget la durée maximale de la recherche (un budget nul ou négatif renvoie la solution de départ)
+     * @return la meilleure affectation trouvée, avec son score, une borne supérieure et l'indicateur d'optimalité
+     */
+    public ResultatRechercheBornee affectationExhaustiveBornee(List<Secouriste> secouristes, List<DPS> dps, Duration budget) {
+        return affectationExhaustiveBornee(secouristes, dps, budget, null);
+    }
+
+    /**
+     * Recherche exhaustive interruptible : renvoie la meilleure affectation trouvée à l'expiration du budget,
+     * ou plus tôt si l'optimalité est prouvée. La recherche part de la solution gloutonne améliorée par
+     * recherche locale, obtenue rapidement, et ne retient ensuite que des améliorations strictes. À l'échéance, chaque sous-arbre non exploré est remplacé par sa borne
+     * supérieure : leur maximum majore le score optimal et donne l'écart à l'optimum.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param budget la durée maximale de la recherche (un budget nul ou négatif renvoie la solution de départ)
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return la meilleure affectation trouvée, avec son score, une borne supérieure et l'indicateur d'optimalité
+     */
+    public ResultatRechercheBornee affectationExhaustiveBornee(List<Secouriste> secouristes, List<DPS> dps, Duration budget, ChargeHoraire charge) {
+        long debut = System.nanoTime();
+        Echeance echeance = new Echeance(debut + Math.max(0, budget.toNanos()));
+        nbNoeudsExplores.set(0);
+        nbDoublonsElimines.set(0);
 
-        Map<DPS, List<Secouriste>> affectationCourante = new HashMap<>();
+        Map<DPS, List<Secouriste>> depart = solutionDepart(secouristes, dps, charge);
+        int[] meilleurScore = {evaluerAffectation(depart)};
+        int[][][] meilleuresEquipes = new int[1][][];
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budgetHoraire = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budgetHoraire);
+        BesoinsInternes besoins = new BesoinsInternes(eligibilite, dps, budgetHoraire);
+        backtrack(besoins, domaines(besoins, classes), 0, 0, classes, classes.effectifs(), new int[dps.size()][],
+                  meilleuresEquipes, meilleurScore, null, echeance);
+
+        Map<DPS, List<Secouriste>> affectation = meilleuresEquipes[0] != null ? classes.materialiser(dps, meilleuresEquipes[0]) : depart;
+        return resultatBorne(dps, affectation, meilleurScore[0], echeance.getBorneAbandonnee(), echeance.isAtteinte(), debut);
+    }
+
+    /**
+     * Variante de {@link #affectationExhaustiveParalleleBornee(List, List, Duration, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param budget la durée maximale de la recherche (un budget nul ou négatif renvoie la solution de départ)
+     * @return la meilleure affectation trouvée, avec son score, une borne supérieure et l'indicateur d'optimalité
+     */
+    public ResultatRechercheBornee affectationExhaustiveParalleleBornee(List<Secouriste> secouristes, List<DPS> dps, Duration budget) {
+        return affectationExhaustiveParalleleBornee(secouristes, dps, budget, null);
+    }
+
+    /**
+     * Variante parallèle de {@link #affectationExhaustiveBornee} sur le pool commun fork/join : même solution
+     * de départ, même échéance et même borne supérieure. Chaque tâche terminale consulte l'horloge sur sa propre
+     * copie de l'échéance ; l'optimalité n'est prouvée que si aucune tâche ne l'a atteinte.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param budget la durée maximale de la recherche (un budget nul ou négatif renvoie la solution de départ)
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return la meilleure affectation trouvée, avec son score, une borne supérieure et l'indicateur d'optimalité
+     */
+    public ResultatRechercheBornee affectationExhaustiveParalleleBornee(List<Secouriste> secouristes, List<DPS> dps, Duration budget, ChargeHoraire charge) {
+        long debut = System.nanoTime();
+        Echeance echeance = new Echeance(debut + Math.max(0, budget.toNanos()));
+        nbNoeudsExplores.set(0);
+        nbDoublonsElimines.set(0);
+
+        Map<DPS, List<Secouriste>> depart = solutionDepart(secouristes, dps, charge);
+        int scoreDepart = evaluerAffectation(depart);
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budgetHoraire = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budgetHoraire);
+        BesoinsInternes besoins = new BesoinsInternes(eligibilite, dps, budgetHoraire);
+        RechercheParallele racine = new RechercheParallele(this, besoins, domaines(besoins, classes), classes, 0, 0,
+                classes.effectifs(), new int[dps.size()][], scoreDepart, new AtomicInteger(scoreDepart), echeance);
+        RechercheParallele.Meilleure meilleure = ForkJoinPool.commonPool().invoke(racine);
+
+        Map<DPS, List<Secouriste>> affectation = meilleure.getEquipes() != null ? classes.materialiser(dps, meilleure.getEquipes()) : depart;
+        return resultatBorne(dps, affectation, meilleure.getScore(), meilleure.getBorneAbandonnee(), meilleure.isEcheanceAtteinte(), debut);
+    }
+
+    /**
+     * Solution de départ des recherches bornées : la solution gloutonne améliorée par recherche locale. Le flot
+     * à coût minimal n'y est pas mis en concurrence : ses coûts ne comptent qu'un besoin par secouriste, et son
+     * score reste en deçà de celui du glouton.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    private Map<DPS, List<Secouriste>> solutionDepart(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        return affectationGloutonneAmelioree(secouristes, dps, charge);
+    }
+
+    /**
+     * Assemble le résultat d'une recherche bornée.
+     * @param dps la liste des dispositifs couverts
+     * @param affectation la meilleure affectation trouvée
+     * @param score son score
+     * @param borneAbandonnee la plus grande borne des sous-arbres abandonnés
+     * @param echeanceAtteinte true si la recherche a été interrompue
+     * @param debut l'instant de début de la recherche, au sens de {@link System#nanoTime()}
+     * @return le résultat de la recherche
+     */
+    private ResultatRechercheBornee resultatBorne(List<DPS> dps, Map<DPS, List<Secouriste>> affectation, int score,
+                                                  int borneAbandonnee, boolean echeanceAtteinte, long debut) {
+        Map<DPS, Integer> deficits = new HashMap<>();
         for (DPS d : dps) {
-            affectationCourante.put(d, new ArrayList<>());
+            deficits.put(d, postesNonPourvus(d, affectation.getOrDefault(d, List.of())));
         }
+        return new ResultatRechercheBornee(affectation, score, deficits, borneAbandonnee,
+                !echeanceAtteinte, (System.nanoTime() - debut) / 1_000_000);
+    }
 
-        Set<Secouriste> dejaAffectesGlobal = new HashSet<>();
+    /**
+     * Variante parallèle de {@link #affectationExhaustive(List, List)} sur le pool commun fork/join.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return une map DPS → Liste des secouristes affectés, identique à celle de la version séquentielle
+     */
+    public Map<DPS, List<Secouriste>> affectationExhaustiveParallele(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationExhaustiveParallele(secouristes, dps, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Variante de {@link #affectationExhaustiveParallele(List, List, ForkJoinPool, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param pool le pool fork/join sur lequel exécuter la recherche
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationExhaustiveParallele(List<Secouriste> secouristes, List<DPS> dps, ForkJoinPool pool) {
+        return affectationExhaustiveParallele(secouristes, dps, pool, null);
+    }
+
+    /**
+     * Variante parallèle de {@link #affectationExhaustive(List, List)}.
+     * Les premiers niveaux de l'arbre de recherche sont découpés en tâches fork/join disposant chacune
+     * de leur propre état ; le meilleur score est partagé par un entier atomique pour que chaque tâche
+     * élague avec le meilleur résultat trouvé par les autres. À score égal, la solution retenue est
+     * la première dans l'ordre d'exploration séquentiel, si bien que le résultat est identique
+     * à celui de {@link #affectationExhaustive(List, List)}.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param pool le pool fork/join sur lequel exécuter la recherche
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationExhaustiveParallele(List<Secouriste> secouristes, List<DPS> dps, ForkJoinPool pool, ChargeHoraire charge) {
+        nbNoeudsExplores.set(0);
+        nbDoublonsElimines.set(0);
+
+        Map<DPS, List<Secouriste>> affectationGloutonne = affectationGloutonne(secouristes, dps, charge);
+        int scoreGlouton = elagage ? evaluerAffectation(affectationGloutonne) : -1;
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budget);
+        BesoinsInternes besoins = new BesoinsInternes(eligibilite, dps, budget);
+        RechercheParallele racine = new RechercheParallele(this, besoins, domaines(besoins, classes), classes, 0, 0,
+                classes.effectifs(), new int[dps.size()][], scoreGlouton, new AtomicInteger(scoreGlouton), null);
+        RechercheParallele.Meilleure meilleure = pool.invoke(racine);
+        return meilleure.getEquipes() != null ? classes.materialiser(dps, meilleure.getEquipes()) : affectationGloutonne;
+    }
+
+    /**
+     * Variante de {@link #affectationProgrammationDynamique(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return une map DPS → Liste des secouristes affectés
+     * @throws IllegalArgumentException si l'instance compte trop de candidats pour la programmation dynamique
+     */
+    public Map<DPS, List<Secouriste>> affectationProgrammationDynamique(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationProgrammationDynamique(secouristes, dps, null);
+    }
+
+    /**
+     * Recherche exhaustive par programmation dynamique sur les états (DPS, secouristes libres), pour les petites
+     * journées (voir {@link #admetProgrammationDynamique}). Le score est celui de
+     * {@link #affectationExhaustive(List, List)} : la solution gloutonne n'est remplacée que si elle est battue.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     * @throws IllegalArgumentException si l'instance compte trop de candidats pour la programmation dynamique
+     */
+    public Map<DPS, List<Secouriste>> affectationProgrammationDynamique(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        nbNoeudsExplores.set(0);
+        nbDoublonsElimines.set(0);
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budget);
+        BesoinsInternes besoins = new BesoinsInternes(eligibilite, dps, budget);
+        if (!ProgrammationDynamique.admet(besoins, classes)) {
+            throw new IllegalArgumentException("Trop de secouristes candidats pour la programmation dynamique");
+        }
+        Map<DPS, List<Secouriste>> affectationGloutonne = affectationGloutonne(secouristes, dps, charge);
+        ProgrammationDynamique programmation = new ProgrammationDynamique(this, besoins, classes);
+        int[][] equipes = programmation.resoudre();
+        return programmation.getScore() > evaluerAffectation(affectationGloutonne)
+                ? classes.materialiser(dps, equipes) : affectationGloutonne;
+    }
+
+    /**
+     * Variante de {@link #admetProgrammationDynamique(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return true si la programmation dynamique est applicable
+     */
+    public boolean admetProgrammationDynamique(List<Secouriste> secouristes, List<DPS> dps) {
+        return admetProgrammationDynamique(secouristes, dps, null);
+    }
 
-        backtrack(dps, 0, secouristes, dejaAffectesGlobal, affectationCourante, meilleureAffectation, meilleurScore);
-        return meilleureAffectation;
+    /**
+     * Indique si une instance est assez petite pour {@link #affectationProgrammationDynamique} : au plus
+     * 24 secouristes éligibles à au moins un besoin, et un nombre borné d'états de secouristes libres.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return true si la programmation dynamique est applicable
+     */
+    public boolean admetProgrammationDynamique(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        return ProgrammationDynamique.admet(new BesoinsInternes(eligibilite, dps, budget),
+                                            new ClassesEquivalence(eligibilite, budget));
     }
 
     /**
      * Méthode récursive de backtracking pour explorer toutes les affectations possibles.
+     * Une équipe est un tableau donnant, pour chaque classe d'équivalence, le nombre de ses membres affectés au DPS.
+     * Chaque nœud développe le DPS choisi par les {@link DomainesCandidats domaines vivants} (le plus contraint
+     * d'abord), et chaque équipe essayée est propagée aux domaines avant de descendre.
+     * @param besoins les besoins internés des DPS
+     * @param domaines domaines vivants et ordre des DPS, cohérents avec {@code restants} (modifiés puis restitués)
+     * @param profondeur nombre de DPS déjà traités
+     * @param scoreCourant score des DPS déjà traités
+     * @param restants nombre de secouristes encore libres dans chaque classe (non modifié)
+     * @param equipesCourantes équipes des DPS déjà traités, par indice de DPS
+     * @param meilleurGlobal meilleur score partagé entre tâches parallèles, ou null en séquentiel
+     * @param echeance échéance de la recherche, ou null pour une recherche menée à son terme
      */
-    private void backtrack(List<DPS> dps, int index, List<Secouriste> tousLesSecouristes, Set<Secouriste> dejaAffectesGlobal,
-                           Map<DPS, List<Secouriste>> affectationCourante, Map<DPS, List<Secouriste>> meilleureAffectation,
-                           int[] meilleurScore) {
+    void backtrack(BesoinsInternes besoins, DomainesCandidats domaines, int profondeur, int scoreCourant,
+                   ClassesEquivalence classes, int[] restants, int[][] equipesCourantes, int[][][] meilleuresEquipes,
+                   int[] meilleurScore, AtomicInteger meilleurGlobal, Echeance echeance) {
 
-        if (index == dps.size()) {
-            int scoreActuel = evaluerAffectation(affectationCourante);
-            if (scoreActuel > meilleurScore[0]) {
-                meilleurScore[0] = scoreActuel;
-                meilleureAffectation.clear();
-                for (DPS dpsKey : affectationCourante.keySet()) {
-                    meilleureAffectation.put(dpsKey, new ArrayList<>(affectationCourante.get(dpsKey)));
-                }
+        nbNoeudsExplores.incrementAndGet();
+
+        if (profondeur == besoins.getNbDPS()) {
+            if (scoreCourant > meilleurScore[0]) {
+                meilleurScore[0] = scoreCourant;
+                // Les équipes sont des tampons réutilisés par les itérateurs : copie profonde
+                int[][] copie = new int[equipesCourantes.length][];
+                for (int i = 0; i < copie.length; i++) copie[i] = equipesCourantes[i].clone();
+                meilleuresEquipes[0] = copie;
+                if (meilleurGlobal != null) meilleurGlobal.accumulateAndGet(scoreCourant, Math::max);
             }
             return;
         }
 
-        DPS dpsActuel = dps.get(index);
-        List<List<Secouriste>> toutesLesCombinaisons = genererCombinaisonsOptimalesPourDPS(dpsActuel, tousLesSecouristes, dejaAffectesGlobal);
+        // Séparation et évaluation : le sous-arbre ne peut pas faire mieux que le meilleur connu.
+        // Le meilleur score d'une autre tâche n'élague qu'en cas d'inégalité stricte, pour conserver
+        // les solutions de même score situées plus tôt dans l'ordre d'exploration.
+        if (elagage) {
+            int borne = scoreCourant + domaines.borne(profondeur);
+            if (borne <= meilleurScore[0] || (meilleurGlobal != null && borne < meilleurGlobal.get())) {
+                return;
+            }
+        }
 
-        if (toutesLesCombinaisons.isEmpty()) {
-            affectationCourante.put(dpsActuel, new ArrayList<>());
-            backtrack(dps, index + 1, tousLesSecouristes, dejaAffectesGlobal, affectationCourante, meilleureAffectation, meilleurScore);
+        // Échéance atteinte : le sous-arbre est abandonné, seule sa borne est retenue
+        if (echeance != null && echeance.verifier()) {
+            echeance.abandonner(scoreCourant + domaines.borne(profondeur));
+            return;
         }
 
-        for (List<Secouriste> candidats : toutesLesCombinaisons) {
-            if (candidats.stream().noneMatch(dejaAffectesGlobal::contains)) {
-                affectationCourante.put(dpsActuel, new ArrayList<>(candidats));
-                dejaAffectesGlobal.addAll(candidats);
+        // Les équipes sont produites à la demande : un seul itérateur (et un seul tampon) par niveau
+        int d = domaines.choisir(profondeur);
+        IterateurEquipes equipes = genererCombinaisonsOptimalesPourDPS(besoins, d, classes, restants);
+        while (equipes.suivante()) {
+            int[] equipe = equipes.courante();
+            equipesCourantes[d] = equipe;
 
-                backtrack(dps, index + 1, tousLesSecouristes, dejaAffectesGlobal, affectationCourante, meilleureAffectation, meilleurScore);
+            domaines.retirer(equipe);
+            backtrack(besoins, domaines, profondeur + 1, scoreCourant + evaluerEquipe(besoins, d, equipe, classes),
+                      classes, equipes.restantsApres(), equipesCourantes, meilleuresEquipes, meilleurScore, meilleurGlobal,
+                      echeance);
+            domaines.restituer(equipe);
+            if (echeance != null && echeance.isAtteinte()) {
+                abandonnerEquipesRestantes(besoins, domaines, profondeur, d, scoreCourant, classes, equipes, echeance);
+                break;
+            }
+        }
+        equipesCourantes[d] = null;
+        nbDoublonsElimines.addAndGet(equipes.getNbDoublons());
+    }
 
-                dejaAffectesGlobal.removeAll(candidats);
-                affectationCourante.put(dpsActuel, new ArrayList<>());
+    /**
+     * Déclare à l'échéance la borne des équipes non encore énumérées d'un nœud. Au-delà de
+     * {@link #MAX_BORNES_ABANDON} équipes, la borne du nœud lui-même, plus large, est retenue.
+     */
+    private void abandonnerEquipesRestantes(BesoinsInternes besoins, DomainesCandidats domaines, int profondeur, int d,
+                                            int scoreCourant, ClassesEquivalence classes, IterateurEquipes equipes,
+                                            Echeance echeance) {
+        for (int n = 0; equipes.suivante(); n++) {
+            if (n == MAX_BORNES_ABANDON) {
+                echeance.abandonner(scoreCourant + domaines.borne(profondeur));
+                return;
             }
+            domaines.retirer(equipes.courante());
+            echeance.abandonner(scoreCourant + evaluerEquipe(besoins, d, equipes.courante(), classes)
+                                + domaines.borne(profondeur + 1));
+            domaines.restituer(equipes.courante());
         }
     }
 
     /**
-     * Génère toutes les combinaisons valides de secouristes pour couvrir les besoins d’un DPS.
+     * Crée les domaines vivants initiaux d'une recherche exhaustive, selon l'ordre de parcours configuré.
      */
-    private List<List<Secouriste>> genererCombinaisonsOptimalesPourDPS(DPS dps, List<Secouriste> tousLesSecouristes, Set<Secouriste> dejaAffectesGlobal) {
-        List<List<Secouriste>> resultats = new ArrayList<>();
-        genererCombinaisonsRec(dps.getBesoins(), 0, tousLesSecouristes, dejaAffectesGlobal, new ArrayList<>(), new HashSet<>(), resultats);
-        return resultats;
+    DomainesCandidats domaines(BesoinsInternes besoins, ClassesEquivalence classes) {
+        return new DomainesCandidats(besoins, classes, classes.effectifs(), premierEchec);
     }
 
     /**
-     * Méthode récursive pour générer toutes les combinaisons de secouristes répondant aux besoins.
+     * Active ou désactive l'élagage de la recherche exhaustive (utile pour les mesures comparatives).
+     * @param elagage true pour élaguer (comportement par défaut), false pour une énumération complète
      */
-    private void genererCombinaisonsRec(List<Besoin> besoins, int besoinIndex,
-                                        List<Secouriste> tousLesSecouristes, Set<Secouriste> dejaAffectesGlobal,
-                                        List<Secouriste> currentAssignment, Set<Secouriste> tempUsed,
-                                        List<List<Secouriste>> resultats) {
+    public void setElagage(boolean elagage) {
+        this.elagage = elagage;
+    }
 
-        if (besoinIndex == besoins.size()) {
-            resultats.add(new ArrayList<>(currentAssignment));
-            return;
+    /**
+     * Choisit l'ordre de parcours des DPS dans la recherche exhaustive (utile pour les mesures comparatives).
+     * @param premierEchec true pour développer d'abord le DPS le plus contraint (comportement par défaut),
+     *                     false pour suivre l'ordre de la liste
+     */
+    public void setPremierEchec(boolean premierEchec) {
+        this.premierEchec = premierEchec;
+    }
+
+    /**
+     * @param charge la charge horaire en vigueur, ou null sans plafonds
+     * @param eligibilite la matrice d'éligibilité de la résolution
+     * @param dps les DPS de la résolution
+     * @return le budget horaire des secouristes d'une résolution, ou null sans plafonds
+     */
+    static BudgetHoraire budget(ChargeHoraire charge, MatriceEligibilite eligibilite, List<DPS> dps) {
+        return charge == null ? null : new BudgetHoraire(charge, eligibilite, dps);
+    }
+
+    /**
+     * Retourne le nombre de nœuds explorés par la dernière recherche exhaustive.
+     * @return le nombre de nœuds explorés
+     */
+    public long getNbNoeudsExplores() {
+        return nbNoeudsExplores.get();
+    }
+
+    /**
+     * Retourne le nombre d'équipes en double (même effectif par classe, rôles permutés) écartées
+     * par la dernière recherche exhaustive.
+     * @return le nombre de doublons éliminés
+     */
+    public long getNbDoublonsElimines() {
+        return nbDoublonsElimines.get();
+    }
+
+    /** Comptabilise un nœud exploré en dehors de {@link #backtrack} (découpage parallèle). */
+    void compterNoeud() {
+        nbNoeudsExplores.incrementAndGet();
+    }
+
+    /** Comptabilise des doublons écartés en dehors de {@link #backtrack} (découpage parallèle). */
+    void compterDoublons(long nb) {
+        nbDoublonsElimines.addAndGet(nb);
+    }
+
+    /** @return true si l'élagage de la recherche exhaustive est actif */
+    boolean isElagage() {
+        return elagage;
+    }
+
+    /**
+     * Énumère paresseusement les équipes valides pour couvrir les besoins d’un DPS, sous forme de nombre
+     * de secouristes par classe. L'équipe vide (aucun besoin couvert) est toujours énumérée.
+     */
+    IterateurEquipes genererCombinaisonsOptimalesPourDPS(BesoinsInternes besoins, int d, ClassesEquivalence classes, int[] restants) {
+        return new IterateurEquipes(besoins.getCompetences(d), besoins.getRequis(d), besoins.getNiveau(d), classes, restants);
+    }
+
+    //============================================================ AFFECTATION PAR FLOT =============================================================\\
+
+    /**
+     * Variante de {@link #affectationFlotMaximal(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationFlotMaximal(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationFlotMaximal(secouristes, dps, null);
+    }
+
+    /**
+     * Affectation par flot maximal (algorithme de Dinic).
+     * Le réseau relie la source à chaque classe de secouristes interchangeables (capacité = effectif),
+     * chaque classe aux compétences que ses membres possèdent (directement ou par implication), et chaque
+     * compétence au puits par un arc par besoin (capacité = nombre requis). Un flot maximal pourvoit donc
+     * le plus grand nombre possible de postes, chaque secouriste n'occupant qu'un seul poste d'un seul DPS.
+     * Ce n'est pas le score de {@link #evaluerAffectation(Map)} qui est maximisé : un secouriste y compte pour
+     * tous les besoins de son DPS qu'il sait couvrir, alors que le flot lui fait occuper un seul poste et peut
+     * employer deux secouristes là où un seul suffirait. Le score obtenu peut être inférieur à celui du glouton.
+     * Sous {@link ChargeHoraire plafonds horaires}, chaque compétence est dédoublée par niveau de
+     * {@link BudgetHoraire budget} : une classe n'atteint que le sommet de son niveau, d'où le flot ne peut que
+     * descendre vers les niveaux inférieurs (DPS plus courts), et chaque besoin part du sommet du niveau de son DPS.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationFlotMaximal(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        for (DPS d : dps) {
+            affectation.put(d, new ArrayList<>());
+        }
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budget);
+        int p = classes.getNbClasses();
+        int m = eligibilite.getNbCompetences();
+        if (m == 0 || p == 0) return affectation;
+        int nbNiveaux = budget != null ? budget.getNbNiveaux() : 1;
+
+        int source = 0;
+        int puits = p + m * nbNiveaux + 1;
+        FlotMaximal reseau = new FlotMaximal(p + m * nbNiveaux + 2);
+
+        // Source → classe → compétences possédées, au niveau de la classe
+        for (int k = 0; k < p; k++) {
+            reseau.ajouterArc(source, 1 + k, classes.getTaille(k));
+        }
+        int[][] arcsClasse = new int[m][];
+        for (int c = 0; c < m; c++) {
+            int[] eligibles = classes.getClassesEligibles(c);
+            arcsClasse[c] = new int[eligibles.length];
+            for (int i = 0; i < eligibles.length; i++) {
+                int niveau = classes.getNiveau(eligibles[i]);
+                arcsClasse[c][i] = niveau < 0 ? -1
+                        : reseau.ajouterArc(1 + eligibles[i], 1 + p + c * nbNiveaux + niveau, classes.getTaille(eligibles[i]));
+            }
+        }
+        int[][] arcsNiveau = new int[m][nbNiveaux];
+        for (int c = 0; c < m; c++) {
+            for (int niveau = 1; niveau < nbNiveaux; niveau++) {
+                int sommet = 1 + p + c * nbNiveaux + niveau;
+                arcsNiveau[c][niveau] = reseau.ajouterArc(sommet, sommet - 1, eligibilite.getNbSecouristes());
+            }
+        }
+
+        // Compétence → puits, un arc par besoin
+        List<DPS> dpsDuBesoin = new ArrayList<>();
+        List<Integer> competenceDuBesoin = new ArrayList<>();
+        List<Integer> arcsBesoin = new ArrayList<>();
+        for (int i = 0; i < dps.size(); i++) {
+            DPS d = dps.get(i);
+            int niveau = budget != null ? budget.getNiveauDPS(i) : 0;
+            for (Besoin besoin : d.getBesoins()) {
+                if (besoin.getNombre() <= 0) continue;
+                int c = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
+                dpsDuBesoin.add(d);
+                competenceDuBesoin.add(c * nbNiveaux + niveau);
+                arcsBesoin.add(reseau.ajouterArc(1 + p + c * nbNiveaux + niveau, puits, besoin.getNombre()));
+            }
         }
 
-        Besoin besoin = besoins.get(besoinIndex);
-        String comp = besoin.getCompetence().getIntitule();
-        int nb = besoin.getNombre();
+        reseau.calculer(source, puits);
 
-        if (nb > 0) {
-            List<Secouriste> candidats = new ArrayList<>();
-            for (Secouriste s : tousLesSecouristes) {
-                if (!dejaAffectesGlobal.contains(s) && !tempUsed.contains(s) && dag.possederCompetence(s, comp)) {
-                    candidats.add(s);
+        // Décomposition : classes → compétences → besoins
+        List<Deque<Secouriste>> parCompetence = repartirParCompetence(classes, arcsClasse, arcsNiveau, reseau::getFlot);
+        for (int b = 0; b < arcsBesoin.size(); b++) {
+            Deque<Secouriste> disponibles = parCompetence.get(competenceDuBesoin.get(b));
+            List<Secouriste> affectes = affectation.get(dpsDuBesoin.get(b));
+            for (int f = reseau.getFlot(arcsBesoin.get(b)); f > 0; f--) {
+                affectes.add(disponibles.poll());
+            }
+        }
+
+        return affectation;
+    }
+
+    /**
+     * Vérifie, avant toute résolution, quelle part de la demande peut être couverte.
+     * Pour chaque journée, un flot maximal relie les classes de secouristes disponibles ce jour-là aux compétences
+     * qu'ils possèdent (directement ou par implication), chaque compétence étant reliée au puits avec pour capacité
+     * le total des postes qui la requièrent : le flot est le nombre maximal de postes pourvoyables simultanément,
+     * un secouriste par poste et par journée (condition de Hall). S'y ajoutent, par compétence, la demande et l'offre.
+     * @param dps la liste des DPS
+     * @param disponibilites les disponibilités des secouristes sur l'horizon des DPS
+     * @return le rapport de faisabilité, journée par journée
+     */
+    public RapportFaisabilite verifierFaisabilite(List<DPS> dps, IndexDisponibilites disponibilites) {
+        return verifierFaisabilite(dps, disponibilites, false);
+    }
+
+    /**
+     * Vérifie, avant toute résolution, quelle part de la demande peut être couverte, éventuellement en
+     * multi-vacations. Un secouriste pouvant alors tenir plusieurs DPS d'horaires disjoints dans la journée,
+     * le flot n'est plus calculé sur toute la journée mais, à chaque heure de début d'un DPS, sur les seuls DPS
+     * en cours à cet instant, qui se chevauchent deux à deux : un secouriste n'y tient qu'un poste, et le flot
+     * minore le déficit de ces DPS. Le déficit de la journée est le plus grand total de ces déficits sur des
+     * instants n'ayant aucun DPS en commun : il ne signale aucune pénurie qu'une affectation multi-vacations
+     * pourrait éviter, et il est exact lorsque tous les DPS de la journée se chevauchent.
+     * @param dps la liste des DPS
+     * @param disponibilites les disponibilités des secouristes sur l'horizon des DPS
+     * @param multiVacations true si un secouriste peut tenir plusieurs DPS d'horaires disjoints dans une journée
+     * @return le rapport de faisabilité, journée par journée
+     */
+    public RapportFaisabilite verifierFaisabilite(List<DPS> dps, IndexDisponibilites disponibilites,
+                                                  boolean multiVacations) {
+        RapportFaisabilite rapport = new RapportFaisabilite();
+        for (Map.Entry<LocalDate, List<DPS>> journee : DecompositionJournees.grouperParJournee(dps).entrySet()) {
+            LocalDate date = journee.getKey();
+            ClassesEquivalence classes = new ClassesEquivalence(
+                    MatriceEligibilite.pour(dag, disponibilites.getDisponibles(date), journee.getValue()));
+            MatriceEligibilite eligibilite = classes.getEligibilite();
+            int p = classes.getNbClasses();
+            int m = eligibilite.getNbCompetences();
+
+            int[] demande = demandeParCompetence(eligibilite, journee.getValue());
+            int demandeTotale = Arrays.stream(demande).sum();
+
+            List<RapportFaisabilite.BilanCompetence> competences = new ArrayList<>();
+            for (int c = 0; c < m; c++) {
+                if (demande[c] == 0) continue;
+                int offre = 0;
+                for (int k : classes.getClassesEligibles(c)) offre += classes.getTaille(k);
+                competences.add(new RapportFaisabilite.BilanCompetence(date, eligibilite.getCompetence(c), demande[c], offre));
+            }
+            int couverture = p == 0 || m == 0 ? 0
+                    : multiVacations ? demandeTotale - deficitMultiVacations(classes, journee.getValue())
+                    : postesPourvoyables(classes, demande);
+            rapport.ajouter(new RapportFaisabilite.BilanJournee(date, demandeTotale, couverture, competences));
+        }
+        return rapport;
+    }
+
+    /**
+     * @param eligibilite la matrice d'éligibilité de la journée
+     * @param dps des DPS de la journée
+     * @return le nombre de postes de ces DPS requérant chaque compétence
+     */
+    private static int[] demandeParCompetence(MatriceEligibilite eligibilite, List<DPS> dps) {
+        int[] demande = new int[eligibilite.getNbCompetences()];
+        for (DPS d : dps) {
+            for (Besoin besoin : d.getBesoins()) {
+                if (besoin.getNombre() <= 0) continue;
+                demande[eligibilite.indexCompetence(besoin.getCompetence().getIntitule())] += besoin.getNombre();
+            }
+        }
+        return demande;
+    }
+
+    /**
+     * Flot maximal source → classes (taille) → compétences (taille de la classe) → puits (demande).
+     * @param classes les classes de secouristes disponibles de la journée
+     * @param demande le nombre de postes requérant chaque compétence
+     * @return le nombre maximal de postes pourvoyables, un secouriste par poste
+     */
+    private static int postesPourvoyables(ClassesEquivalence classes, int[] demande) {
+        int p = classes.getNbClasses();
+        int m = demande.length;
+        int source = 0;
+        int puits = p + m + 1;
+        FlotMaximal reseau = new FlotMaximal(p + m + 2);
+        for (int k = 0; k < p; k++) {
+            reseau.ajouterArc(source, 1 + k, classes.getTaille(k));
+        }
+        for (int c = 0; c < m; c++) {
+            for (int k : classes.getClassesEligibles(c)) {
+                reseau.ajouterArc(1 + k, 1 + p + c, classes.getTaille(k));
+            }
+            if (demande[c] > 0) reseau.ajouterArc(1 + p + c, puits, demande[c]);
+        }
+        return reseau.calculer(source, puits);
+    }
+
+    /**
+     * Déficit certain d'une journée en multi-vacations (voir {@link #verifierFaisabilite(List, IndexDisponibilites, boolean)}).
+     * Deux instants ont un DPS en commun si ce DPS a commencé au premier et n'est pas fini au second : les instants
+     * antérieurs sans DPS commun avec un instant t sont donc ceux qui précèdent le début du plus ancien DPS en
+     * cours à t, et le plus grand total se calcule par programmation dynamique sur les instants triés.
+     * @param classes les classes de secouristes disponibles de la journée
+     * @param dpsDuJour les DPS de la journée
+     * @return le nombre minimal de postes qui resteront vacants
+     */
+    private static int deficitMultiVacations(ClassesEquivalence classes, List<DPS> dpsDuJour) {
+        int[] instants = dpsDuJour.stream().mapToInt(IndexCreneaux::minuteDebut).sorted().distinct().toArray();
+        // meilleur[j] : plus grand total de déficits sur les j premiers instants
+        int[] meilleur = new int[instants.length + 1];
+        for (int j = 0; j < instants.length; j++) {
+            int t = instants[j];
+            List<DPS> enCours = new ArrayList<>();
+            int plusAncien = t;
+            for (DPS d : dpsDuJour) {
+                int debut = IndexCreneaux.minuteDebut(d);
+                if (debut <= t && IndexCreneaux.minuteFin(d) > t) {
+                    enCours.add(d);
+                    plusAncien = Math.min(plusAncien, debut);
                 }
             }
+            int[] demande = demandeParCompetence(classes.getEligibilite(), enCours);
+            int deficit = Arrays.stream(demande).sum() - postesPourvoyables(classes, demande);
+            int disjoints = Arrays.binarySearch(instants, plusAncien);
+            meilleur[j + 1] = Math.max(meilleur[j], deficit + meilleur[disjoints]);
+        }
+        return meilleur[instants.length];
+    }
+
+    /** Facteur d'échelle appliqué aux coûts pour représenter le bonus de 5 points réparti sur chaque poste */
+    private static final long ECHELLE_COUT = 1000;
+
+    /**
+     * Variante de {@link #affectationCoutMinimal(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @return l'affectation, son score et le nombre de postes non pourvus par DPS
+     */
+    public ResultatAffectation affectationCoutMinimal(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationCoutMinimal(secouristes, dps, null);
+    }
+
+    /**
+     * Affectation par flot à coût minimal, dont les coûts reprennent le barème de {@link #evaluerAffectation(Map)}
+     * poste par poste. Chaque poste pourvu rapporte 10 points et le bonus de 5 points d'un besoin complet est réparti
+     * uniformément sur ses postes (coût -(10 + 5/n) par poste pour un besoin de n personnes).
+     * Le nombre de postes pourvus est donc maximal, et à nombre égal le flot privilégie les besoins
+     * qu'il peut compléter. Comme pour {@link #affectationFlotMaximal}, un secouriste n'occupe qu'un poste alors que
+     * le score le compte pour tous les besoins de son DPS qu'il sait couvrir : le score obtenu n'est pas optimal et
+     * peut être inférieur à celui du glouton ou de la recherche locale. Les secouristes interchangeables sont
+     * regroupés en un seul sommet par {@link ClassesEquivalence} afin de limiter la taille du réseau. Les plafonds
+     * horaires sont pris en compte comme dans {@link #affectationFlotMaximal}.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return l'affectation, son score et le nombre de postes non pourvus par DPS
+     */
+    public ResultatAffectation affectationCoutMinimal(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        Map<DPS, Integer> deficits = new HashMap<>();
+        for (DPS d : dps) {
+            affectation.put(d, new ArrayList<>());
+            deficits.put(d, 0);
+        }
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        ClassesEquivalence classes = new ClassesEquivalence(eligibilite, budget);
+        int m = eligibilite.getNbCompetences();
+        int p = classes.getNbClasses();
+        int nbNiveaux = budget != null ? budget.getNbNiveaux() : 1;
+        int source = 0;
+        int puits = p + m * nbNiveaux + 1;
+        FlotCoutMinimal reseau = new FlotCoutMinimal(p + m * nbNiveaux + 2);
+
+        for (int k = 0; k < p; k++) {
+            reseau.ajouterArc(source, 1 + k, classes.getTaille(k), 0);
+        }
+        int[][] arcsClasse = new int[m][];
+        for (int c = 0; c < m; c++) {
+            int[] eligibles = classes.getClassesEligibles(c);
+            arcsClasse[c] = new int[eligibles.length];
+            for (int i = 0; i < eligibles.length; i++) {
+                int niveau = classes.getNiveau(eligibles[i]);
+                arcsClasse[c][i] = niveau < 0 ? -1
+                        : reseau.ajouterArc(1 + eligibles[i], 1 + p + c * nbNiveaux + niveau, classes.getTaille(eligibles[i]), 0);
+            }
+        }
+        int[][] arcsNiveau = new int[m][nbNiveaux];
+        for (int c = 0; c < m; c++) {
+            for (int niveau = 1; niveau < nbNiveaux; niveau++) {
+                int sommet = 1 + p + c * nbNiveaux + niveau;
+                arcsNiveau[c][niveau] = reseau.ajouterArc(sommet, sommet - 1, eligibilite.getNbSecouristes(), 0);
+            }
+        }
 
-            List<List<Secouriste>> combinaisons = new ArrayList<>();
-            genererCombinaisonsSimples(candidats, nb, 0, new ArrayList<>(), combinaisons);
+        List<Besoin> besoins = new ArrayList<>();
+        List<DPS> dpsDuBesoin = new ArrayList<>();
+        List<Integer> competenceDuBesoin = new ArrayList<>();
+        List<Integer> arcsBesoin = new ArrayList<>();
+        for (int i = 0; i < dps.size(); i++) {
+            DPS d = dps.get(i);
+            int niveau = budget != null ? budget.getNiveauDPS(i) : 0;
+            for (Besoin besoin : d.getBesoins()) {
+                int nb = besoin.getNombre();
+                if (nb <= 0) continue;
+                long coutPoste = -Math.round((10.0 + 5.0 / nb) * ECHELLE_COUT);
+                int c = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
+                besoins.add(besoin);
+                dpsDuBesoin.add(d);
+                competenceDuBesoin.add(c * nbNiveaux + niveau);
+                arcsBesoin.add(reseau.ajouterArc(1 + p + c * nbNiveaux + niveau, puits, nb, coutPoste));
+            }
+        }
 
-            for (List<Secouriste> choix : combinaisons) {
-                currentAssignment.addAll(choix);
-                tempUsed.addAll(choix);
-                genererCombinaisonsRec(besoins, besoinIndex + 1, tousLesSecouristes, dejaAffectesGlobal, currentAssignment, tempUsed, resultats);
-                currentAssignment.removeAll(choix);
-                tempUsed.removeAll(choix);
+        reseau.calculer(source, puits);
+
+        // Décomposition : classes → compétences → besoins
+        List<Deque<Secouriste>> parCompetence = repartirParCompetence(classes, arcsClasse, arcsNiveau, reseau::getFlot);
+        for (int b = 0; b < besoins.size(); b++) {
+            Besoin besoin = besoins.get(b);
+            DPS d = dpsDuBesoin.get(b);
+            Deque<Secouriste> disponibles = parCompetence.get(competenceDuBesoin.get(b));
+            int flot = reseau.getFlot(arcsBesoin.get(b));
+            for (int f = 0; f < flot; f++) {
+                affectation.get(d).add(disponibles.poll());
             }
+            deficits.merge(d, besoin.getNombre() - flot, Integer::sum);
         }
 
-        genererCombinaisonsRec(besoins, besoinIndex + 1, tousLesSecouristes, dejaAffectesGlobal, currentAssignment, tempUsed, resultats);
+        return new ResultatAffectation(affectation, evaluerAffectation(affectation), deficits);
     }
 
     /**
-     * Génère toutes les combinaisons simples de k éléments à partir d’une liste donnée.
+     * Matérialise le flot des arcs classe → compétence : chaque compétence reçoit autant de membres
+     * de chaque classe que l'arc correspondant porte d'unités, chaque membre n'étant distribué qu'une fois.
+     * Le flot d'un arc vers le niveau inférieur y fait ensuite descendre autant de secouristes arrivés au-dessus.
+     * @param arcsClasse pour chaque compétence, les arcs issus de ses classes éligibles (même ordre, -1 sans arc)
+     * @param arcsNiveau pour chaque compétence et chaque niveau à partir de 1, l'arc vers le niveau inférieur
+     * @param flot le flot porté par un arc
+     * @return pour chaque compétence et chaque niveau (indice compétence × nombre de niveaux + niveau),
+     *         les secouristes qui y sont acheminés
      */
-    private void genererCombinaisonsSimples(List<Secouriste> liste, int k, int start,
-                                            List<Secouriste> current, List<List<Secouriste>> resultats) {
-        if (current.size() == k) {
-            resultats.add(new ArrayList<>(current));
-            return;
+    private List<Deque<Secouriste>> repartirParCompetence(ClassesEquivalence classes, int[][] arcsClasse,
+                                                          int[][] arcsNiveau, IntUnaryOperator flot) {
+        int[] prochain = new int[classes.getNbClasses()];
+        List<Deque<Secouriste>> parCompetence = new ArrayList<>();
+        for (int c = 0; c < arcsClasse.length; c++) {
+            List<Deque<Secouriste>> parNiveau = new ArrayList<>();
+            for (int niveau = 0; niveau < arcsNiveau[c].length; niveau++) parNiveau.add(new ArrayDeque<>());
+            int[] eligibles = classes.getClassesEligibles(c);
+            for (int i = 0; i < eligibles.length; i++) {
+                if (arcsClasse[c][i] < 0) continue;
+                int k = eligibles[i];
+                Deque<Secouriste> arrives = parNiveau.get(classes.getNiveau(k));
+                for (int f = flot.applyAsInt(arcsClasse[c][i]); f > 0; f--) {
+                    arrives.add(classes.getEligibilite().getSecouriste(classes.getMembre(k, prochain[k]++)));
+                }
+            }
+            for (int niveau = arcsNiveau[c].length - 1; niveau > 0; niveau--) {
+                for (int f = flot.applyAsInt(arcsNiveau[c][niveau]); f > 0; f--) {
+                    parNiveau.get(niveau - 1).add(parNiveau.get(niveau).poll());
+                }
+            }
+            parCompetence.addAll(parNiveau);
         }
-        if (start >= liste.size()) return;
+        return parCompetence;
+    }
+
+    //=========================================================== RÉPARATION INCRÉMENTALE ============================================================\\
 
-        for (int i = start; i < liste.size(); i++) {
-            current.add(liste.get(i));
-            genererCombinaisonsSimples(liste, k, i + 1, current, resultats);
-            current.remove(current.size() - 1);
+    /**
+     * Répare une affectation existante après une modification ponctuelle, sans tout recalculer.
+     * Seule la journée du delta est traitée. Chaque secouriste affecté y reçoit un poste de son DPS
+     * (un poste par unité de besoin) ; les secouristes devenus indisponibles, ceux des DPS supprimés et
+     * les excédents des DPS modifiés sont libérés. Les postes vacants des DPS touchés (ou de toute la
+     * journée si le delta libère des secouristes) sont ensuite pourvus par plus courts chemins augmentants :
+     * un secouriste libre est pris directement, sinon une chaîne de secouristes déjà affectés est décalée
+     * d'un poste, en déplaçant le moins de secouristes possible. Les DPS non touchés conservent leur couverture.
+     * Un planning multi-vacations est réparé comme tel : un secouriste garde tous ses DPS d'horaires disjoints.
+     * @param actuelle l'affectation en vigueur avant la modification
+     * @param dps la liste des DPS après modification
+     * @param disponibilites les disponibilités après modification (au moins pour la journée du delta)
+     * @param delta la modification à absorber
+     * @return l'affectation réparée, avec les seules lignes à créer ou supprimer
+     */
+    public ReparationAffectation reparerAffectation(Map<DPS, List<Secouriste>> actuelle, List<DPS> dps,
+                                                    IndexDisponibilites disponibilites, DeltaAffectation delta) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        for (DPS d : dps) {
+            List<Secouriste> membres = actuelle.get(d);
+            affectation.put(d, membres != null ? new ArrayList<>(membres) : new ArrayList<>());
+        }
+
+        List<DPS> dpsDuJour = new ArrayList<>();
+        for (DPS d : dps) {
+            if (DecompositionJournees.dateDe(d.getJournee()).equals(delta.getDate())) dpsDuJour.add(d);
         }
+        reparerJournee(affectation, dpsDuJour, disponibilites.getDisponibles(delta.getDate()), delta);
+
+        // Différence avec l'affectation d'origine, DPS supprimés compris
+        Map<DPS, List<Secouriste>> ajouts = new HashMap<>();
+        Map<DPS, List<Secouriste>> retraits = new HashMap<>();
+        Set<DPS> concernes = new HashSet<>(actuelle.keySet());
+        concernes.addAll(affectation.keySet());
+        for (DPS d : concernes) {
+            List<Secouriste> avant = actuelle.getOrDefault(d, List.of());
+            List<Secouriste> apres = affectation.getOrDefault(d, List.of());
+            List<Secouriste> ajoutes = difference(apres, avant);
+            List<Secouriste> retires = difference(avant, apres);
+            if (!ajoutes.isEmpty()) ajouts.put(d, ajoutes);
+            if (!retires.isEmpty()) retraits.put(d, retires);
+        }
+
+        Map<DPS, Integer> deficits = new HashMap<>();
+        for (DPS d : dps) {
+            deficits.put(d, postesNonPourvus(d, affectation.get(d)));
+        }
+        return new ReparationAffectation(affectation, evaluerAffectation(affectation), deficits, ajouts, retraits);
+    }
+
+    /**
+     * Réparation d'une journée : attribution des postes aux secouristes en place, libérations,
+     * puis chemins augmentants depuis les postes vacants à pourvoir.
+     * Les créneaux de chaque secouriste sont tenus dans un {@link IndexCreneaux} : un secouriste n'est retiré
+     * d'un DPS que si son horaire chevauche celui d'un DPS de la journée où il est déjà en place, si bien que les
+     * vacations successives d'un planning multi-vacations sont conservées. Si la journée en compte (un secouriste
+     * en place sur plusieurs DPS), les postes vacants peuvent aussi être pourvus par un secouriste déjà en place
+     * sur un DPS d'horaire disjoint ; sinon, seul un secouriste sans aucun DPS ce jour-là est pris.
+     */
+    private void reparerJournee(Map<DPS, List<Secouriste>> affectation, List<DPS> dpsDuJour,
+                                List<Secouriste> vivier, DeltaAffectation delta) {
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, vivier, dpsDuJour);
+        int n = eligibilite.getNbSecouristes();
+
+        // Un poste par unité de besoin ; les postes d'un DPS sont contigus
+        List<Integer> competences = new ArrayList<>();
+        int[] premierPoste = new int[dpsDuJour.size() + 1];
+        int[][] horaires = new int[dpsDuJour.size()][];
+        for (int i = 0; i < dpsDuJour.size(); i++) {
+            DPS d = dpsDuJour.get(i);
+            premierPoste[i] = competences.size();
+            horaires[i] = new int[]{IndexCreneaux.minuteDebut(d), IndexCreneaux.minuteFin(d)};
+            for (Besoin besoin : d.getBesoins()) {
+                int c = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
+                for (int k = 0; k < besoin.getNombre(); k++) competences.add(c);
+            }
+        }
+        premierPoste[dpsDuJour.size()] = competences.size();
+        int[] competenceDuPoste = competences.stream().mapToInt(Integer::intValue).toArray();
+        int[] dpsDuPoste = new int[competenceDuPoste.length];
+        for (int i = 0; i < dpsDuJour.size(); i++) {
+            Arrays.fill(dpsDuPoste, premierPoste[i], premierPoste[i + 1], i);
+        }
+        int[] occupant = new int[competenceDuPoste.length];
+        Arrays.fill(occupant, -1);
+        // Poste de chaque secouriste dans le DPS en cours de placement
+        int[] posteDans = new int[n];
+        // Postes tenus par chaque secouriste, et créneaux qu'il occupe (postes et DPS où il est retenu)
+        List<List<Integer>> postesDe = new ArrayList<>();
+        for (int s = 0; s < n; s++) postesDe.add(new ArrayList<>());
+        IndexCreneaux creneaux = new IndexCreneaux(n);
+        // Secouristes en place sans poste (excédents de DPS non touchés), par DPS : ni libres, ni déplaçables
+        List<Set<Integer>> retenus = new ArrayList<>();
+
+        // Planning multi-vacations : un secouriste au moins est en place sur plusieurs DPS de la journée
+        Map<Secouriste, Integer> nbDPS = new HashMap<>();
+        for (DPS d : dpsDuJour) {
+            for (Secouriste s : affectation.get(d)) nbDPS.merge(s, 1, Integer::sum);
+        }
+        boolean multiVacations = nbDPS.values().stream().anyMatch(nb -> nb > 1);
+
+        boolean offreAccrue = delta.augmenteOffre();
+        boolean[] touche = new boolean[dpsDuJour.size()];
+        for (int i = 0; i < dpsDuJour.size(); i++) {
+            DPS d = dpsDuJour.get(i);
+            touche[i] = delta.getDps() != null && d.getId() == delta.getDps().getId();
+            List<Integer> membres = new ArrayList<>();
+            for (Secouriste s : affectation.get(d)) {
+                int idx = eligibilite.indexDe(s);
+                if (idx < 0 || membres.contains(idx) || !creneaux.estLibre(idx, horaires[i][0], horaires[i][1])) {
+                    // Devenu indisponible (ou en place sur un DPS d'horaire chevauchant) : retiré du DPS
+                    touche[i] = true;
+                } else {
+                    membres.add(idx);
+                }
+            }
+            for (int s : membres) {
+                placer(s, premierPoste[i], premierPoste[i + 1], eligibilite, competenceDuPoste,
+                       occupant, posteDans, new boolean[competenceDuPoste.length]);
+            }
+            Set<Integer> retenusDuDPS = new HashSet<>();
+            for (int s : membres) {
+                boolean enPoste = false;
+                for (int p = premierPoste[i]; p < premierPoste[i + 1]; p++) {
+                    if (occupant[p] == s) {
+                        postesDe.get(s).add(p);
+                        enPoste = true;
+                    }
+                }
+                if (!enPoste && touche[i]) {
+                    offreAccrue = true;
+                    continue;
+                }
+                if (!enPoste) retenusDuDPS.add(s);
+                creneaux.reserver(s, horaires[i][0], horaires[i][1]);
+            }
+            retenus.add(retenusDuDPS);
+        }
+
+        // Chemins augmentants depuis les postes vacants : DPS touchés d'abord, puis toute la journée
+        for (int passe = 0; passe < 2; passe++) {
+            if (passe == 1 && !offreAccrue) break;
+            for (int i = 0; i < dpsDuJour.size(); i++) {
+                if ((passe == 0) != touche[i]) continue;
+                for (int p = premierPoste[i]; p < premierPoste[i + 1]; p++) {
+                    if (occupant[p] < 0) {
+                        augmenter(p, eligibilite, competenceDuPoste, dpsDuPoste, horaires, occupant, postesDe,
+                                  creneaux, multiVacations);
+                    }
+                }
+            }
+        }
+
+        // Reconstitution des équipes : membres conservés dans leur ordre d'origine, puis nouveaux venus
+        for (int i = 0; i < dpsDuJour.size(); i++) {
+            DPS d = dpsDuJour.get(i);
+            Set<Integer> finaux = new HashSet<>();
+            for (int p = premierPoste[i]; p < premierPoste[i + 1]; p++) {
+                if (occupant[p] >= 0) finaux.add(occupant[p]);
+            }
+            List<Secouriste> equipe = new ArrayList<>();
+            for (Secouriste s : affectation.get(d)) {
+                int idx = eligibilite.indexDe(s);
+                if (idx >= 0 && (finaux.remove(idx) || retenus.get(i).remove(idx))) equipe.add(s);
+            }
+            for (int p = premierPoste[i]; p < premierPoste[i + 1]; p++) {
+                if (occupant[p] >= 0 && finaux.remove(occupant[p])) equipe.add(eligibilite.getSecouriste(occupant[p]));
+            }
+            affectation.put(d, equipe);
+        }
+    }
+
+    /**
+     * Attribue au secouriste {@code s} un poste de l'intervalle [debut, fin), en réattribuant
+     * si besoin les postes des autres secouristes du même intervalle (couplage de Kuhn).
+     */
+    private boolean placer(int s, int debut, int fin, MatriceEligibilite eligibilite, int[] competenceDuPoste,
+                           int[] occupant, int[] posteDe, boolean[] vu) {
+        for (int p = debut; p < fin; p++) {
+            if (vu[p] || !eligibilite.estEligible(s, competenceDuPoste[p])) continue;
+            vu[p] = true;
+            if (occupant[p] < 0 || placer(occupant[p], debut, fin, eligibilite, competenceDuPoste, occupant, posteDe, vu)) {
+                occupant[p] = s;
+                posteDe[s] = p;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cherche le plus court chemin augmentant pourvoyant le poste {@code p} (parcours en largeur) :
+     * un secouriste libre éligible, sinon une chaîne de secouristes en poste dont chacun quitte un poste pour
+     * celui, vacant, du précédent. Le chemin le plus court déplace le moins de secouristes possible.
+     * Un secouriste est libre pour un poste s'il n'occupe aucun créneau de la journée, ou, en multi-vacations,
+     * aucun créneau chevauchant l'horaire du DPS ; il ne peut quitter qu'un poste dont l'abandon le rend libre.
+     * Chaque secouriste figure au plus une fois dans le parcours, donc dans la chaîne.
+     */
+    private boolean augmenter(int p, MatriceEligibilite eligibilite, int[] competenceDuPoste, int[] dpsDuPoste,
+                              int[][] horaires, int[] occupant, List<List<Integer>> postesDe,
+                              IndexCreneaux creneaux, boolean multiVacations) {
+        // precedent[q] : poste que prendra l'occupant actuel de q si q est repris (-1 pour p)
+        int[] precedent = new int[occupant.length];
+        Arrays.fill(precedent, -2);
+        precedent[p] = -1;
+        boolean[] vu = new boolean[eligibilite.getNbSecouristes()];
+        ArrayDeque<Integer> file = new ArrayDeque<>();
+        file.add(p);
+        long[] aucun = eligibilite.nouvelEnsemble();
+        while (!file.isEmpty()) {
+            int q = file.poll();
+            int[] horaire = horaires[dpsDuPoste[q]];
+            int c = competenceDuPoste[q];
+            for (int s = eligibilite.prochainEligible(c, aucun, 0); s >= 0; s = eligibilite.prochainEligible(c, aucun, s + 1)) {
+                if (vu[s]) continue;
+                vu[s] = true;
+                if (estLibre(s, horaire, creneaux, multiVacations)) {
+                    // Secouriste libre : chacun avance d'un poste le long de la chaîne jusqu'à p
+                    int personne = s;
+                    for (int poste = q; poste >= 0; poste = precedent[poste]) {
+                        int ancien = occupant[poste];
+                        int[] creneau = horaires[dpsDuPoste[poste]];
+                        if (ancien >= 0) {
+                            creneaux.liberer(ancien, creneau[0], creneau[1]);
+                            postesDe.get(ancien).remove(Integer.valueOf(poste));
+                        }
+                        occupant[poste] = personne;
+                        creneaux.reserver(personne, creneau[0], creneau[1]);
+                        postesDe.get(personne).add(poste);
+                        personne = ancien;
+                    }
+                    return true;
+                }
+                for (int r : postesDe.get(s)) {
+                    if (precedent[r] != -2) continue;
+                    int[] quitte = horaires[dpsDuPoste[r]];
+                    creneaux.liberer(s, quitte[0], quitte[1]);
+                    boolean libere = estLibre(s, horaire, creneaux, multiVacations);
+                    creneaux.reserver(s, quitte[0], quitte[1]);
+                    if (libere) {
+                        precedent[r] = q;
+                        file.add(r);
+                        break;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true si le secouriste peut prendre un poste sur l'horaire donné : sans aucun créneau dans la journée,
+     *         ou, en multi-vacations, sans créneau chevauchant l'horaire
+     */
+    private static boolean estLibre(int s, int[] horaire, IndexCreneaux creneaux, boolean multiVacations) {
+        return multiVacations ? creneaux.estLibre(s, horaire[0], horaire[1]) : creneaux.getNbCreneaux(s) == 0;
+    }
+
+    /**
+     * Nombre de postes d'un DPS qu'un couplage maximal entre ses secouristes et ses postes laisse vacants.
+     * @param dps le DPS concerné
+     * @param affectes les secouristes affectés à ce DPS
+     * @return le nombre de postes non pourvus
+     */
+    int postesNonPourvus(DPS dps, List<Secouriste> affectes) {
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, affectes, List.of(dps));
+        List<Integer> competences = new ArrayList<>();
+        for (Besoin besoin : dps.getBesoins()) {
+            int c = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
+            for (int k = 0; k < besoin.getNombre(); k++) competences.add(c);
+        }
+        int[] competenceDuPoste = competences.stream().mapToInt(Integer::intValue).toArray();
+        int[] occupant = new int[competenceDuPoste.length];
+        Arrays.fill(occupant, -1);
+        int[] posteDe = new int[eligibilite.getNbSecouristes()];
+        int pourvus = 0;
+        for (int s = 0; s < eligibilite.getNbSecouristes(); s++) {
+            if (placer(s, 0, competenceDuPoste.length, eligibilite, competenceDuPoste, occupant, posteDe,
+                       new boolean[competenceDuPoste.length])) {
+                pourvus++;
+            }
+        }
+        return competenceDuPoste.length - pourvus;
+    }
+
+    /** @return les éléments de {@code a} absents de {@code b} (par identité) */
+    private static List<Secouriste> difference(List<Secouriste> a, List<Secouriste> b) {
+        Set<Secouriste> exclus = Collections.newSetFromMap(new IdentityHashMap<>());
+        exclus.addAll(b);
+        List<Secouriste> resultat = new ArrayList<>();
+        for (Secouriste s : a) {
+            if (!exclus.contains(s)) resultat.add(s);
+        }
+        return resultat;
     }
 
     //============================================================= AFFECTATION GLOUTONNE =============================================================\\
 
+    /**
+     * Variante de {@link #affectationGloutonne(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonne(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationGloutonne(secouristes, dps, null);
+    }
+
     /**
      * Algorithme glouton pour affecter rapidement les secouristes aux DPS
      * en tentant de satisfaire le plus grand nombre de besoins.
+     * Sous {@link ChargeHoraire plafonds horaires}, chaque {@link BudgetHoraire niveau} de budget a son propre index,
+     * restreint aux secouristes qui peuvent prendre les DPS de ce niveau : un secouriste dont le budget ne couvre pas
+     * la durée d'un DPS n'est jamais parcouru pour lui, et ceux qui ne peuvent prendre aucun DPS ne figurent dans aucun index.
      * @param secouristes la liste de tous les secouristes
      * @param dps la liste des dispositifs
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
      * @return une map DPS → Liste des secouristes affectés
      */
-    public Map<DPS, List<Secouriste>> affectationGloutonne(List<Secouriste> secouristes, List<DPS> dps) {
+    public Map<DPS, List<Secouriste>> affectationGloutonne(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
         Map<DPS, List<Secouriste>> affectation = new HashMap<>();
-        Set<Secouriste> dejaAffectes = new HashSet<>();
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        IndexCompetences[] disponibles = indexParNiveau(eligibilite, budget);
 
         List<DPS> dpsTries = new ArrayList<>(dps);
         dpsTries.sort((d1, d2) -> Integer.compare(d2.getNbSecouristesRequis(), d1.getNbSecouristesRequis()));
 
+        // Les membres de l'équipe en cours sont tenus dans un tampon d'indices, traduits en secouristes à la fin
+        int[] affectes = new int[16];
         for (DPS d : dpsTries) {
-            List<Secouriste> affectes = new ArrayList<>();
-            List<Secouriste> eligibles = new ArrayList<>();
-            for (Secouriste s : secouristes) {
-                if (!dejaAffectes.contains(s)) eligibles.add(s);
+            IndexCompetences candidats = disponibles[budget == null ? 0 : budget.getNiveauDuree(d.calculTemps())];
+            int nbAffectes = 0;
+            if (affectes.length < d.getNbSecouristesRequis()) affectes = new int[d.getNbSecouristesRequis()];
+
+            for (Besoin besoin : d.getBesoins()) {
+                int requis = besoin.getNombre();
+                int comp = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
+                int couverts = 0;
+
+                for (int i = 0; i < nbAffectes; i++) {
+                    if (eligibilite.estEligible(affectes[i], comp)) {
+                        couverts++;
+                        if (couverts >= requis) break;
+                    }
+                }
+
+                // Les secouristes retenus sont retirés de tous les index : la tête de liste est toujours disponible
+                int encore = requis - couverts;
+                for (int s = candidats.premier(comp); encore > 0 && s >= 0; s = candidats.premier(comp)) {
+                    affectes[nbAffectes++] = s;
+                    for (IndexCompetences index : disponibles) index.retirer(s);
+                    encore--;
+                }
+            }
+
+            List<Secouriste> equipe = new ArrayList<>(nbAffectes);
+            for (int i = 0; i < nbAffectes; i++) {
+                equipe.add(eligibilite.getSecouriste(affectes[i]));
+            }
+            affectation.put(d, equipe);
+        }
+
+        return affectation;
+    }
+
+    /**
+     * Index des secouristes disponibles par niveau de budget horaire : l'index d'un niveau ne contient que les
+     * secouristes dont le budget couvre les DPS de ce niveau, dans l'ordre de leurs indices.
+     * @param eligibilite la matrice d'éligibilité de la résolution
+     * @param budget le budget horaire des secouristes, ou null sans plafonds
+     * @return un index par niveau, ou un seul index complet sans plafonds
+     */
+    private static IndexCompetences[] indexParNiveau(MatriceEligibilite eligibilite, BudgetHoraire budget) {
+        if (budget == null) return new IndexCompetences[]{new IndexCompetences(eligibilite)};
+        IndexCompetences[] index = new IndexCompetences[budget.getNbNiveaux()];
+        int[] niveaux = budget.getNiveaux();
+        for (int niveau = 0; niveau < index.length; niveau++) {
+            index[niveau] = new IndexCompetences(eligibilite);
+            for (int s = 0; s < niveaux.length; s++) {
+                if (niveaux[s] < niveau) index[niveau].retirer(s);
             }
+        }
+        return index;
+    }
+
+    /** Retire de l'index les secouristes dont le budget horaire ne couvre même pas le plus court DPS. */
+    private static void retirerEpuises(MatriceEligibilite eligibilite, IndexCompetences disponibles, BudgetHoraire budget) {
+        for (int s = 0; s < eligibilite.getNbSecouristes(); s++) {
+            if (!budget.admet(s, budget.getDureeMin())) disponibles.retirer(s);
+        }
+    }
+
+    /**
+     * Variante de {@link #affectationGloutonneMultiVacations(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs, d'une même journée
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneMultiVacations(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationGloutonneMultiVacations(secouristes, dps, null);
+    }
+
+    /**
+     * Variante de {@link #affectationGloutonne} où un secouriste peut couvrir plusieurs DPS de la journée
+     * pourvu que leurs horaires ne se chevauchent pas : il n'est écarté d'un DPS que si l'un de ses créneaux
+     * déjà réservés en chevauche l'horaire, ce que vérifie un {@link IndexCreneaux} par recherche dichotomique.
+     * Un secouriste affecté passe en fin de ses listes dans l'index des compétences, si bien que les secouristes
+     * encore sans vacation sont proposés d'abord et que les parcours ne butent pas sur les secouristes occupés ;
+     * il n'en est retiré qu'une fois sa journée trop remplie pour accueillir le plus court des DPS. Lorsque tous
+     * les DPS se chevauchent, le résultat est donc celui du glouton simple.
+     * Sous {@link ChargeHoraire plafonds horaires}, chaque vacation est en outre déduite du budget du secouriste,
+     * qui n'est plus retenu pour un DPS plus long que ce qu'il lui reste.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs, d'une même journée
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneMultiVacations(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        IndexCompetences disponibles = new IndexCompetences(eligibilite);
+        IndexCreneaux creneaux = new IndexCreneaux(eligibilite.getNbSecouristes());
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        if (budget != null) retirerEpuises(eligibilite, disponibles, budget);
+
+        // Plage couverte par les DPS de la journée et durée du plus court d'entre eux
+        int ouverture = Integer.MAX_VALUE;
+        int fermeture = Integer.MIN_VALUE;
+        int dureeMin = Integer.MAX_VALUE;
+        for (DPS d : dps) {
+            ouverture = Math.min(ouverture, IndexCreneaux.minuteDebut(d));
+            fermeture = Math.max(fermeture, IndexCreneaux.minuteFin(d));
+            dureeMin = Math.min(dureeMin, d.calculTemps());
+        }
+
+        List<DPS> dpsTries = new ArrayList<>(dps);
+        dpsTries.sort((d1, d2) -> Integer.compare(d2.getNbSecouristesRequis(), d1.getNbSecouristesRequis()));
+
+        int[] affectes = new int[16];
+        for (DPS d : dpsTries) {
+            int debut = IndexCreneaux.minuteDebut(d);
+            int fin = IndexCreneaux.minuteFin(d);
+            int duree = d.calculTemps();
+            int nbAffectes = 0;
+            if (affectes.length < d.getNbSecouristesRequis()) affectes = new int[d.getNbSecouristesRequis()];
 
             for (Besoin besoin : d.getBesoins()) {
                 int requis = besoin.getNombre();
-                String comp = besoin.getCompetence().getIntitule();
+                int comp = eligibilite.indexCompetence(besoin.getCompetence().getIntitule());
                 int couverts = 0;
 
-                for (Secouriste s : affectes) {
-                    if (dag.possederCompetence(s, comp)) {
+                for (int i = 0; i < nbAffectes; i++) {
+                    if (eligibilite.estEligible(affectes[i], comp)) {
                         couverts++;
                         if (couverts >= requis) break;
                     }
                 }
 
+                // Les membres de l'équipe courante occupent déjà l'horaire du DPS : ils sont écartés comme les autres
                 int encore = requis - couverts;
-                if (encore > 0) {
-                    for (Secouriste s : eligibles) {
-                        if (!affectes.contains(s) && dag.possederCompetence(s, comp)) {
-                            affectes.add(s);
-                            encore--;
-                            if (encore <= 0) break;
+                int s = disponibles.premier(comp);
+                while (encore > 0 && s >= 0) {
+                    int suivant = disponibles.suivant(comp, s);
+                    if (creneaux.estLibre(s, debut, fin) && (budget == null || budget.admet(s, duree))) {
+                        affectes[nbAffectes++] = s;
+                        creneaux.reserver(s, debut, fin);
+                        if (budget != null) budget.consommer(s, duree);
+                        if (creneaux.plusLongueDisponibilite(s, ouverture, fermeture) < dureeMin
+                                || (budget != null && budget.getRestant(s) < dureeMin)) {
+                            disponibles.retirer(s);
+                        } else {
+                            disponibles.deplacerEnFin(s);
                         }
+                        encore--;
                     }
+                    s = suivant;
                 }
             }
 
-            affectation.put(d, affectes);
-            dejaAffectes.addAll(affectes);
+            List<Secouriste> equipe = new ArrayList<>(nbAffectes);
+            for (int i = 0; i < nbAffectes; i++) {
+                equipe.add(eligibilite.getSecouriste(affectes[i]));
+            }
+            affectation.put(d, equipe);
         }
 
         return affectation;
     }
 
+    /**
+     * Variante de {@link #affectationGloutonneRegret(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneRegret(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationGloutonneRegret(secouristes, dps, null);
+    }
+
+    /**
+     * Algorithme glouton par rareté et regret.
+     * Les besoins sont traités du plus contraint au moins contraint, selon le rapport entre le nombre de
+     * secouristes éligibles à leur compétence (offre) et le nombre total de postes qui la requièrent (demande).
+     * Pour chaque poste, le secouriste retenu est celui dont l'affectation fait le moins regretter ses autres
+     * compétences : sa valeur est la somme des tensions demande / offre des compétences qu'il détient, et le
+     * secouriste libre de plus faible valeur est choisi. Un titulaire d'une compétence rare n'est donc pris pour
+     * un besoin courant qu'en dernier recours. Chaque liste de candidats étant triée une fois pour toutes et
+     * parcourue par un curseur, le temps d'exécution reste quasi linéaire en la taille de la matrice d'éligibilité.
+     * Sous {@link ChargeHoraire plafonds horaires}, chaque {@link BudgetHoraire niveau} de budget a ses propres listes
+     * et curseurs, restreints aux secouristes qui peuvent prendre les DPS de ce niveau : un candidat dont le budget
+     * ne couvre pas la durée d'un DPS n'est jamais parcouru pour lui, tout en restant candidat pour un DPS plus court.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneRegret(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        EvaluateurIncremental evaluateur = new EvaluateurIncremental(eligibilite, dps);
+        int nbCompetences = eligibilite.getNbCompetences();
+        int n = eligibilite.getNbSecouristes();
+
+        // Offre et demande de chaque compétence
+        long[] demande = new long[nbCompetences];
+        List<int[]> besoins = new ArrayList<>();
+        for (int d = 0; d < dps.size(); d++) {
+            List<Besoin> liste = dps.get(d).getBesoins();
+            for (int b = 0; b < liste.size(); b++) {
+                int c = evaluateur.getCompetences(d)[b];
+                demande[c] += liste.get(b).getNombre();
+                besoins.add(new int[]{d, b, c, liste.get(b).getNombre()});
+            }
+        }
+        long[] aucun = eligibilite.nouvelEnsemble();
+        int[] offre = new int[nbCompetences];
+        for (int c = 0; c < nbCompetences; c++) offre[c] = eligibilite.compterEligibles(c, aucun);
+
+        // Valeur de chaque secouriste : tension cumulée des compétences qu'il détient
+        double[] valeur = new double[n];
+        for (int c = 0; c < nbCompetences; c++) {
+            if (demande[c] == 0) continue;
+            for (int s = eligibilite.prochainEligible(c, aucun, 0); s >= 0; s = eligibilite.prochainEligible(c, aucun, s + 1)) {
+                valeur[s] += (double) demande[c] / offre[c];
+            }
+        }
+
+        // Candidats de chaque compétence par valeur croissante (puis par indice) : les secouristes sont triés
+        // une fois pour toutes sur la clé (rang de leur valeur, indice), puis répartis entre leurs compétences,
+        // dans les listes de chaque niveau de budget qu'ils couvrent (un seul niveau sans plafonds)
+        double[] valeursTriees = valeur.clone();
+        Arrays.sort(valeursTriees);
+        long[] ordre = new long[n];
+        for (int s = 0; s < n; s++) {
+            ordre[s] = ((long) Arrays.binarySearch(valeursTriees, valeur[s]) << 32) | s;
+        }
+        Arrays.sort(ordre);
+        BudgetHoraire budget = budget(charge, eligibilite, dps);
+        int nbNiveaux = budget == null ? 1 : budget.getNbNiveaux();
+        int[][][] candidats = new int[nbNiveaux][nbCompetences][];
+        for (int niveau = 0; niveau < nbNiveaux; niveau++) {
+            int[] remplis = new int[nbCompetences];
+            for (int c = 0; c < nbCompetences; c++) candidats[niveau][c] = new int[offre[c]];
+            for (long cle : ordre) {
+                int s = (int) cle;
+                if (budget != null && budget.getNiveaux()[s] < niveau) continue;
+                for (int c = 0; c < nbCompetences; c++) {
+                    if (eligibilite.estEligible(s, c)) candidats[niveau][c][remplis[c]++] = s;
+                }
+            }
+            for (int c = 0; budget != null && c < nbCompetences; c++) {
+                candidats[niveau][c] = Arrays.copyOf(candidats[niveau][c], remplis[c]);
+            }
+        }
+
+        // Besoins les plus contraints d'abord, puis les plus gros
+        besoins.sort(Comparator.<int[]>comparingDouble(besoin -> (double) offre[besoin[2]] / demande[besoin[2]])
+                .thenComparing(besoin -> -besoin[3]));
+
+        int[][] curseur = new int[nbNiveaux][nbCompetences];
+        boolean[] pris = new boolean[n];
+        List<List<Secouriste>> equipes = new ArrayList<>();
+        for (int d = 0; d < dps.size(); d++) equipes.add(new ArrayList<>());
+        for (int[] besoin : besoins) {
+            int d = besoin[0];
+            int b = besoin[1];
+            int niveau = budget == null ? 0 : budget.getNiveauDPS(d);
+            int[] liste = candidats[niveau][besoin[2]];
+            while (evaluateur.getCouverture(d, b) < besoin[3]) {
+                int i = curseur[niveau][besoin[2]];
+                while (i < liste.length && pris[liste[i]]) i++;
+                curseur[niveau][besoin[2]] = i;
+                if (i == liste.length) break;
+                int s = liste[i];
+                pris[s] = true;
+                evaluateur.varier(s, d, 1);
+                equipes.get(d).add(eligibilite.getSecouriste(s));
+            }
+        }
+
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        for (int d = 0; d < dps.size(); d++) affectation.put(dps.get(d), equipes.get(d));
+        return affectation;
+    }
+
+    //============================================================== RECHERCHE LOCALE ===============================================================\\
+
+    /**
+     * Variante de {@link #affectationGloutonneAmelioree(List, List, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneAmelioree(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationGloutonneAmelioree(secouristes, dps, null);
+    }
+
+    /**
+     * Algorithme glouton suivi d'une amélioration par recherche locale (recuit simulé).
+     * La recherche part de la meilleure des solutions du glouton simple et du glouton par regret.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGloutonneAmelioree(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        Map<DPS, List<Secouriste>> glouton = affectationGloutonne(secouristes, dps, charge);
+        Map<DPS, List<Secouriste>> regret = affectationGloutonneRegret(secouristes, dps, charge);
+        Map<DPS, List<Secouriste>> depart = evaluerAffectation(regret) >= evaluerAffectation(glouton) ? regret : glouton;
+        return ameliorerAffectation(secouristes, dps, depart, 0, charge);
+    }
+
+    /**
+     * Variante de {@link #ameliorerAffectation(List, List, Map, long, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param depart l'affectation à améliorer
+     * @param graine la graine du générateur aléatoire (un même appel donne toujours le même résultat)
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> ameliorerAffectation(List<Secouriste> secouristes, List<DPS> dps,
+                                                           Map<DPS, List<Secouriste>> depart, long graine) {
+        return ameliorerAffectation(secouristes, dps, depart, graine, null);
+    }
+
+    /**
+     * Améliore une affectation par recuit simulé sur trois voisinages (déplacement d'un secouriste,
+     * échange de deux secouristes, double échange en chaîne), avec un score mis à jour par différence.
+     * Le nombre de mouvements tentés est proportionnel au nombre de postes à pourvoir.
+     * Le résultat n'est jamais moins bon que l'affectation de départ, à ceci près qu'un secouriste présent
+     * dans plusieurs DPS n'est conservé que dans le premier ; les membres qui ne couvrent aucun besoin sont libérés.
+     * Sous {@link ChargeHoraire plafonds horaires}, aucun mouvement n'amène un secouriste sur un DPS plus long que
+     * son budget, et les membres de départ qui le dépassent sont libérés.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param depart l'affectation à améliorer
+     * @param graine la graine du générateur aléatoire (un même appel donne toujours le même résultat)
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> ameliorerAffectation(List<Secouriste> secouristes, List<DPS> dps,
+                                                           Map<DPS, List<Secouriste>> depart, long graine, ChargeHoraire charge) {
+        long postes = 0;
+        for (DPS d : dps) postes += d.getNbSecouristesRequis();
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        RechercheLocale recherche = new RechercheLocale(eligibilite, dps, budget(charge, eligibilite, dps), depart, graine);
+        return recherche.ameliorer(Math.max(ITERATIONS_MIN_RECUIT, ITERATIONS_RECUIT_PAR_POSTE * postes));
+    }
+
+    //=================================================================== GRASP ====================================================================\\
+
+    /**
+     * Recherche GRASP avec les paramètres par défaut : {@value #GRASP_DEMARRAGES} constructions
+     * réparties sur tous les processeurs, à partir de la graine 0.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @return une map DPS → Liste des secouristes affectés
+     * @see #affectationGrasp(List, List, int, int, long)
+     */
+    public Map<DPS, List<Secouriste>> affectationGrasp(List<Secouriste> secouristes, List<DPS> dps) {
+        return affectationGrasp(secouristes, dps, GRASP_DEMARRAGES, Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * Variante de {@link #affectationGrasp(List, List, int, int, long, ChargeHoraire)} sans plafonds horaires.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param nbDemarrages le nombre de constructions
+     * @param nbThreads le nombre de threads (1 pour une exécution dans le thread appelant)
+     * @param graine la graine de la première construction
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGrasp(List<Secouriste> secouristes, List<DPS> dps,
+                                                       int nbDemarrages, int nbThreads, long graine) {
+        return affectationGrasp(secouristes, dps, nbDemarrages, nbThreads, graine, null);
+    }
+
+    /**
+     * Recherche GRASP : plusieurs constructions gloutonnes randomisées indépendantes, exécutées en parallèle,
+     * dont la meilleure est retenue. La construction numéro i utilise la graine {@code graine + i} et le
+     * départage à score égal se fait sur le plus petit numéro : le résultat ne dépend ni du nombre de threads
+     * ni de l'ordre d'achèvement. La solution du glouton déterministe est retenue si aucune construction ne la bat.
+     * @param secouristes la liste de tous les secouristes
+     * @param dps la liste des dispositifs
+     * @param nbDemarrages le nombre de constructions
+     * @param nbThreads le nombre de threads (1 pour une exécution dans le thread appelant)
+     * @param graine la graine de la première construction
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return une map DPS → Liste des secouristes affectés
+     */
+    public Map<DPS, List<Secouriste>> affectationGrasp(List<Secouriste> secouristes, List<DPS> dps,
+                                                       int nbDemarrages, int nbThreads, long graine, ChargeHoraire charge) {
+        Map<DPS, List<Secouriste>> meilleure = affectationGloutonne(secouristes, dps, charge);
+        int meilleurScore = evaluerAffectation(meilleure);
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dps);
+        GloutonAleatoire construction = new GloutonAleatoire(eligibilite, dps, budget(charge, eligibilite, dps), GRASP_ALPHA);
+        List<GloutonAleatoire.Solution> solutions = new ArrayList<>();
+        if (nbThreads <= 1) {
+            for (int i = 0; i < nbDemarrages; i++) solutions.add(construction.construire(graine + i));
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(nbThreads, Math.max(1, nbDemarrages)));
+            try {
+                List<Future<GloutonAleatoire.Solution>> taches = new ArrayList<>();
+                for (int i = 0; i < nbDemarrages; i++) {
+                    long g = graine + i;
+                    taches.add(pool.submit(() -> construction.construire(g)));
+                }
+                for (Future<GloutonAleatoire.Solution> tache : taches) solutions.add(DecompositionJournees.attendre(tache));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        for (GloutonAleatoire.Solution solution : solutions) {
+            if (solution.getScore() > meilleurScore) {
+                meilleurScore = solution.getScore();
+                meilleure = solution.getAffectation();
+            }
+        }
+        return meilleure;
+    }
+
     /**
      * Évalue la qualité d'une affectation en fonction du nombre de besoins satisfaits.
+     * Calcul de référence, qui reparcourt tous les DPS et secouristes : pour une affectation modifiée
+     * pas à pas, voir {@link #evaluateurIncremental}.
      * @param affectation la map DPS → Liste des secouristes affectés
      * @return un score global
      */
@@ -214,21 +1620,92 @@ public class Graphe {
         for (DPS dps : affectation.keySet()) {
             List<Secouriste> affectes = affectation.get(dps);
             if (affectes == null) affectes = new ArrayList<>();
+            score += evaluerDPS(dps, affectes);
+        }
 
-            for (Besoin besoin : dps.getBesoins()) {
-                String comp = besoin.getCompetence().getIntitule();
-                int requis = besoin.getNombre();
-                int couverts = 0;
+        return score;
+    }
 
-                for (Secouriste s : affectes) {
-                    if (dag.possederCompetence(s, comp)) {
-                        couverts++;
-                    }
+    /**
+     * Évalue une affectation produite par un algorithme quelconque : score et postes non pourvus de chaque DPS.
+     * @param affectation la map DPS → Liste des secouristes affectés
+     * @param dps les DPS à couvrir (un DPS absent de l'affectation est compté comme entièrement vacant)
+     * @return le résultat de l'affectation
+     */
+    public ResultatAffectation evaluerResultat(Map<DPS, List<Secouriste>> affectation, List<DPS> dps) {
+        Map<DPS, Integer> deficits = new HashMap<>();
+        for (DPS d : dps) {
+            deficits.put(d, postesNonPourvus(d, affectation.getOrDefault(d, List.of())));
+        }
+        return new ResultatAffectation(affectation, evaluerAffectation(affectation), deficits);
+    }
+
+    /**
+     * Crée un évaluateur incrémental initialisé avec une affectation : chaque affectation ou retrait
+     * ultérieur d'un secouriste met le score à jour sans réévaluer l'ensemble.
+     * @param secouristes les secouristes susceptibles d'être affectés
+     * @param dps les DPS à couvrir
+     * @param affectation l'affectation initiale (éventuellement vide)
+     * @return l'évaluateur, dont le score est celui de {@link #evaluerAffectation(Map)} sur l'affectation initiale
+     */
+    public EvaluateurIncremental evaluateurIncremental(List<Secouriste> secouristes, List<DPS> dps,
+                                                       Map<DPS, List<Secouriste>> affectation) {
+        EvaluateurIncremental evaluateur = new EvaluateurIncremental(dag, secouristes, dps);
+        evaluateur.charger(affectation);
+        return evaluateur;
+    }
+
+    /**
+     * Évalue la contribution d'un seul DPS au score global.
+     * @param dps le DPS concerné
+     * @param affectes les secouristes affectés à ce DPS
+     * @return le score du DPS
+     */
+    int evaluerDPS(DPS dps, List<Secouriste> affectes) {
+        int score = 0;
+
+        for (Besoin besoin : dps.getBesoins()) {
+            String comp = besoin.getCompetence().getIntitule();
+            int requis = besoin.getNombre();
+            int couverts = 0;
+
+            for (Secouriste s : affectes) {
+                if (dag.possederCompetence(s, comp)) {
+                    couverts++;
                 }
+            }
 
-                score += Math.min(couverts, requis) * 10;
-                if (couverts >= requis) score += 5;
+            score += Math.min(couverts, requis) * 10;
+            if (couverts >= requis) score += 5;
+        }
+
+        return score;
+    }
+
+    /**
+     * Évalue la contribution d'un DPS à partir d'une équipe exprimée en nombre de secouristes par classe ;
+     * le résultat est celui de {@link #evaluerDPS} sur les secouristes matérialisés.
+     * @param besoins les besoins internés des DPS
+     * @param d l'indice du DPS concerné
+     * @param equipe le nombre de secouristes de chaque classe affectés à ce DPS
+     * @param classes les classes d'équivalence des secouristes
+     * @return le score du DPS
+     */
+    int evaluerEquipe(BesoinsInternes besoins, int d, int[] equipe, ClassesEquivalence classes) {
+        int score = 0;
+        int[] competences = besoins.getCompetences(d);
+
+        for (int b = 0; b < competences.length; b++) {
+            int comp = competences[b];
+            int requis = besoins.getRequis(d)[b];
+            int couverts = 0;
+
+            for (int k : classes.getClassesEligibles(comp)) {
+                couverts += equipe[k];
             }
+
+            score += Math.min(couverts, requis) * 10;
+            if (couverts >= requis) score += 5;
         }
 
         return score;
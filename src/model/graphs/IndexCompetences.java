@@ -0,0 +1,140 @@
+package model.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Index inversé compétence → secouristes encore disponibles, construit une fois par résolution
+ * à partir d'une {@link MatriceEligibilite} (les compétences impliquées par le DAG y sont donc incluses).
+ * Chaque liste est une liste doublement chaînée stockée dans des tableaux d'entiers : elle conserve
+ * l'ordre des indices de secouristes et permet de retirer un secouriste affecté en temps constant
+ * par compétence qu'il possède.
+ */
+public class IndexCompetences {
+
+    /** Matrice d'origine (indices des secouristes et des compétences) */
+    private final MatriceEligibilite eligibilite;
+
+    /** Sentinelle de chaque liste (tête et queue) : indice n */
+    private final int sentinelle;
+
+    /** suivant[c][s] : secouriste suivant s dans la liste de la compétence c */
+    private final int[][] suivant;
+
+    /** precedent[c][s] : secouriste précédant s dans la liste de la compétence c */
+    private final int[][] precedent;
+
+    /** Nombre de secouristes présents dans chaque liste */
+    private final int[] tailles;
+
+    /** Indique si chaque secouriste est encore présent dans l'index */
+    private final boolean[] present;
+
+    /**
+     * Construit l'index à partir d'une matrice d'éligibilité.
+     * @param eligibilite la matrice des secouristes et de leurs compétences effectives
+     */
+    public IndexCompetences(MatriceEligibilite eligibilite) {
+        this.eligibilite = eligibilite;
+        int n = eligibilite.getNbSecouristes();
+        int m = eligibilite.getNbCompetences();
+        this.sentinelle = n;
+        this.suivant = new int[m][n + 1];
+        this.precedent = new int[m][n + 1];
+        this.tailles = new int[m];
+        this.present = new boolean[n];
+        Arrays.fill(present, true);
+
+        long[] aucun = eligibilite.nouvelEnsemble();
+        for (int c = 0; c < m; c++) {
+            int dernier = sentinelle;
+            for (int s = eligibilite.prochainEligible(c, aucun, 0); s >= 0; s = eligibilite.prochainEligible(c, aucun, s + 1)) {
+                suivant[c][dernier] = s;
+                precedent[c][s] = dernier;
+                dernier = s;
+                tailles[c]++;
+            }
+            suivant[c][dernier] = sentinelle;
+            precedent[c][sentinelle] = dernier;
+        }
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @return le premier secouriste disponible ayant la compétence, ou -1 si la liste est vide
+     */
+    public int premier(int competence) {
+        if (competence < 0) return -1;
+        int s = suivant[competence][sentinelle];
+        return s == sentinelle ? -1 : s;
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @param secouriste un secouriste présent dans la liste de cette compétence
+     * @return le secouriste suivant dans la liste, ou -1 en fin de liste
+     */
+    public int suivant(int competence, int secouriste) {
+        int s = suivant[competence][secouriste];
+        return s == sentinelle ? -1 : s;
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @return le nombre de secouristes encore disponibles pour cette compétence
+     */
+    public int taille(int competence) {
+        return competence < 0 ? 0 : tailles[competence];
+    }
+
+    /**
+     * @param secouriste indice du secouriste
+     * @return true s'il n'a pas encore été retiré de l'index
+     */
+    public boolean estPresent(int secouriste) {
+        return present[secouriste];
+    }
+
+    /**
+     * Déplace un secouriste présent en fin de toutes les listes où il figure : les secouristes placés
+     * avant lui sont désormais proposés en premier.
+     * @param secouriste indice du secouriste à déplacer
+     */
+    public void deplacerEnFin(int secouriste) {
+        if (!present[secouriste]) return;
+        long[] masque = eligibilite.getMasque(secouriste);
+        for (int w = 0; w < masque.length; w++) {
+            for (long mot = masque[w]; mot != 0; mot &= mot - 1) {
+                int c = (w << 6) + Long.numberOfTrailingZeros(mot);
+                int avant = precedent[c][secouriste];
+                int apres = suivant[c][secouriste];
+                suivant[c][avant] = apres;
+                precedent[c][apres] = avant;
+                int dernier = precedent[c][sentinelle];
+                suivant[c][dernier] = secouriste;
+                precedent[c][secouriste] = dernier;
+                suivant[c][secouriste] = sentinelle;
+                precedent[c][sentinelle] = secouriste;
+            }
+        }
+    }
+
+    /**
+     * Retire un secouriste de toutes les listes où il figure.
+     * @param secouriste indice du secouriste à retirer
+     */
+    public void retirer(int secouriste) {
+        if (!present[secouriste]) return;
+        present[secouriste] = false;
+        long[] masque = eligibilite.getMasque(secouriste);
+        for (int w = 0; w < masque.length; w++) {
+            for (long mot = masque[w]; mot != 0; mot &= mot - 1) {
+                int c = (w << 6) + Long.numberOfTrailingZeros(mot);
+                int avant = precedent[c][secouriste];
+                int apres = suivant[c][secouriste];
+                suivant[c][avant] = apres;
+                precedent[c][apres] = avant;
+                tailles[c]--;
+            }
+        }
+    }
+}
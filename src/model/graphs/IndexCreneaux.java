@@ -0,0 +1,148 @@
+package model.graphs;
+
+import model.data.DPS;
+
+import java.sql.Time;
+import java.util.Arrays;
+
+/**
+ * Index des créneaux occupés par chaque secouriste au cours d'une journée, en minutes depuis minuit.
+ * Les créneaux d'un secouriste sont des intervalles semi-ouverts [début, fin) disjoints, rangés par début
+ * croissant dans deux tableaux d'entiers : leurs fins sont donc croissantes elles aussi, et le test de
+ * chevauchement d'un nouveau créneau se fait par recherche dichotomique plutôt que par comparaison
+ * avec chaque DPS déjà affecté. Deux créneaux qui se touchent (fin de l'un = début de l'autre) ne se
+ * chevauchent pas.
+ */
+public class IndexCreneaux {
+
+    /** Débuts et fins des créneaux de chaque secouriste (alloués à la première réservation) */
+    private final int[][] debuts;
+    private final int[][] fins;
+
+    /** Nombre de créneaux de chaque secouriste */
+    private final int[] nbCreneaux;
+
+    /**
+     * @param nbSecouristes le nombre de secouristes (indices de 0 à nbSecouristes - 1)
+     */
+    public IndexCreneaux(int nbSecouristes) {
+        this.debuts = new int[nbSecouristes][];
+        this.fins = new int[nbSecouristes][];
+        this.nbCreneaux = new int[nbSecouristes];
+    }
+
+    /**
+     * @param dps un DPS
+     * @return l'heure de début du DPS, en minutes depuis minuit
+     */
+    public static int minuteDebut(DPS dps) {
+        return minutes(dps.getHoraireDep());
+    }
+
+    /**
+     * @param dps un DPS
+     * @return l'heure de fin du DPS, en minutes depuis minuit
+     */
+    public static int minuteFin(DPS dps) {
+        return minutes(dps.getHoraireFin());
+    }
+
+    private static int minutes(Time heure) {
+        return heure.toLocalTime().toSecondOfDay() / 60;
+    }
+
+    /**
+     * @param secouriste indice du secouriste
+     * @param debut début du créneau, en minutes
+     * @param fin fin du créneau, en minutes
+     * @return true si le secouriste n'a aucun créneau chevauchant [debut, fin)
+     */
+    public boolean estLibre(int secouriste, int debut, int fin) {
+        int position = position(secouriste, fin);
+        return position == 0 || fins[secouriste][position - 1] <= debut;
+    }
+
+    /**
+     * Réserve un créneau pour le secouriste.
+     * @param secouriste indice du secouriste
+     * @param debut début du créneau, en minutes
+     * @param fin fin du créneau, en minutes
+     * @throws IllegalStateException si le créneau chevauche un créneau déjà réservé
+     */
+    public void reserver(int secouriste, int debut, int fin) {
+        if (!estLibre(secouriste, debut, fin)) {
+            throw new IllegalStateException("Créneau déjà occupé pour le secouriste d'indice " + secouriste);
+        }
+        int n = nbCreneaux[secouriste];
+        if (debuts[secouriste] == null) {
+            debuts[secouriste] = new int[4];
+            fins[secouriste] = new int[4];
+        } else if (n == debuts[secouriste].length) {
+            debuts[secouriste] = Arrays.copyOf(debuts[secouriste], 2 * n);
+            fins[secouriste] = Arrays.copyOf(fins[secouriste], 2 * n);
+        }
+        int position = position(secouriste, fin);
+        System.arraycopy(debuts[secouriste], position, debuts[secouriste], position + 1, n - position);
+        System.arraycopy(fins[secouriste], position, fins[secouriste], position + 1, n - position);
+        debuts[secouriste][position] = debut;
+        fins[secouriste][position] = fin;
+        nbCreneaux[secouriste] = n + 1;
+    }
+
+    /**
+     * Libère un créneau réservé par le secouriste.
+     * @param secouriste indice du secouriste
+     * @param debut début du créneau, en minutes
+     * @param fin fin du créneau, en minutes
+     * @throws IllegalStateException si le secouriste n'a pas réservé exactement ce créneau
+     */
+    public void liberer(int secouriste, int debut, int fin) {
+        int n = nbCreneaux[secouriste];
+        int position = 0;
+        while (position < n && (debuts[secouriste][position] != debut || fins[secouriste][position] != fin)) {
+            position++;
+        }
+        if (position == n) {
+            throw new IllegalStateException("Créneau non réservé pour le secouriste d'indice " + secouriste);
+        }
+        System.arraycopy(debuts[secouriste], position + 1, debuts[secouriste], position, n - position - 1);
+        System.arraycopy(fins[secouriste], position + 1, fins[secouriste], position, n - position - 1);
+        nbCreneaux[secouriste] = n - 1;
+    }
+
+    /**
+     * @param secouriste indice du secouriste
+     * @param debut début de la plage considérée, en minutes
+     * @param fin fin de la plage considérée, en minutes
+     * @return la durée, en minutes, du plus long intervalle libre du secouriste dans la plage
+     */
+    public int plusLongueDisponibilite(int secouriste, int debut, int fin) {
+        int plusLongue = 0;
+        int libreDepuis = debut;
+        for (int i = 0; i < nbCreneaux[secouriste] && libreDepuis < fin; i++) {
+            plusLongue = Math.max(plusLongue, Math.min(debuts[secouriste][i], fin) - libreDepuis);
+            libreDepuis = Math.max(libreDepuis, fins[secouriste][i]);
+        }
+        return Math.max(plusLongue, fin - libreDepuis);
+    }
+
+    /**
+     * @param secouriste indice du secouriste
+     * @return le nombre de créneaux réservés par le secouriste
+     */
+    public int getNbCreneaux(int secouriste) {
+        return nbCreneaux[secouriste];
+    }
+
+    /** @return le nombre de créneaux du secouriste commençant avant {@code fin} (recherche dichotomique) */
+    private int position(int secouriste, int fin) {
+        int bas = 0;
+        int haut = nbCreneaux[secouriste];
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (debuts[secouriste][milieu] < fin) bas = milieu + 1;
+            else haut = milieu;
+        }
+        return bas;
+    }
+}
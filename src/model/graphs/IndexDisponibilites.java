@@ -0,0 +1,82 @@
+package model.graphs;
+
+import model.data.Secouriste;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Index des disponibilités secouristes × journées, chargé une fois pour tout l'horizon de planification.
+ * Chaque journée dispose d'un ensemble de bits sur les secouristes indexés : le vivier d'une journée
+ * et le test de disponibilité d'un secouriste se font sans accès à la base.
+ */
+public class IndexDisponibilites {
+
+    /** Secouristes indexés, dans l'ordre de la liste fournie */
+    private final List<Secouriste> secouristes;
+
+    /** Position de chaque secouriste, par identifiant */
+    private final Map<Long, Integer> positions;
+
+    /** Secouristes disponibles pour chaque journée */
+    private final Map<LocalDate, BitSet> disponibles;
+
+    /**
+     * Construit l'index.
+     * @param secouristes les secouristes à indexer
+     * @param disponibilites pour chaque journée, les identifiants des secouristes disponibles
+     *                       (les identifiants inconnus sont ignorés)
+     */
+    public IndexDisponibilites(List<Secouriste> secouristes, Map<LocalDate, ? extends Collection<Long>> disponibilites) {
+        this.secouristes = new ArrayList<>(secouristes);
+        this.positions = new HashMap<>();
+        for (int i = 0; i < this.secouristes.size(); i++) {
+            positions.putIfAbsent(this.secouristes.get(i).getId(), i);
+        }
+        this.disponibles = new HashMap<>();
+        for (Map.Entry<LocalDate, ? extends Collection<Long>> entry : disponibilites.entrySet()) {
+            BitSet ensemble = new BitSet(this.secouristes.size());
+            for (long id : entry.getValue()) {
+                Integer position = positions.get(id);
+                if (position != null) ensemble.set(position);
+            }
+            disponibles.put(entry.getKey(), ensemble);
+        }
+    }
+
+    /**
+     * Indique si un secouriste est disponible à une date.
+     * @param secouriste le secouriste
+     * @param date la date
+     * @return true s'il a déclaré une disponibilité ce jour-là
+     */
+    public boolean estDisponible(Secouriste secouriste, LocalDate date) {
+        Integer position = positions.get(secouriste.getId());
+        BitSet ensemble = disponibles.get(date);
+        return position != null && ensemble != null && ensemble.get(position);
+    }
+
+    /**
+     * Retourne le vivier d'une journée.
+     * @param date la date
+     * @return les secouristes disponibles ce jour-là, dans l'ordre de la liste d'origine
+     */
+    public List<Secouriste> getDisponibles(LocalDate date) {
+        BitSet ensemble = disponibles.get(date);
+        if (ensemble == null) return new ArrayList<>();
+        List<Secouriste> vivier = new ArrayList<>(ensemble.cardinality());
+        for (int i = ensemble.nextSetBit(0); i >= 0; i = ensemble.nextSetBit(i + 1)) {
+            vivier.add(secouristes.get(i));
+        }
+        return vivier;
+    }
+
+    /**
+     * @param date la date
+     * @return le nombre de secouristes disponibles ce jour-là
+     */
+    public int getNbDisponibles(LocalDate date) {
+        BitSet ensemble = disponibles.get(date);
+        return ensemble == null ? 0 : ensemble.cardinality();
+    }
+}
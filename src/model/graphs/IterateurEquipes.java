@@ -0,0 +1,268 @@
+package model.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Énumération paresseuse des équipes possibles pour un DPS, exprimées en nombre de secouristes
+ * par classe d'équivalence. Pour chaque besoin, l'équipe prend exactement le nombre requis de
+ * secouristes éligibles ou ne couvre pas le besoin ; l'équipe vide est toujours énumérée en dernier.
+ * L'état est un compteur à plusieurs positions (une répartition par besoin) et l'équipe courante
+ * est écrite dans un tampon unique réutilisé d'une équipe à l'autre.
+ * <p>
+ * Un même secouriste pouvant couvrir plusieurs besoins, des répartitions différentes (rôles permutés,
+ * besoin couvert ou laissé de côté) aboutissent parfois à la même équipe. Chaque équipe n'est produite
+ * qu'une fois : sa clé canonique, le nombre de secouristes pris dans chaque classe concernée par le DPS,
+ * est mémorisée et les répartitions suivantes qui y aboutissent sont comptées comme doublons. Les clés sont
+ * rangées à la suite dans un tableau d'entiers, indexé par une table de hachage à adressage ouvert :
+ * énumérer une équipe n'alloue aucun objet.
+ */
+class IterateurEquipes {
+
+    /** Classes éligibles pour chaque besoin */
+    private final int[][] eligibles;
+
+    /** Nombre requis pour chaque besoin */
+    private final int[] requis;
+
+    /** Répartition courante de chaque besoin entre ses classes éligibles */
+    private final int[][] pris;
+
+    /** Secouristes disponibles de chaque classe éligible au moment de traiter chaque besoin */
+    private final int[][] capacites;
+
+    /** Indique si le besoin est actuellement laissé sans affectation */
+    private final boolean[] saute;
+
+    /** Secouristes encore libres par classe, déduction faite de l'équipe courante */
+    private final int[] disponibles;
+
+    /** Tampon de l'équipe courante */
+    private final int[] equipe;
+
+    /** Classes éligibles pour au moins un besoin (positions de la clé canonique) */
+    private final int[] positionsCle;
+
+    /** Clés canoniques des équipes déjà produites, à la suite ({@code positionsCle.length} entiers par clé) */
+    private int[] cles;
+    private int nbCles;
+
+    /** Table à adressage ouvert : rang de chaque clé plus un, 0 pour une case vide (taille puissance de 2) */
+    private int[] table = new int[16];
+
+    /** Nombre de répartitions écartées car aboutissant à une équipe déjà produite */
+    private long nbDoublons;
+
+    private boolean demarre;
+
+    /**
+     * @param competences l'indice de la compétence de chaque besoin du DPS dont on énumère les équipes
+     * @param requis le nombre requis de chaque besoin (non modifié)
+     * @param niveau le niveau de budget horaire du DPS (0 sans plafonds) : seules les classes de niveau
+     *               suffisant sont employées
+     * @param classes les classes d'équivalence des secouristes
+     * @param restants secouristes encore libres par classe (non modifié)
+     */
+    IterateurEquipes(int[] competences, int[] requis, int niveau, ClassesEquivalence classes, int[] restants) {
+        int b = competences.length;
+        this.eligibles = new int[b][];
+        this.requis = requis;
+        this.pris = new int[b][];
+        this.capacites = new int[b][];
+        this.saute = new boolean[b];
+        boolean[] concernee = new boolean[classes.getNbClasses()];
+        int nbConcernees = 0;
+        for (int i = 0; i < b; i++) {
+            eligibles[i] = classes.getClassesEligibles(competences[i], niveau);
+            pris[i] = new int[eligibles[i].length];
+            capacites[i] = new int[eligibles[i].length];
+            for (int k : eligibles[i]) {
+                if (!concernee[k]) {
+                    concernee[k] = true;
+                    nbConcernees++;
+                }
+            }
+        }
+        this.disponibles = restants.clone();
+        this.equipe = new int[classes.getNbClasses()];
+
+        this.positionsCle = new int[nbConcernees];
+        for (int k = 0, j = 0; k < concernee.length; k++) {
+            if (concernee[k]) positionsCle[j++] = k;
+        }
+        this.cles = new int[Math.max(1, 8 * positionsCle.length)];
+    }
+
+    /**
+     * Passe à l'équipe suivante.
+     * @return false lorsque toutes les équipes ont été énumérées
+     */
+    boolean suivante() {
+        while (avancerRepartition()) {
+            if (ajouterCle()) return true;
+            nbDoublons++;
+        }
+        return false;
+    }
+
+    /** @return le nombre de répartitions écartées jusqu'ici car elles reproduisaient une équipe déjà énumérée */
+    long getNbDoublons() {
+        return nbDoublons;
+    }
+
+    /** @return l'équipe courante : nombre de secouristes de chaque classe (tampon réutilisé, à copier pour le conserver) */
+    int[] courante() {
+        return equipe;
+    }
+
+    /** @return les secouristes encore libres par classe une fois l'équipe courante affectée (tampon réutilisé) */
+    int[] restantsApres() {
+        return disponibles;
+    }
+
+    /**
+     * Passe à la répartition suivante des besoins, doublons compris.
+     * @return false lorsque toutes les répartitions ont été énumérées
+     */
+    private boolean avancerRepartition() {
+        if (!demarre) {
+            demarre = true;
+            initialiserDepuis(0);
+            return true;
+        }
+        for (int i = requis.length - 1; i >= 0; i--) {
+            if (avancer(i)) {
+                initialiserDepuis(i + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mémorise la clé de l'équipe courante : ses effectifs dans les classes concernées, dans l'ordre des classes.
+     * @return false si la clé avait déjà été mémorisée
+     */
+    private boolean ajouterCle() {
+        int longueur = positionsCle.length;
+        int masque = table.length - 1;
+        for (int h = hacher() & masque; ; h = (h + 1) & masque) {
+            int rang = table[h] - 1;
+            if (rang < 0) break;
+            if (egaleCle(rang)) return false;
+        }
+
+        if (cles.length < (nbCles + 1) * longueur) cles = Arrays.copyOf(cles, 2 * cles.length);
+        for (int j = 0; j < longueur; j++) {
+            cles[nbCles * longueur + j] = equipe[positionsCle[j]];
+        }
+        nbCles++;
+        if (2 * nbCles > table.length) {
+            redimensionner();
+        } else {
+            inserer(nbCles - 1);
+        }
+        return true;
+    }
+
+    /** @return l'empreinte de la clé de l'équipe courante */
+    private int hacher() {
+        int h = 1;
+        for (int k : positionsCle) h = 31 * h + equipe[k];
+        return h ^ (h >>> 16);
+    }
+
+    /** @return l'empreinte de la clé mémorisée de rang {@code rang} (même valeur que {@link #hacher()}) */
+    private int hacher(int rang) {
+        int h = 1;
+        for (int j = 0; j < positionsCle.length; j++) h = 31 * h + cles[rang * positionsCle.length + j];
+        return h ^ (h >>> 16);
+    }
+
+    /** @return true si la clé de rang {@code rang} est celle de l'équipe courante */
+    private boolean egaleCle(int rang) {
+        int debut = rang * positionsCle.length;
+        for (int j = 0; j < positionsCle.length; j++) {
+            if (cles[debut + j] != equipe[positionsCle[j]]) return false;
+        }
+        return true;
+    }
+
+    /** Place la clé de rang {@code rang} dans la première case libre de sa séquence de sondage. */
+    private void inserer(int rang) {
+        int masque = table.length - 1;
+        int h = hacher(rang) & masque;
+        while (table[h] != 0) h = (h + 1) & masque;
+        table[h] = rang + 1;
+    }
+
+    /** Double la taille de la table et y replace toutes les clés mémorisées. */
+    private void redimensionner() {
+        table = new int[2 * table.length];
+        for (int rang = 0; rang < nbCles; rang++) inserer(rang);
+    }
+
+    /** Place chaque besoin à partir de {@code debut} sur sa première option. */
+    private void initialiserDepuis(int debut) {
+        for (int i = debut; i < requis.length; i++) {
+            int[] cap = capacites[i];
+            for (int j = 0; j < cap.length; j++) {
+                cap[j] = disponibles[eligibles[i][j]];
+            }
+            saute[i] = !(requis[i] > 0 && remplir(i, 0, requis[i]));
+            if (!saute[i]) appliquer(i, 1);
+        }
+    }
+
+    /**
+     * Fait passer le besoin {@code i} à l'option suivante : répartition suivante, puis absence d'affectation.
+     * @return false si le besoin était déjà sur sa dernière option
+     */
+    private boolean avancer(int i) {
+        if (saute[i]) return false;
+        appliquer(i, -1);
+
+        // Répartition suivante dans l'ordre lexicographique décroissant : on retire un secouriste
+        // à la position la plus à droite dont le suffixe peut absorber le surplus
+        int[] x = pris[i];
+        int[] cap = capacites[i];
+        int suffixe = 0;
+        int capaciteSuffixe = 0;
+        for (int j = x.length - 1; j >= 0; j--) {
+            if (x[j] > 0 && capaciteSuffixe >= suffixe + 1) {
+                x[j]--;
+                remplir(i, j + 1, suffixe + 1);
+                appliquer(i, 1);
+                return true;
+            }
+            suffixe += x[j];
+            capaciteSuffixe += cap[j];
+        }
+
+        saute[i] = true;
+        return true;
+    }
+
+    /**
+     * Répartit {@code reste} secouristes sur les positions à partir de {@code debut}, au plus tôt possible.
+     * @return false si les capacités ne suffisent pas
+     */
+    private boolean remplir(int i, int debut, int reste) {
+        int[] x = pris[i];
+        int[] cap = capacites[i];
+        for (int j = debut; j < x.length; j++) {
+            x[j] = Math.min(reste, cap[j]);
+            reste -= x[j];
+        }
+        return reste == 0;
+    }
+
+    /** Ajoute (signe 1) ou retire (signe -1) la répartition du besoin {@code i} de l'équipe courante. */
+    private void appliquer(int i, int signe) {
+        int[] x = pris[i];
+        for (int j = 0; j < x.length; j++) {
+            int k = eligibles[i][j];
+            equipe[k] += signe * x[j];
+            disponibles[k] -= signe * x[j];
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package model.graphs;
+
+import model.data.Besoin;
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.*;
+
+/**
+ * Matrice d'éligibilité secouristes × compétences construite une fois par résolution.
+ * Chaque secouriste reçoit un indice dense et un masque de ses compétences effectives
+ * (possédées ou impliquées par le DAG) ; chaque compétence dispose de la colonne transposée,
+ * un ensemble de bits sur les secouristes. La question « qui peut couvrir la compétence C
+ * parmi les secouristes encore libres » se résout alors par un parcours de mots de 64 bits.
+ */
+public class MatriceEligibilite {
+
+    /** Secouristes indexés de 0 à n-1 */
+    private final List<Secouriste> secouristes;
+
+    /** Indice de chaque secouriste (par identité, Secouriste ne redéfinissant pas equals) */
+    private final Map<Secouriste, Integer> indexSecouristes;
+
+    /** Intitulés des compétences indexées de 0 à m-1 */
+    private final List<String> competences;
+
+    /** Indice de chaque compétence */
+    private final Map<String, Integer> indexCompetences;
+
+    /** Masque des compétences effectives de chaque secouriste */
+    private final long[][] masques;
+
+    /** Pour chaque compétence, ensemble des secouristes éligibles */
+    private final long[][] colonnes;
+
+    /** Nombre de mots de 64 bits d'un ensemble de secouristes */
+    private final int nbMots;
+
+    /**
+     * Construit la matrice pour les compétences données.
+     * @param dag le DAG des compétences (pour les implications)
+     * @param secouristes les secouristes à indexer, dans l'ordre de la liste
+     * @param competences les intitulés des compétences à indexer
+     */
+    public MatriceEligibilite(DAG dag, List<Secouriste> secouristes, Collection<String> competences) {
+        this.secouristes = new ArrayList<>(secouristes);
+        this.indexSecouristes = new IdentityHashMap<>();
+        for (int i = 0; i < this.secouristes.size(); i++) {
+            indexSecouristes.putIfAbsent(this.secouristes.get(i), i);
+        }
+        this.competences = new ArrayList<>();
+        this.indexCompetences = new HashMap<>();
+        for (String c : competences) {
+            if (indexCompetences.putIfAbsent(c, this.competences.size()) == null) {
+                this.competences.add(c);
+            }
+        }
+
+        int n = this.secouristes.size();
+        int m = this.competences.size();
+        this.nbMots = (n + 63) >>> 6;
+        this.masques = new long[n][(m + 63) >>> 6];
+        this.colonnes = new long[m][nbMots];
+        for (int i = 0; i < n; i++) {
+            Secouriste s = this.secouristes.get(i);
+            for (int c = 0; c < m; c++) {
+                if (dag.possederCompetence(s, this.competences.get(c))) {
+                    masques[i][c >>> 6] |= 1L << c;
+                    colonnes[c][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Construit la matrice pour toutes les compétences demandées par une liste de DPS.
+     * @param dag le DAG des compétences
+     * @param secouristes les secouristes à indexer
+     * @param dps les DPS dont les besoins déterminent les compétences
+     * @return la matrice d'éligibilité
+     */
+    public static MatriceEligibilite pour(DAG dag, List<Secouriste> secouristes, List<DPS> dps) {
+        Set<String> competences = new LinkedHashSet<>();
+        for (DPS d : dps) {
+            for (Besoin besoin : d.getBesoins()) {
+                competences.add(besoin.getCompetence().getIntitule());
+            }
+        }
+        return new MatriceEligibilite(dag, secouristes, competences);
+    }
+
+    /** @return le nombre de secouristes indexés */
+    public int getNbSecouristes() {
+        return secouristes.size();
+    }
+
+    /** @return le nombre de compétences indexées */
+    public int getNbCompetences() {
+        return competences.size();
+    }
+
+    /**
+     * @param index indice d'un secouriste
+     * @return le secouriste correspondant
+     */
+    public Secouriste getSecouriste(int index) {
+        return secouristes.get(index);
+    }
+
+    /** @return les secouristes indexés, dans l'ordre de leurs indices */
+    public List<Secouriste> getSecouristes() {
+        return Collections.unmodifiableList(secouristes);
+    }
+
+    /**
+     * @param secouriste un secouriste
+     * @return son indice, ou -1 s'il n'est pas indexé
+     */
+    public int indexDe(Secouriste secouriste) {
+        Integer index = indexSecouristes.get(secouriste);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param competence l'intitulé d'une compétence
+     * @return son indice, ou -1 si elle n'est pas indexée
+     */
+    public int indexCompetence(String competence) {
+        Integer index = indexCompetences.get(competence);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index indice d'une compétence
+     * @return son intitulé
+     */
+    public String getCompetence(int index) {
+        return competences.get(index);
+    }
+
+    /**
+     * Indique si un secouriste possède (directement ou par implication) une compétence.
+     * @param secouriste indice du secouriste
+     * @param competence indice de la compétence
+     * @return true si le secouriste est éligible
+     */
+    public boolean estEligible(int secouriste, int competence) {
+        return competence >= 0 && (masques[secouriste][competence >>> 6] & (1L << competence)) != 0;
+    }
+
+    /**
+     * @param secouriste indice du secouriste
+     * @return le masque de ses compétences effectives (à ne pas modifier)
+     */
+    long[] getMasque(int secouriste) {
+        return masques[secouriste];
+    }
+
+    /**
+     * @param competence indice de la compétence
+     * @return l'ensemble des secouristes éligibles (à ne pas modifier)
+     */
+    long[] getColonne(int competence) {
+        return colonnes[competence];
+    }
+
+    /** @return un nouvel ensemble de secouristes, vide */
+    public long[] nouvelEnsemble() {
+        return new long[nbMots];
+    }
+
+    /**
+     * Construit l'ensemble de bits correspondant à une collection de secouristes.
+     * @param contenu les secouristes à inclure (ceux qui ne sont pas indexés sont ignorés)
+     * @return l'ensemble correspondant
+     */
+    public long[] ensembleDe(Collection<Secouriste> contenu) {
+        long[] ensemble = nouvelEnsemble();
+        for (Secouriste s : contenu) {
+            int i = indexDe(s);
+            if (i >= 0) ajouter(ensemble, i);
+        }
+        return ensemble;
+    }
+
+    /**
+     * Compte les secouristes éligibles pour une compétence et absents d'un ensemble d'exclusion.
+     * @param competence indice de la compétence
+     * @param exclus ensemble des secouristes à ignorer
+     * @return le nombre de candidats
+     */
+    public int compterEligibles(int competence, long[] exclus) {
+        if (competence < 0) return 0;
+        long[] colonne = colonnes[competence];
+        int total = 0;
+        for (int w = 0; w < nbMots; w++) {
+            total += Long.bitCount(colonne[w] & ~exclus[w]);
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le premier secouriste éligible pour une compétence, absent de l'ensemble d'exclusion,
+     * d'indice supérieur ou égal à {@code depuis}.
+     * @param competence indice de la compétence
+     * @param exclus ensemble des secouristes à ignorer
+     * @param depuis indice de départ de la recherche
+     * @return l'indice du secouriste trouvé, ou -1 s'il n'y en a pas
+     */
+    public int prochainEligible(int competence, long[] exclus, int depuis) {
+        if (competence < 0 || depuis >= secouristes.size()) return -1;
+        long[] colonne = colonnes[competence];
+        int w = depuis >>> 6;
+        long mot = colonne[w] & ~exclus[w] & (-1L << depuis);
+        while (true) {
+            if (mot != 0) return (w << 6) + Long.numberOfTrailingZeros(mot);
+            if (++w >= nbMots) return -1;
+            mot = colonne[w] & ~exclus[w];
+        }
+    }
+
+    /**
+     * Ajoute un secouriste à un ensemble.
+     * @param ensemble l'ensemble à modifier
+     * @param index indice du secouriste
+     */
+    public static void ajouter(long[] ensemble, int index) {
+        ensemble[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Retire un secouriste d'un ensemble.
+     * @param ensemble l'ensemble à modifier
+     * @param index indice du secouriste
+     */
+    public static void retirer(long[] ensemble, int index) {
+        ensemble[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Teste l'appartenance d'un secouriste à un ensemble.
+     * @param ensemble l'ensemble
+     * @param index indice du secouriste
+     * @return true si le secouriste appartient à l'ensemble
+     */
+    public static boolean contient(long[] ensemble, int index) {
+        return (ensemble[index >>> 6] & (1L << index)) != 0;
+    }
+}
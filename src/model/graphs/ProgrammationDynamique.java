@@ -0,0 +1,208 @@
+package model.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Recherche exhaustive par programmation dynamique, pour les petites journées. Le meilleur score des DPS
+ * d'indices {@code d} et suivants ne dépend que de {@code d} et des secouristes encore libres : chaque état
+ * (DPS, secouristes libres) n'est donc résolu qu'une fois, quel que soit le chemin qui y mène, alors que
+ * {@link Graphe#backtrack} le réexplore à chaque chemin. Les secouristes libres sont représentés par leur
+ * nombre dans chaque classe d'équivalence, codé en base mixte dans un {@code long} (l'ensemble des secouristes
+ * utilisés au renommage près des secouristes interchangeables). Les classes qui ne sont éligibles à aucune
+ * compétence demandée ne comptent pas dans le code.
+ * <p>
+ * Les scores des états résolus sont mémorisés dans une table de hachage à adressage ouvert sur des clés
+ * {@code long} : la résolution n'alloue aucun objet par état. Le nombre d'états étant borné par le produit
+ * des effectifs plus un, le mode ne convient qu'aux journées comptant peu de candidats.
+ */
+class ProgrammationDynamique {
+
+    /** Nombre maximal de secouristes candidats (éligibles à au moins un besoin) d'une instance */
+    static final int MAX_CANDIDATS = 24;
+
+    /** Nombre maximal d'états de secouristes libres d'une instance */
+    static final long MAX_ETATS = 1L << 16;
+
+    private static final long VIDE = -1;
+
+    private final Graphe graphe;
+    private final BesoinsInternes besoins;
+    private final ClassesEquivalence classes;
+
+    /** Poids de chaque classe dans le code des secouristes libres (0 pour une classe non candidate) */
+    private final long[] poids;
+
+    /**
+     * Pour chaque indice de DPS et chaque classe, le nombre maximal de membres de la classe que ce DPS
+     * et les suivants peuvent encore employer (somme des nombres requis des besoins auxquels elle est éligible)
+     */
+    private final int[][] plafonds;
+
+    /** Clés des états mémorisés (code des secouristes libres × nombre de DPS + indice du DPS), VIDE si la case est libre */
+    private long[] cles = new long[1 << 10];
+
+    /** Meilleur score des DPS restants pour chaque état mémorisé */
+    private int[] valeurs = new int[1 << 10];
+
+    private int nbEtats;
+
+    /** Meilleur score de l'instance, une fois résolue */
+    private int score;
+
+    /**
+     * @param graphe le graphe fournissant l'évaluation des équipes et le décompte des nœuds
+     * @param besoins les besoins internés des DPS, traités dans l'ordre de leurs indices
+     * @param classes les classes d'équivalence des secouristes
+     */
+    ProgrammationDynamique(Graphe graphe, BesoinsInternes besoins, ClassesEquivalence classes) {
+        this.graphe = graphe;
+        this.besoins = besoins;
+        this.classes = classes;
+        this.poids = new long[classes.getNbClasses()];
+        // Au-delà de ce que les DPS restants peuvent employer, les secouristes libres d'une classe n'influent pas
+        // sur la suite : le code les plafonne, ce qui confond les états qui ne diffèrent que par ce surplus
+        this.plafonds = plafonds(besoins, classes);
+        long produit = 1;
+        for (int k = 0; k < poids.length; k++) {
+            int plafond = Math.min(classes.getTaille(k), plafonds[0][k]);
+            if (plafond == 0) continue;
+            poids[k] = produit;
+            produit *= plafond + 1;
+        }
+        Arrays.fill(cles, VIDE);
+    }
+
+    /**
+     * Indique si une instance relève de la programmation dynamique : au plus {@link #MAX_CANDIDATS} secouristes
+     * candidats (éligibles à au moins un besoin), et au plus {@link #MAX_ETATS} états de secouristes libres
+     * possibles par DPS, ce qui borne la mémoire de la table et le temps de résolution.
+     * @param besoins les besoins internés des DPS de l'instance
+     * @param classes les classes d'équivalence des secouristes de l'instance
+     * @return true si la programmation dynamique est applicable
+     */
+    static boolean admet(BesoinsInternes besoins, ClassesEquivalence classes) {
+        int[] plafonds = plafonds(besoins, classes)[0];
+        int nbCandidats = 0;
+        long nbEtats = 1;
+        for (int k = 0; k < plafonds.length; k++) {
+            if (plafonds[k] == 0) continue;
+            nbCandidats += classes.getTaille(k);
+            nbEtats *= Math.min(classes.getTaille(k), plafonds[k]) + 1;
+            if (nbCandidats > MAX_CANDIDATS || nbEtats > MAX_ETATS) return false;
+        }
+        return true;
+    }
+
+    /** @return pour chaque indice de DPS (et la fin de la liste), l'emploi maximal de chaque classe à partir de ce DPS */
+    private static int[][] plafonds(BesoinsInternes besoins, ClassesEquivalence classes) {
+        int[][] plafonds = new int[besoins.getNbDPS() + 1][classes.getNbClasses()];
+        for (int d = besoins.getNbDPS() - 1; d >= 0; d--) {
+            plafonds[d] = plafonds[d + 1].clone();
+            int[] competences = besoins.getCompetences(d);
+            for (int b = 0; b < competences.length; b++) {
+                for (int k : classes.getClassesEligibles(competences[b])) plafonds[d][k] += Math.max(0, besoins.getRequis(d)[b]);
+            }
+        }
+        return plafonds;
+    }
+
+    /**
+     * Résout l'instance et reconstruit une équipe optimale par DPS. À score égal, l'équipe retenue pour chaque
+     * DPS est la première dans l'ordre de l'itérateur d'équipes, comme pour la recherche par backtracking.
+     * @return pour chaque DPS, le nombre de secouristes de chaque classe
+     */
+    int[][] resoudre() {
+        int[] restants = classes.effectifs();
+        score = meilleurScore(0, restants);
+
+        int[][] equipes = new int[besoins.getNbDPS()][];
+        int attendu = score;
+        for (int d = 0; d < besoins.getNbDPS(); d++) {
+            IterateurEquipes iterateur = graphe.genererCombinaisonsOptimalesPourDPS(besoins, d, classes, restants);
+            while (iterateur.suivante()) {
+                int[] equipe = iterateur.courante();
+                int gain = graphe.evaluerEquipe(besoins, d, equipe, classes);
+                if (gain + meilleurScore(d + 1, iterateur.restantsApres()) == attendu) {
+                    equipes[d] = equipe.clone();
+                    restants = iterateur.restantsApres().clone();
+                    attendu -= gain;
+                    break;
+                }
+            }
+        }
+        return equipes;
+    }
+
+    /** @return le meilleur score, calculé par {@link #resoudre()} */
+    int getScore() {
+        return score;
+    }
+
+    /** @return le nombre d'états résolus et mémorisés */
+    int getNbEtats() {
+        return nbEtats;
+    }
+
+    /**
+     * Meilleur score atteignable par les DPS d'indices {@code d} et suivants.
+     * @param restants secouristes encore libres par classe (non modifié)
+     */
+    private int meilleurScore(int d, int[] restants) {
+        if (d == besoins.getNbDPS()) return 0;
+        long cle = coder(d, restants) * besoins.getNbDPS() + d;
+        int position = chercher(cle);
+        if (cles[position] == cle) return valeurs[position];
+
+        graphe.compterNoeud();
+        int meilleur = 0;
+        IterateurEquipes iterateur = graphe.genererCombinaisonsOptimalesPourDPS(besoins, d, classes, restants);
+        while (iterateur.suivante()) {
+            int[] equipe = iterateur.courante();
+            int total = graphe.evaluerEquipe(besoins, d, equipe, classes)
+                    + meilleurScore(d + 1, iterateur.restantsApres());
+            if (total > meilleur) meilleur = total;
+        }
+        graphe.compterDoublons(iterateur.getNbDoublons());
+        memoriser(cle, meilleur);
+        return meilleur;
+    }
+
+    /** @return le code des secouristes libres, plafonnés à ce que les DPS à partir de {@code d} peuvent employer */
+    private long coder(int d, int[] restants) {
+        long code = 0;
+        for (int k = 0; k < restants.length; k++) code += Math.min(restants[k], plafonds[d][k]) * poids[k];
+        return code;
+    }
+
+    /** @return la case de la clé, ou la case libre où l'insérer */
+    private int chercher(long cle) {
+        int masque = cles.length - 1;
+        long h = cle * 0x9E3779B97F4A7C15L;
+        int position = (int) (h ^ (h >>> 32)) & masque;
+        while (cles[position] != VIDE && cles[position] != cle) position = (position + 1) & masque;
+        return position;
+    }
+
+    private void memoriser(long cle, int valeur) {
+        // Les appels récursifs ont pu agrandir la table : la case est recherchée à nouveau
+        if (2 * (nbEtats + 1) > cles.length) redimensionner();
+        int position = chercher(cle);
+        cles[position] = cle;
+        valeurs[position] = valeur;
+        nbEtats++;
+    }
+
+    private void redimensionner() {
+        long[] anciennesCles = cles;
+        int[] anciennesValeurs = valeurs;
+        cles = new long[anciennesCles.length * 2];
+        valeurs = new int[anciennesCles.length * 2];
+        Arrays.fill(cles, VIDE);
+        for (int i = 0; i < anciennesCles.length; i++) {
+            if (anciennesCles[i] == VIDE) continue;
+            int position = chercher(anciennesCles[i]);
+            cles[position] = anciennesCles[i];
+            valeurs[position] = anciennesValeurs[i];
+        }
+    }
+}
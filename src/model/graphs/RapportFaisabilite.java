@@ -0,0 +1,197 @@
+package model.graphs;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Bilan de faisabilité des besoins, établi avant toute résolution par {@link Graphe#verifierFaisabilite}.
+ * Pour chaque journée, il donne la demande et l'offre de chaque compétence ainsi que le nombre maximal de postes
+ * pourvoyables simultanément (un secouriste par poste), obtenu par un flot maximal : la différence avec la
+ * demande est un déficit qu'aucun algorithme d'affectation ne peut combler.
+ */
+public class RapportFaisabilite {
+
+    private static final DateTimeFormatter FORMAT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /** Bilan de chaque journée, dans l'ordre chronologique */
+    private final SortedMap<LocalDate, BilanJournee> journees = new TreeMap<>();
+
+    /**
+     * Ajoute le bilan d'une journée.
+     * @param bilan le bilan de la journée
+     */
+    void ajouter(BilanJournee bilan) {
+        journees.put(bilan.getDate(), bilan);
+    }
+
+    /** @return le bilan de chaque journée, dans l'ordre chronologique */
+    public Collection<BilanJournee> getJournees() {
+        return Collections.unmodifiableCollection(journees.values());
+    }
+
+    /**
+     * @param date une date
+     * @return le bilan de cette journée, ou null si aucun DPS n'a lieu ce jour-là
+     */
+    public BilanJournee getJournee(LocalDate date) {
+        return journees.get(date);
+    }
+
+    /** @return true si tous les postes de toutes les journées peuvent être pourvus */
+    public boolean isRealisable() {
+        return getDeficitTotal() == 0;
+    }
+
+    /** @return le nombre total de postes qui ne pourront pas être pourvus */
+    public int getDeficitTotal() {
+        int total = 0;
+        for (BilanJournee journee : journees.values()) total += journee.getDeficit();
+        return total;
+    }
+
+    /** @return les compétences en pénurie (offre inférieure à la demande), journée par journée */
+    public List<BilanCompetence> getPenuries() {
+        List<BilanCompetence> penuries = new ArrayList<>();
+        for (BilanJournee journee : journees.values()) {
+            for (BilanCompetence competence : journee.getCompetences()) {
+                if (competence.getDeficit() > 0) penuries.add(competence);
+            }
+        }
+        return penuries;
+    }
+
+    /**
+     * Retourne une représentation textuelle du rapport.
+     * @return une ligne par journée ou compétence déficitaire, ou un message de faisabilité
+     */
+    @Override
+    public String toString() {
+        if (isRealisable()) return "Tous les postes peuvent être pourvus";
+        StringBuilder texte = new StringBuilder();
+        for (BilanJournee journee : journees.values()) {
+            if (journee.getDeficit() == 0) continue;
+            if (texte.length() > 0) texte.append('\n');
+            texte.append(journee);
+            for (BilanCompetence competence : journee.getCompetences()) {
+                if (competence.getDeficit() > 0) texte.append("\n  ").append(competence);
+            }
+        }
+        return texte.toString();
+    }
+
+    /**
+     * Bilan d'une journée : demande totale, couverture maximale et bilan de chaque compétence requise.
+     */
+    public static class BilanJournee {
+        private final LocalDate date;
+        private final int demande;
+        private final int couvertureMaximale;
+        private final List<BilanCompetence> competences;
+
+        /**
+         * @param date la journée
+         * @param demande le nombre total de postes à pourvoir
+         * @param couvertureMaximale le nombre maximal de postes pourvoyables simultanément
+         * @param competences le bilan de chaque compétence requise
+         */
+        BilanJournee(LocalDate date, int demande, int couvertureMaximale, List<BilanCompetence> competences) {
+            this.date = date;
+            this.demande = demande;
+            this.couvertureMaximale = couvertureMaximale;
+            this.competences = competences;
+        }
+
+        /** @return la journée */
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /** @return le nombre total de postes à pourvoir */
+        public int getDemande() {
+            return demande;
+        }
+
+        /** @return le nombre maximal de postes pourvoyables simultanément */
+        public int getCouvertureMaximale() {
+            return couvertureMaximale;
+        }
+
+        /** @return le nombre de postes qui ne pourront pas être pourvus */
+        public int getDeficit() {
+            return demande - couvertureMaximale;
+        }
+
+        /** @return le bilan de chaque compétence requise ce jour-là */
+        public List<BilanCompetence> getCompetences() {
+            return Collections.unmodifiableList(competences);
+        }
+
+        /**
+         * Retourne une représentation textuelle du bilan.
+         * @return une chaîne du type « 14/02/2030 : 38 postes pourvoyables sur 50 »
+         */
+        @Override
+        public String toString() {
+            return date.format(FORMAT_DATE) + " : " + couvertureMaximale + " postes pourvoyables sur " + demande;
+        }
+    }
+
+    /**
+     * Bilan d'une compétence sur une journée.
+     */
+    public static class BilanCompetence {
+        private final LocalDate date;
+        private final String competence;
+        private final int demande;
+        private final int offre;
+
+        /**
+         * @param date la journée
+         * @param competence l'intitulé de la compétence
+         * @param demande le nombre de postes requérant la compétence
+         * @param offre le nombre de secouristes disponibles la possédant (directement ou par implication)
+         */
+        BilanCompetence(LocalDate date, String competence, int demande, int offre) {
+            this.date = date;
+            this.competence = competence;
+            this.demande = demande;
+            this.offre = offre;
+        }
+
+        /** @return la journée */
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /** @return l'intitulé de la compétence */
+        public String getCompetence() {
+            return competence;
+        }
+
+        /** @return le nombre de postes requérant la compétence */
+        public int getDemande() {
+            return demande;
+        }
+
+        /** @return le nombre de secouristes disponibles possédant la compétence */
+        public int getOffre() {
+            return offre;
+        }
+
+        /** @return le nombre de postes de cette compétence qui ne pourront pas être pourvus, même en priorité */
+        public int getDeficit() {
+            return Math.max(0, demande - offre);
+        }
+
+        /**
+         * Retourne une représentation textuelle du bilan.
+         * @return une chaîne du type « 12 CE manquants le 14/02/2030 (demande 20, offre 8) »
+         */
+        @Override
+        public String toString() {
+            return getDeficit() + " " + competence + " manquant" + (getDeficit() > 1 ? "s" : "") + " le "
+                    + date.format(FORMAT_DATE) + " (demande " + demande + ", offre " + offre + ")";
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.*;
+
+/**
+ * Recherche locale par recuit simulé améliorant une affectation existante (typiquement gloutonne).
+ * Chaque itération amène un secouriste éligible vers un besoin tiré au hasard, selon l'un de trois voisinages :
+ * <ul>
+ *     <li>déplacement : le secouriste quitte son DPS (ou le vivier des secouristes libres) pour le DPS visé ;</li>
+ *     <li>échange : un membre du DPS visé prend en retour la place d'origine du secouriste ;</li>
+ *     <li>double échange : un membre du DPS visé est à son tour envoyé vers un DPS où il est éligible, ou libéré.</li>
+ * </ul>
+ * Le score est mis à jour par différence par un {@link EvaluateurIncremental} : l'arrivée ou le départ d'un
+ * secouriste ne parcourt que les besoins du DPS concerné.
+ * Un mouvement dégradant est accepté avec la probabilité exp(delta / T), la température décroissant
+ * géométriquement ; la meilleure affectation rencontrée est conservée. La recherche est déterministe
+ * pour une graine donnée.
+ * <p>
+ * Sous plafonds horaires, un mouvement qui amènerait un secouriste sur un DPS plus long que son budget est
+ * écarté avant d'être évalué (une comparaison), et un secouriste délogé qui ne peut rejoindre la destination
+ * tirée est libéré.
+ */
+class RechercheLocale {
+
+    /** Température initiale : un mouvement coûtant un poste pourvu est d'abord accepté une fois sur trois */
+    static final double TEMPERATURE_INITIALE = 10;
+
+    /** Température finale : seuls les mouvements neutres ou améliorants sont encore acceptés */
+    static final double TEMPERATURE_FINALE = 0.1;
+
+    private static final int DEPLACEMENT = 0;
+    private static final int ECHANGE = 1;
+    private static final int DOUBLE_ECHANGE = 2;
+
+    private final MatriceEligibilite eligibilite;
+    private final List<DPS> dps;
+
+    /** Budget horaire des secouristes, ou null sans plafonds */
+    private final BudgetHoraire budget;
+
+    /** Score de l'affectation courante, mis à jour à chaque déplacement */
+    private final EvaluateurIncremental evaluateur;
+
+    /** DPS de chaque secouriste, -1 s'il est libre */
+    private final int[] dpsDe;
+
+    /** Membres de chaque DPS (les {@code nbMembres[d]} premiers) et rang de chaque secouriste dans sa liste */
+    private final int[][] membres;
+    private final int[] nbMembres;
+    private final int[] rang;
+
+    /** Secouristes éligibles à chaque compétence */
+    private final int[][] eligiblesParCompetence;
+
+    /** Compétences effectives de chaque secouriste */
+    private final int[][] competencesDe;
+
+    /** DPS ayant au moins un besoin de chaque compétence */
+    private final int[][] dpsParCompetence;
+
+    /** Affectation de départ, pour conserver l'ordre des équipes */
+    private final Map<DPS, List<Secouriste>> depart;
+
+    private final Random random;
+
+    /**
+     * Prépare la recherche à partir d'une affectation existante. Un secouriste présent dans plusieurs
+     * DPS n'est conservé que dans le premier rencontré ; les secouristes hors de la matrice sont ignorés.
+     * @param eligibilite la matrice d'éligibilité des secouristes aux compétences des DPS
+     * @param dps la liste des DPS
+     * @param budget le budget horaire des secouristes, ou null sans plafonds
+     * @param depart l'affectation à améliorer
+     * @param graine la graine du générateur aléatoire
+     */
+    RechercheLocale(MatriceEligibilite eligibilite, List<DPS> dps, BudgetHoraire budget,
+                    Map<DPS, List<Secouriste>> depart, long graine) {
+        this.eligibilite = eligibilite;
+        this.dps = dps;
+        this.budget = budget;
+        this.depart = depart;
+        this.random = new Random(graine);
+        int n = eligibilite.getNbSecouristes();
+        int m = dps.size();
+
+        evaluateur = new EvaluateurIncremental(eligibilite, dps);
+        List<List<Integer>> parCompetence = new ArrayList<>();
+        for (int c = 0; c < eligibilite.getNbCompetences(); c++) parCompetence.add(new ArrayList<>());
+        for (int d = 0; d < m; d++) {
+            for (int c : evaluateur.getCompetences(d)) {
+                List<Integer> liste = parCompetence.get(c);
+                if (liste.isEmpty() || liste.get(liste.size() - 1) != d) liste.add(d);
+            }
+        }
+        dpsParCompetence = new int[parCompetence.size()][];
+        for (int c = 0; c < dpsParCompetence.length; c++) {
+            dpsParCompetence[c] = parCompetence.get(c).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        eligiblesParCompetence = new int[eligibilite.getNbCompetences()][];
+        long[] aucun = eligibilite.nouvelEnsemble();
+        for (int c = 0; c < eligiblesParCompetence.length; c++) {
+            int[] eligibles = new int[eligibilite.compterEligibles(c, aucun)];
+            int k = 0;
+            for (int s = eligibilite.prochainEligible(c, aucun, 0); s >= 0; s = eligibilite.prochainEligible(c, aucun, s + 1)) {
+                eligibles[k++] = s;
+            }
+            eligiblesParCompetence[c] = eligibles;
+        }
+        competencesDe = new int[n][];
+        for (int s = 0; s < n; s++) {
+            int nb = 0;
+            for (int c = 0; c < eligiblesParCompetence.length; c++) if (eligibilite.estEligible(s, c)) nb++;
+            competencesDe[s] = new int[nb];
+            nb = 0;
+            for (int c = 0; c < eligiblesParCompetence.length; c++) if (eligibilite.estEligible(s, c)) competencesDe[s][nb++] = c;
+        }
+
+        dpsDe = new int[n];
+        Arrays.fill(dpsDe, -1);
+        membres = new int[m][4];
+        nbMembres = new int[m];
+        rang = new int[n];
+        for (int d = 0; d < m; d++) {
+            List<Secouriste> equipe = depart.get(dps.get(d));
+            if (equipe == null) continue;
+            for (Secouriste secouriste : equipe) {
+                int s = eligibilite.indexDe(secouriste);
+                if (s >= 0 && dpsDe[s] < 0 && admet(s, d)) deplacer(s, d);
+            }
+        }
+    }
+
+    /** @return le score de l'affectation courante */
+    int getScore() {
+        return evaluateur.getScore();
+    }
+
+    /**
+     * Lance le recuit puis retient la meilleure affectation rencontrée, débarrassée des membres
+     * qui ne couvrent aucun besoin.
+     * @param nbIterations le nombre de mouvements tentés
+     * @return une map DPS → Liste des secouristes affectés, pour chaque DPS
+     */
+    Map<DPS, List<Secouriste>> ameliorer(long nbIterations) {
+        int meilleurScore = evaluateur.getScore();
+        int[] meilleur = dpsDe.clone();
+        double temperature = TEMPERATURE_INITIALE;
+        double refroidissement = Math.pow(TEMPERATURE_FINALE / TEMPERATURE_INITIALE, 1.0 / Math.max(1, nbIterations));
+
+        for (long iteration = 0; iteration < nbIterations; iteration++, temperature *= refroidissement) {
+            // Un besoin tiré au hasard et un secouriste qui pourrait le couvrir
+            int d = random.nextInt(dps.size());
+            int[] competences = evaluateur.getCompetences(d);
+            if (competences.length == 0) continue;
+            int[] candidats = eligiblesParCompetence[competences[random.nextInt(competences.length)]];
+            if (candidats.length == 0) continue;
+            int s = candidats[random.nextInt(candidats.length)];
+            int origine = dpsDe[s];
+            if (origine == d || !admet(s, d)) continue;
+
+            int voisinage = random.nextInt(3);
+            int delta = deplacer(s, d);
+            int t = -1;
+            if (voisinage != DEPLACEMENT && nbMembres[d] > 1) {
+                // s vient d'être ajouté en fin de liste : t est pris parmi les autres membres
+                t = membres[d][random.nextInt(nbMembres[d] - 1)];
+                int destination = voisinage == ECHANGE ? origine : destinationPour(t, d);
+                delta += deplacer(t, admet(t, destination) ? destination : -1);
+            }
+
+            if (delta >= 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+                if (evaluateur.getScore() > meilleurScore) {
+                    meilleurScore = evaluateur.getScore();
+                    System.arraycopy(dpsDe, 0, meilleur, 0, dpsDe.length);
+                }
+            } else {
+                if (t >= 0) deplacer(t, d);
+                deplacer(s, origine);
+            }
+        }
+
+        for (int s = 0; s < dpsDe.length; s++) {
+            if (dpsDe[s] != meilleur[s]) deplacer(s, meilleur[s]);
+        }
+        retirerMembresInutiles();
+        return construireAffectation();
+    }
+
+    /**
+     * Tire une destination pour un secouriste délogé du DPS {@code d} : un autre DPS ayant un besoin
+     * d'une de ses compétences, ou le vivier des secouristes libres.
+     */
+    private int destinationPour(int s, int d) {
+        int[] competences = competencesDe[s];
+        if (competences.length == 0) return -1;
+        int[] candidats = dpsParCompetence[competences[random.nextInt(competences.length)]];
+        if (candidats.length == 0) return -1;
+        int destination = candidats[random.nextInt(candidats.length)];
+        return destination == d ? -1 : destination;
+    }
+
+    /** @return true si le DPS {@code d} (ou le vivier, pour -1) tient dans le budget horaire du secouriste */
+    private boolean admet(int s, int d) {
+        return budget == null || d < 0 || budget.admet(s, budget.getDuree(d));
+    }
+
+    /**
+     * Déplace un secouriste vers un DPS (ou le libère si {@code destination} vaut -1) et met à jour le score.
+     * @return la variation du score
+     */
+    private int deplacer(int s, int destination) {
+        int delta = 0;
+        int origine = dpsDe[s];
+        if (origine >= 0) {
+            delta += evaluateur.varier(s, origine, -1);
+            int dernier = membres[origine][--nbMembres[origine]];
+            membres[origine][rang[s]] = dernier;
+            rang[dernier] = rang[s];
+        }
+        if (destination >= 0) {
+            delta += evaluateur.varier(s, destination, 1);
+            if (nbMembres[destination] == membres[destination].length) {
+                membres[destination] = Arrays.copyOf(membres[destination], 2 * nbMembres[destination]);
+            }
+            rang[s] = nbMembres[destination];
+            membres[destination][nbMembres[destination]++] = s;
+        }
+        dpsDe[s] = destination;
+        return delta;
+    }
+
+    /** Libère les membres dont le départ ne change pas le score. */
+    private void retirerMembresInutiles() {
+        for (int d = 0; d < dps.size(); d++) {
+            for (int i = nbMembres[d] - 1; i >= 0; i--) {
+                int s = membres[d][i];
+                if (deplacer(s, -1) != 0) deplacer(s, d);
+            }
+        }
+    }
+
+    /** @return l'affectation courante : membres conservés dans leur ordre de départ, puis nouveaux venus */
+    private Map<DPS, List<Secouriste>> construireAffectation() {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        boolean[] places = new boolean[dpsDe.length];
+        for (int d = 0; d < dps.size(); d++) {
+            List<Secouriste> equipe = new ArrayList<>();
+            List<Secouriste> avant = depart.get(dps.get(d));
+            if (avant != null) {
+                for (Secouriste secouriste : avant) {
+                    int s = eligibilite.indexDe(secouriste);
+                    if (s >= 0 && dpsDe[s] == d && !places[s]) {
+                        places[s] = true;
+                        equipe.add(secouriste);
+                    }
+                }
+            }
+            for (int i = 0; i < nbMembres[d]; i++) {
+                int s = membres[d][i];
+                if (!places[s]) {
+                    places[s] = true;
+                    equipe.add(eligibilite.getSecouriste(s));
+                }
+            }
+            affectation.put(dps.get(d), equipe);
+        }
+        return affectation;
+    }
+}
@@ -0,0 +1,173 @@
+package model.graphs;
+
+import java.util.*;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tâche fork/join de la recherche exhaustive parallèle.
+ * Sur les premiers niveaux de l'arbre (un niveau par DPS), chaque combinaison possible devient
+ * une sous-tâche disposant de sa propre copie de l'état (domaines vivants compris, d'où le même ordre
+ * de parcours des DPS qu'en séquentiel) ; au-delà, la tâche poursuit la recherche
+ * séquentiellement avec {@link Graphe#backtrack}. Sous échéance, chaque tâche terminale en consulte sa propre
+ * copie ; les sous-arbres abandonnés et l'échéance constatée remontent avec la meilleure solution.
+ */
+class RechercheParallele extends RecursiveTask<RechercheParallele.Meilleure> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre de niveaux de l'arbre de recherche découpés en sous-tâches */
+    static final int PROFONDEUR_DECOUPAGE = 2;
+
+    private final Graphe graphe;
+    private final BesoinsInternes besoins;
+    private final DomainesCandidats domaines;
+    private final ClassesEquivalence classes;
+    private final int profondeur;
+    private final int scoreCourant;
+    private final int[] restants;
+    private final int[][] equipesCourantes;
+    private final int seuil;
+    private final AtomicInteger meilleurGlobal;
+    private final Echeance echeance;
+
+    /**
+     * Construit une tâche de recherche à partir d'un nœud de l'arbre.
+     * @param graphe le graphe fournissant les primitives de recherche
+     * @param besoins les besoins internés des DPS
+     * @param domaines domaines vivants et ordre des DPS (propres à la tâche)
+     * @param classes les classes d'équivalence des secouristes
+     * @param profondeur nombre de DPS déjà traités
+     * @param scoreCourant score des DPS déjà traités
+     * @param restants nombre de secouristes encore libres par classe (propre à la tâche)
+     * @param equipesCourantes équipes des DPS déjà traités (propres à la tâche)
+     * @param seuil score à dépasser strictement pour qu'une solution soit retenue
+     * @param meilleurGlobal meilleur score partagé entre toutes les tâches
+     * @param echeance échéance de la recherche, copiée par chaque tâche terminale, ou null pour une recherche
+     *                 menée à son terme
+     */
+    RechercheParallele(Graphe graphe, BesoinsInternes besoins, DomainesCandidats domaines, ClassesEquivalence classes,
+                       int profondeur, int scoreCourant, int[] restants, int[][] equipesCourantes, int seuil,
+                       AtomicInteger meilleurGlobal, Echeance echeance) {
+        this.graphe = graphe;
+        this.besoins = besoins;
+        this.domaines = domaines;
+        this.classes = classes;
+        this.profondeur = profondeur;
+        this.scoreCourant = scoreCourant;
+        this.restants = restants;
+        this.equipesCourantes = equipesCourantes;
+        this.seuil = seuil;
+        this.meilleurGlobal = meilleurGlobal;
+        this.echeance = echeance;
+    }
+
+    @Override
+    protected Meilleure compute() {
+        if (profondeur >= PROFONDEUR_DECOUPAGE || profondeur == besoins.getNbDPS()) {
+            int[][][] meilleuresEquipes = new int[1][][];
+            int[] meilleurScore = {seuil};
+            Echeance locale = echeance != null ? echeance.copier() : null;
+            graphe.backtrack(besoins, domaines, profondeur, scoreCourant, classes, restants, equipesCourantes,
+                             meilleuresEquipes, meilleurScore, meilleurGlobal, locale);
+            return locale != null
+                    ? new Meilleure(meilleurScore[0], meilleuresEquipes[0], locale.isAtteinte(), locale.getBorneAbandonnee())
+                    : new Meilleure(meilleurScore[0], meilleuresEquipes[0]);
+        }
+
+        graphe.compterNoeud();
+        if (graphe.isElagage()) {
+            int borne = scoreCourant + domaines.borne(profondeur);
+            if (borne <= seuil || borne < meilleurGlobal.get()) {
+                return new Meilleure(seuil, null);
+            }
+        }
+
+        // Échéance déjà atteinte : le sous-arbre n'est pas découpé, seule sa borne est retenue
+        if (echeance != null && echeance.copier().verifier()) {
+            return new Meilleure(seuil, null, true, scoreCourant + domaines.borne(profondeur));
+        }
+
+        List<RechercheParallele> sousTaches = new ArrayList<>();
+        int d = domaines.choisir(profondeur);
+        IterateurEquipes iterateur = graphe.genererCombinaisonsOptimalesPourDPS(besoins, d, classes, restants);
+        while (iterateur.suivante()) {
+            int[] equipe = iterateur.courante();
+            int[] libres = iterateur.restantsApres().clone();
+            int[][] equipes = equipesCourantes.clone();
+            equipes[d] = equipe.clone();
+            DomainesCandidats propages = domaines.copier();
+            propages.retirer(equipe);
+            sousTaches.add(new RechercheParallele(graphe, besoins, propages, classes, profondeur + 1,
+                    scoreCourant + graphe.evaluerEquipe(besoins, d, equipe, classes), libres, equipes, seuil, meilleurGlobal,
+                    echeance));
+        }
+        graphe.compterDoublons(iterateur.getNbDoublons());
+        invokeAll(sousTaches);
+
+        // Départage déterministe : à score égal, la sous-tâche la plus tôt dans l'ordre d'exploration l'emporte
+        Meilleure meilleure = new Meilleure(seuil, null);
+        boolean atteinte = false;
+        int borneAbandonnee = Integer.MIN_VALUE;
+        for (RechercheParallele tache : sousTaches) {
+            Meilleure resultat = tache.join();
+            if (resultat.getEquipes() != null && resultat.getScore() > meilleure.getScore()) {
+                meilleure = resultat;
+            }
+            atteinte |= resultat.isEcheanceAtteinte();
+            borneAbandonnee = Math.max(borneAbandonnee, resultat.getBorneAbandonnee());
+        }
+        return new Meilleure(meilleure.getScore(), meilleure.getEquipes(), atteinte, borneAbandonnee);
+    }
+
+    /**
+     * Meilleure solution trouvée dans un sous-arbre.
+     */
+    static class Meilleure {
+        private final int score;
+        private final int[][] equipes;
+        private final boolean echeanceAtteinte;
+        private final int borneAbandonnee;
+
+        /**
+         * @param score le score de la solution
+         * @param equipes les équipes de la solution (par classe d'équivalence), ou null si aucune solution ne dépasse le seuil
+         */
+        Meilleure(int score, int[][] equipes) {
+            this(score, equipes, false, Integer.MIN_VALUE);
+        }
+
+        /**
+         * @param score le score de la solution
+         * @param equipes les équipes de la solution (par classe d'équivalence), ou null si aucune solution ne dépasse le seuil
+         * @param echeanceAtteinte true si l'échéance a interrompu la recherche dans le sous-arbre
+         * @param borneAbandonnee la plus grande borne des sous-arbres abandonnés, ou {@link Integer#MIN_VALUE} si aucun
+         */
+        Meilleure(int score, int[][] equipes, boolean echeanceAtteinte, int borneAbandonnee) {
+            this.score = score;
+            this.equipes = equipes;
+            this.echeanceAtteinte = echeanceAtteinte;
+            this.borneAbandonnee = borneAbandonnee;
+        }
+
+        /** @return le score de la solution */
+        int getScore() {
+            return score;
+        }
+
+        /** @return les équipes de la solution, ou null si aucune solution ne dépasse le seuil */
+        int[][] getEquipes() {
+            return equipes;
+        }
+
+        /** @return true si l'échéance a interrompu la recherche dans le sous-arbre */
+        boolean isEcheanceAtteinte() {
+            return echeanceAtteinte;
+        }
+
+        /** @return la plus grande borne des sous-arbres abandonnés, ou {@link Integer#MIN_VALUE} si aucun */
+        int getBorneAbandonnee() {
+            return borneAbandonnee;
+        }
+    }
+}
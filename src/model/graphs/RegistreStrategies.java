@@ -0,0 +1,269 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Registre des stratégies d'affectation, indexées par leur nom.
+ * Les stratégies sont enregistrées de la moins à la plus précise : le choix automatique retient la dernière
+ * dont la classe de complexité admet la taille de l'instance. Une fois construit, le registre peut être
+ * consulté depuis plusieurs threads (journées résolues en parallèle) : la charge horaire éventuelle est
+ * passée à chaque résolution, et non conservée par le registre ou le graphe.
+ */
+public class RegistreStrategies {
+
+    /** Nom réservé au choix automatique de la stratégie, instance par instance */
+    public static final String AUTOMATIQUE = "Automatique";
+
+    private final Map<String, StrategieAffectation> strategies = new LinkedHashMap<>();
+
+    /**
+     * Crée le registre des stratégies fournies par un graphe, de la moins à la plus précise au sens du score :
+     * gloutons (dont le glouton multi-vacations, où un secouriste peut couvrir plusieurs DPS d'horaires disjoints,
+     * qui n'est utilisé que sur demande explicite), flots (qui maximisent le nombre de postes pourvus plutôt que le score), GRASP, glouton amélioré
+     * par recherche locale, recherches exhaustives (parallèle ou séquentielle, toutes deux interrompues à l'échéance),
+     * puis programmation dynamique, choisie automatiquement pour les journées comptant peu de candidats.
+     * @param graphe le graphe portant les algorithmes
+     * @return le registre
+     */
+    public static RegistreStrategies standard(Graphe graphe) {
+        RegistreStrategies registre = new RegistreStrategies();
+        registre.enregistrer(creer("Glouton", StrategieAffectation.Complexite.QUASI_LINEAIRE,
+                (s, d, c) -> graphe.evaluerResultat(graphe.affectationGloutonne(s, d, c), d)));
+        registre.enregistrer(creer("Glouton par regret", StrategieAffectation.Complexite.QUASI_LINEAIRE,
+                (s, d, c) -> graphe.evaluerResultat(graphe.affectationGloutonneRegret(s, d, c), d)));
+        registre.enregistrer(new StrategieAffectation() {
+            @Override
+            public String getNom() {
+                return "Glouton multi-vacations";
+            }
+
+            @Override
+            public Complexite getComplexite() {
+                return Complexite.QUASI_LINEAIRE;
+            }
+
+            // Un secouriste pouvant y couvrir plusieurs DPS, ce mode n'est jamais retenu automatiquement
+            @Override
+            public boolean admet(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+                return false;
+            }
+
+            @Override
+            public boolean autoriseMultiVacations() {
+                return true;
+            }
+
+            @Override
+            public ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge) {
+                return graphe.evaluerResultat(graphe.affectationGloutonneMultiVacations(secouristes, dps, charge), dps);
+            }
+        });
+        registre.enregistrer(creer("Flot maximal", StrategieAffectation.Complexite.POLYNOMIALE,
+                (s, d, c) -> graphe.evaluerResultat(graphe.affectationFlotMaximal(s, d, c), d)));
+        registre.enregistrer(creer("Flot à coût minimal", StrategieAffectation.Complexite.POLYNOMIALE,
+                graphe::affectationCoutMinimal));
+        registre.enregistrer(creer("GRASP", StrategieAffectation.Complexite.QUASI_LINEAIRE,
+                (s, d, c) -> graphe.evaluerResultat(graphe.affectationGrasp(s, d, Graphe.GRASP_DEMARRAGES,
+                        Runtime.getRuntime().availableProcessors(), 0, c), d)));
+        registre.enregistrer(creer("Glouton amélioré", StrategieAffectation.Complexite.QUASI_LINEAIRE,
+                (s, d, c) -> graphe.evaluerResultat(graphe.affectationGloutonneAmelioree(s, d, c), d)));
+        registre.enregistrer(new StrategieAffectation() {
+            @Override
+            public String getNom() {
+                return "Exhaustif parallèle";
+            }
+
+            @Override
+            public Complexite getComplexite() {
+                return Complexite.EXPONENTIELLE;
+            }
+
+            @Override
+            public ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge) {
+                Duration budget = echeance == null ? Duration.ZERO : Duration.between(Instant.now(), echeance);
+                return graphe.affectationExhaustiveParalleleBornee(secouristes, dps, budget, charge);
+            }
+        });
+        registre.enregistrer(new StrategieAffectation() {
+            @Override
+            public String getNom() {
+                return "Exhaustif borné";
+            }
+
+            @Override
+            public Complexite getComplexite() {
+                return Complexite.EXPONENTIELLE;
+            }
+
+            @Override
+            public ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge) {
+                Duration budget = echeance == null ? Duration.ZERO : Duration.between(Instant.now(), echeance);
+                return graphe.affectationExhaustiveBornee(secouristes, dps, budget, charge);
+            }
+        });
+        registre.enregistrer(new StrategieAffectation() {
+            @Override
+            public String getNom() {
+                return "Programmation dynamique";
+            }
+
+            @Override
+            public Complexite getComplexite() {
+                return Complexite.EXPONENTIELLE;
+            }
+
+            @Override
+            public boolean admet(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+                return graphe.admetProgrammationDynamique(secouristes, dps, charge);
+            }
+
+            @Override
+            public ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge) {
+                // Au-delà des instances admises, la recherche exhaustive bornée prend le relais
+                if (!admet(secouristes, dps, charge)) {
+                    Duration budget = echeance == null ? Duration.ZERO : Duration.between(Instant.now(), echeance);
+                    return graphe.affectationExhaustiveBornee(secouristes, dps, budget, charge);
+                }
+                return graphe.evaluerResultat(graphe.affectationProgrammationDynamique(secouristes, dps, charge), dps);
+            }
+        });
+        return registre;
+    }
+
+    /**
+     * Algorithme d'affectation non interruptible : (secouristes, DPS, charge horaire ou null) → résultat.
+     */
+    @FunctionalInterface
+    public interface Solveur {
+
+        /**
+         * @param secouristes les secouristes candidats
+         * @param dps les DPS à couvrir
+         * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+         * @return l'affectation, son score et ses postes non pourvus
+         */
+        ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge);
+    }
+
+    /**
+     * Crée une stratégie non interruptible à partir d'un algorithme.
+     * @param nom le nom de la stratégie
+     * @param complexite la classe de complexité de l'algorithme
+     * @param solveur l'algorithme
+     * @return la stratégie
+     */
+    public static StrategieAffectation creer(String nom, StrategieAffectation.Complexite complexite, Solveur solveur) {
+        return new StrategieAffectation() {
+            @Override
+            public String getNom() {
+                return nom;
+            }
+
+            @Override
+            public Complexite getComplexite() {
+                return complexite;
+            }
+
+            @Override
+            public ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge) {
+                return solveur.resoudre(secouristes, dps, charge);
+            }
+        };
+    }
+
+    /**
+     * Enregistre une stratégie, plus précise que les précédentes.
+     * @param strategie la stratégie
+     * @throws IllegalArgumentException si le nom est réservé ou déjà enregistré
+     */
+    public void enregistrer(StrategieAffectation strategie) {
+        if (AUTOMATIQUE.equals(strategie.getNom()) || strategies.containsKey(strategie.getNom())) {
+            throw new IllegalArgumentException("Nom de stratégie déjà utilisé : " + strategie.getNom());
+        }
+        strategies.put(strategie.getNom(), strategie);
+    }
+
+    /**
+     * @param nom le nom d'une stratégie enregistrée
+     * @return la stratégie
+     * @throws IllegalArgumentException si aucune stratégie ne porte ce nom
+     */
+    public StrategieAffectation get(String nom) {
+        StrategieAffectation strategie = strategies.get(nom);
+        if (strategie == null) throw new IllegalArgumentException("Stratégie inconnue : " + nom);
+        return strategie;
+    }
+
+    /** @return {@link #AUTOMATIQUE} suivi des noms des stratégies, dans l'ordre d'enregistrement */
+    public List<String> getNoms() {
+        List<String> noms = new ArrayList<>();
+        noms.add(AUTOMATIQUE);
+        noms.addAll(strategies.keySet());
+        return noms;
+    }
+
+    /**
+     * Choisit la stratégie pour une instance sans plafonds horaires.
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @return la stratégie choisie
+     * @throws IllegalStateException si le registre est vide
+     * @see #choisir(List, List, ChargeHoraire)
+     */
+    public StrategieAffectation choisir(List<Secouriste> secouristes, List<DPS> dps) {
+        return choisir(secouristes, dps, null);
+    }
+
+    /**
+     * Choisit la stratégie la plus précise qui admet l'instance (par défaut, dont la complexité admet sa taille),
+     * ou la première enregistrée si aucune ne l'admet.
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return la stratégie choisie
+     * @throws IllegalStateException si le registre est vide
+     */
+    public StrategieAffectation choisir(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        if (strategies.isEmpty()) throw new IllegalStateException("Aucune stratégie enregistrée");
+        StrategieAffectation choisie = strategies.values().iterator().next();
+        for (StrategieAffectation strategie : strategies.values()) {
+            if (strategie.admet(secouristes, dps, charge)) choisie = strategie;
+        }
+        return choisie;
+    }
+
+    /**
+     * Résout une instance sans plafonds horaires.
+     * @param nom le nom de la stratégie
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param echeance l'échéance des stratégies interruptibles
+     * @return l'affectation, son score et ses postes non pourvus
+     * @see #resoudre(String, List, List, Instant, ChargeHoraire)
+     */
+    public ResultatAffectation resoudre(String nom, List<Secouriste> secouristes, List<DPS> dps, Instant echeance) {
+        return resoudre(nom, secouristes, dps, echeance, null);
+    }
+
+    /**
+     * Résout une instance avec la stratégie nommée, ou celle choisie pour l'instance si le nom est {@link #AUTOMATIQUE}.
+     * Des journées peuvent être résolues en parallèle, avec ou sans charge ; sous plafonds, une journée ne doit
+     * cependant être résolue qu'une fois les précédentes enregistrées dans la charge.
+     * @param nom le nom de la stratégie
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param echeance l'échéance des stratégies interruptibles
+     * @param charge la charge horaire en vigueur, seulement lue, ou null sans plafonds horaires
+     * @return l'affectation, son score et ses postes non pourvus
+     */
+    public ResultatAffectation resoudre(String nom, List<Secouriste> secouristes, List<DPS> dps, Instant echeance,
+                                        ChargeHoraire charge) {
+        StrategieAffectation strategie = AUTOMATIQUE.equals(nom) ? choisir(secouristes, dps, charge) : get(nom);
+        return strategie.resoudre(secouristes, dps, echeance, charge);
+    }
+}
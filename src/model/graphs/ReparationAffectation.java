@@ -0,0 +1,63 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'une réparation incrémentale : l'affectation réparée, et les seules lignes
+ * d'affectation à créer ou à supprimer pour passer de l'affectation d'origine à celle-ci.
+ */
+public class ReparationAffectation extends ResultatAffectation {
+
+    /** Secouristes à ajouter à chaque DPS */
+    private final Map<DPS, List<Secouriste>> ajouts;
+
+    /** Secouristes à retirer de chaque DPS */
+    private final Map<DPS, List<Secouriste>> retraits;
+
+    /**
+     * Construit le résultat d'une réparation.
+     * @param affectation la map DPS → secouristes affectés après réparation
+     * @param score le score de l'affectation réparée
+     * @param deficits le nombre de postes non pourvus pour chaque DPS
+     * @param ajouts les secouristes ajoutés à chaque DPS (seuls les DPS modifiés figurent)
+     * @param retraits les secouristes retirés de chaque DPS (seuls les DPS modifiés figurent)
+     */
+    public ReparationAffectation(Map<DPS, List<Secouriste>> affectation, int score, Map<DPS, Integer> deficits,
+                                 Map<DPS, List<Secouriste>> ajouts, Map<DPS, List<Secouriste>> retraits) {
+        super(affectation, score, deficits);
+        this.ajouts = new HashMap<>(ajouts);
+        this.retraits = new HashMap<>(retraits);
+    }
+
+    /** @return les secouristes ajoutés à chaque DPS modifié */
+    public Map<DPS, List<Secouriste>> getAjouts() {
+        return ajouts;
+    }
+
+    /** @return les secouristes retirés de chaque DPS modifié */
+    public Map<DPS, List<Secouriste>> getRetraits() {
+        return retraits;
+    }
+
+    /** @return le nombre de lignes d'affectation à créer ou supprimer */
+    public int getNbModifications() {
+        int total = 0;
+        for (List<Secouriste> liste : ajouts.values()) total += liste.size();
+        for (List<Secouriste> liste : retraits.values()) total += liste.size();
+        return total;
+    }
+
+    /**
+     * Retourne une représentation textuelle de la réparation.
+     * @return une chaîne résumant le score, le déficit et le nombre de modifications
+     */
+    @Override
+    public String toString() {
+        return super.toString() + ", " + getNbModifications() + " ligne(s) modifiée(s)";
+    }
+}
@@ -0,0 +1,106 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'un algorithme d'affectation : l'affectation elle-même, son score
+ * (au sens de {@link Graphe#evaluerAffectation(Map)}) et le déficit de chaque DPS.
+ */
+public class ResultatAffectation {
+
+    /** Affectation DPS → secouristes */
+    private final Map<DPS, List<Secouriste>> affectation;
+
+    /** Score de l'affectation */
+    private final int score;
+
+    /** Nombre de postes non pourvus par DPS */
+    private final Map<DPS, Integer> deficits;
+
+    /**
+     * Construit un résultat d'affectation.
+     * @param affectation la map DPS → secouristes affectés
+     * @param score le score de l'affectation
+     * @param deficits le nombre de postes non pourvus pour chaque DPS
+     */
+    public ResultatAffectation(Map<DPS, List<Secouriste>> affectation, int score, Map<DPS, Integer> deficits) {
+        this.affectation = affectation;
+        this.score = score;
+        this.deficits = new HashMap<>(deficits);
+    }
+
+    /**
+     * Fusionne des résultats portant sur des DPS disjoints (par exemple une journée chacun) :
+     * les affectations et déficits sont réunis et les scores additionnés.
+     * @param resultats les résultats à fusionner
+     * @return le résultat global
+     */
+    public static ResultatAffectation fusionner(Collection<ResultatAffectation> resultats) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        Map<DPS, Integer> deficits = new HashMap<>();
+        int score = 0;
+        for (ResultatAffectation resultat : resultats) {
+            affectation.putAll(resultat.getAffectation());
+            deficits.putAll(resultat.getDeficits());
+            score += resultat.getScore();
+        }
+        return new ResultatAffectation(affectation, score, deficits);
+    }
+
+    /** @return la map DPS → secouristes affectés */
+    public Map<DPS, List<Secouriste>> getAffectation() {
+        return affectation;
+    }
+
+    /** @return le score de l'affectation */
+    public int getScore() {
+        return score;
+    }
+
+    /** @return le nombre de postes non pourvus pour chaque DPS */
+    public Map<DPS, Integer> getDeficits() {
+        return deficits;
+    }
+
+    /**
+     * Retourne le nombre de postes non pourvus d'un DPS.
+     * @param dps le DPS concerné
+     * @return le déficit du DPS (0 s'il est entièrement couvert)
+     */
+    public int getDeficit(DPS dps) {
+        return deficits.getOrDefault(dps, 0);
+    }
+
+    /** @return le nombre total de postes non pourvus */
+    public int getDeficitTotal() {
+        int total = 0;
+        for (int deficit : deficits.values()) {
+            total += deficit;
+        }
+        return total;
+    }
+
+    /** @return le nombre de DPS dont au moins un poste n'est pas pourvu */
+    public int getNbDPSIncomplets() {
+        int total = 0;
+        for (int deficit : deficits.values()) {
+            if (deficit > 0) total++;
+        }
+        return total;
+    }
+
+    /**
+     * Retourne une représentation textuelle du résultat.
+     * @return une chaîne résumant le score et le déficit
+     */
+    @Override
+    public String toString() {
+        return "Score = " + score + ", postes non pourvus = " + getDeficitTotal() + " (" + getNbDPSIncomplets() + " DPS incomplets)";
+    }
+}
@@ -0,0 +1,95 @@
+package model.graphs;
+
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'une recherche exhaustive interrompue à échéance : la meilleure affectation trouvée,
+ * accompagnée d'une borne supérieure du score optimal permettant d'estimer l'écart à l'optimum.
+ */
+public class ResultatRechercheBornee extends ResultatAffectation {
+
+    /** Majorant du score optimal (égal au score si l'optimalité est prouvée) */
+    private final int borneSuperieure;
+
+    /** Indique si la recherche est allée à son terme avant l'échéance */
+    private final boolean optimal;
+
+    /** Durée de la recherche en millisecondes */
+    private final long dureeMillis;
+
+    /**
+     * Construit le résultat d'une recherche bornée.
+     * @param affectation la meilleure affectation trouvée
+     * @param score le score de cette affectation
+     * @param deficits le nombre de postes non pourvus pour chaque DPS
+     * @param borneSuperieure un majorant du score optimal
+     * @param optimal true si la recherche a prouvé l'optimalité avant l'échéance
+     * @param dureeMillis la durée de la recherche en millisecondes
+     */
+    public ResultatRechercheBornee(Map<DPS, List<Secouriste>> affectation, int score, Map<DPS, Integer> deficits,
+                                   int borneSuperieure, boolean optimal, long dureeMillis) {
+        super(affectation, score, deficits);
+        this.borneSuperieure = optimal ? score : Math.max(score, borneSuperieure);
+        this.optimal = optimal;
+        this.dureeMillis = dureeMillis;
+    }
+
+    /**
+     * Fusionne des résultats portant sur des DPS disjoints (par exemple une journée chacun) :
+     * scores et bornes sont additionnés, l'optimalité n'est acquise que si chaque partie est optimale.
+     * @param resultats les résultats à fusionner
+     * @return le résultat global
+     */
+    public static ResultatRechercheBornee fusionnerBornes(Collection<ResultatRechercheBornee> resultats) {
+        Map<DPS, List<Secouriste>> affectation = new HashMap<>();
+        Map<DPS, Integer> deficits = new HashMap<>();
+        int score = 0;
+        int borne = 0;
+        boolean optimal = true;
+        long duree = 0;
+        for (ResultatRechercheBornee resultat : resultats) {
+            affectation.putAll(resultat.getAffectation());
+            deficits.putAll(resultat.getDeficits());
+            score += resultat.getScore();
+            borne += resultat.getBorneSuperieure();
+            optimal &= resultat.isOptimal();
+            duree = Math.max(duree, resultat.getDureeMillis());
+        }
+        return new ResultatRechercheBornee(affectation, score, deficits, borne, optimal, duree);
+    }
+
+    /** @return un majorant du score optimal */
+    public int getBorneSuperieure() {
+        return borneSuperieure;
+    }
+
+    /** @return l'écart relatif maximal à l'optimum, (borne - score) / borne, entre 0 et 1 */
+    public double getEcart() {
+        return borneSuperieure == 0 ? 0 : (double) (borneSuperieure - getScore()) / borneSuperieure;
+    }
+
+    /** @return true si l'optimalité a été prouvée avant l'échéance */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /** @return la durée de la recherche en millisecondes */
+    public long getDureeMillis() {
+        return dureeMillis;
+    }
+
+    /**
+     * Retourne une représentation textuelle du résultat.
+     * @return une chaîne résumant le score, le déficit et l'écart à l'optimum
+     */
+    @Override
+    public String toString() {
+        return super.toString() + (optimal ? ", optimal" : String.format(", écart à l'optimum ≤ %.1f %%", getEcart() * 100));
+    }
+}
@@ -0,0 +1,116 @@
+package model.graphs;
+
+import model.data.Besoin;
+import model.data.DPS;
+import model.data.Secouriste;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Algorithme d'affectation interchangeable, sélectionnable par son nom dans un {@link RegistreStrategies}.
+ * Une stratégie reçoit un instantané de l'instance (secouristes candidats et DPS à couvrir, généralement
+ * une journée, et éventuellement la {@link ChargeHoraire charge horaire} en vigueur) et renvoie l'affectation
+ * accompagnée de son score et de ses postes non pourvus. Elle ne conserve aucun état d'une résolution à l'autre.
+ * Elle déclare sa classe de complexité, qui permet de la choisir automatiquement selon la taille de l'instance.
+ */
+public interface StrategieAffectation {
+
+    /** @return le nom de la stratégie, unique dans un registre */
+    String getNom();
+
+    /** @return la classe de complexité de la stratégie */
+    Complexite getComplexite();
+
+    /**
+     * Indique si la stratégie convient à une instance, pour le choix automatique. Par défaut, la taille de
+     * l'instance (secouristes × postes) doit être admise par la classe de complexité.
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param charge la charge horaire en vigueur, ou null sans plafonds horaires
+     * @return true si la stratégie peut être choisie automatiquement pour cette instance
+     */
+    default boolean admet(List<Secouriste> secouristes, List<DPS> dps, ChargeHoraire charge) {
+        int nbPostes = 0;
+        for (DPS d : dps) {
+            for (Besoin besoin : d.getBesoins()) nbPostes += Math.max(0, besoin.getNombre());
+        }
+        return getComplexite().admet(secouristes.size(), nbPostes);
+    }
+
+    /**
+     * Indique si un secouriste peut tenir plusieurs DPS d'horaires disjoints d'une même journée dans les
+     * affectations de la stratégie, ce dont la vérification de faisabilité doit tenir compte.
+     * @return false par défaut : un secouriste tient au plus un DPS par journée
+     */
+    default boolean autoriseMultiVacations() {
+        return false;
+    }
+
+    /**
+     * Calcule une affectation sans plafonds horaires.
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param echeance l'instant auquel une stratégie interruptible doit rendre sa meilleure solution
+     *                 (ignoré par les autres stratégies)
+     * @return l'affectation, son score et ses postes non pourvus
+     */
+    default ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance) {
+        return resoudre(secouristes, dps, echeance, null);
+    }
+
+    /**
+     * Calcule une affectation.
+     * @param secouristes les secouristes candidats
+     * @param dps les DPS à couvrir
+     * @param echeance l'instant auquel une stratégie interruptible doit rendre sa meilleure solution
+     *                 (ignoré par les autres stratégies)
+     * @param charge la charge horaire en vigueur, seulement lue, ou null sans plafonds horaires
+     * @return l'affectation, son score et ses postes non pourvus
+     */
+    ResultatAffectation resoudre(List<Secouriste> secouristes, List<DPS> dps, Instant echeance, ChargeHoraire charge);
+
+    /**
+     * Classe de complexité d'une stratégie, et taille d'instance maximale pour laquelle elle est choisie
+     * automatiquement. La taille d'une instance est le produit du nombre de secouristes par le nombre de postes.
+     */
+    enum Complexite {
+        /** Coût quasi linéaire en la taille de l'instance (gloutons, recherche locale à nombre de mouvements fixé) */
+        QUASI_LINEAIRE("quasi linéaire", Long.MAX_VALUE),
+        /** Coût polynomial (flots) */
+        POLYNOMIALE("polynomiale", 100_000_000L),
+        /** Coût exponentiel dans le pire cas (recherche exhaustive) */
+        EXPONENTIELLE("exponentielle", 2_000L);
+
+        private final String libelle;
+        private final long tailleMaximale;
+
+        Complexite(String libelle, long tailleMaximale) {
+            this.libelle = libelle;
+            this.tailleMaximale = tailleMaximale;
+        }
+
+        /** @return la taille d'instance maximale pour un choix automatique */
+        public long getTailleMaximale() {
+            return tailleMaximale;
+        }
+
+        /**
+         * @param nbSecouristes le nombre de secouristes candidats
+         * @param nbPostes le nombre total de postes à pourvoir
+         * @return true si une stratégie de cette complexité convient à l'instance
+         */
+        public boolean admet(int nbSecouristes, int nbPostes) {
+            return (long) nbSecouristes * nbPostes <= tailleMaximale;
+        }
+
+        /**
+         * Retourne une représentation textuelle de la complexité.
+         * @return le libellé de la complexité
+         */
+        @Override
+        public String toString() {
+            return libelle;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package model.graphs; // Assurez-vous que ce package est correct si TestGraphe e
 
 import model.data.*;
 import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,6 +22,23 @@ public class TestGraphe {
         testBasique();
         testGloutonPeutEchouerExhaustifReussit(); // Renommé pour plus de clarté
         testPerformanceMemeDonnees();            // Renommé et modifié
+        testFlotGrandeEchelle();
+        testFermetureDAG();
+        testClassesEquivalence();
+        testDecompositionJournees();
+        testReparationIncrementale();
+        testRechercheBornee();
+        testRechercheLocale();
+        testEvaluationIncrementale();
+        testGrasp();
+        testGloutonRegret();
+        testVerificationFaisabilite();
+        testRegistreStrategies();
+        testInternement();
+        testPremierEchec();
+        testProgrammationDynamique();
+        testMultiVacations();
+        testPlafondsHoraires();
         System.out.println("\n===== FIN DES TESTS D'AFFECTATION =====");
     }
 
@@ -103,7 +122,8 @@ public class TestGraphe {
 
     /**
      * Test basique où un seul DPS doit être totalement couvert.
-     * Attendu : glouton = exhaustif.
+     * Attendu : glouton = exhaustif. Un second DPS montre ensuite que le flot maximal, qui maximise le nombre
+     * de postes pourvus, n'atteint pas forcément le meilleur score lorsqu'un secouriste couvre plusieurs besoins.
      */
     public static void testBasique() {
         System.out.println("\n=== Test 1 : Cas Basique (Solution Unique et Évidente) ===");
@@ -140,8 +160,29 @@ public class TestGraphe {
         afficherStatistiques("Exhaustif", "Cas Basique", graphe, secouristes, dpsList, exhaustif, (t4 - t3) / 1_000_000);
         afficherDetailsAffectation("Exhaustif - Cas Basique", exhaustif);
 
+        // Flot maximal
+        long t5 = System.nanoTime();
+        Map<DPS, List<Secouriste>> flot = graphe.affectationFlotMaximal(new ArrayList<>(secouristes), new ArrayList<>(dpsList));
+        long t6 = System.nanoTime();
+        afficherStatistiques("Flot", "Cas Basique", graphe, secouristes, dpsList, flot, (t6 - t5) / 1_000_000);
+
         // Attente : Les deux devraient affecter Alice (pour PSE2 et implicitement PSE1) ou une combinaison qui couvre les deux.
         // Le score et le nombre d'affectations devraient être identiques.
+
+        // Couverture partagée : un second DPS demande un PSE1. Alice couvre seule les deux besoins du premier,
+        // mais le flot maximal ne compte qu'un poste par secouriste et peut placer Bob sur le premier DPS.
+        DPS dps2 = new DPS(2L, Time.valueOf("10:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+        dps2.ajouterBesoin(new Besoin(dps2, cPse1, 1));
+        List<DPS> partage = List.of(dps2, dps1);
+        Map<DPS, List<Secouriste>> flotPartage = graphe.affectationFlotMaximal(secouristes, partage);
+        Map<DPS, List<Secouriste>> gloutonPartage = graphe.affectationGloutonne(secouristes, partage);
+        int postesFlot = flotPartage.values().stream().mapToInt(List::size).sum();
+        int postesGlouton = gloutonPartage.values().stream().mapToInt(List::size).sum();
+        System.out.printf("  [Couverture partagée] Flot : %d postes, score %d | Glouton : %d postes, score %d%n",
+                postesFlot, graphe.evaluerAffectation(flotPartage), postesGlouton, graphe.evaluerAffectation(gloutonPartage));
+        System.out.println("    Flot au moins autant de postes que le glouton : " + (postesFlot >= postesGlouton)
+                + " | Score du flot inférieur au glouton : "
+                + (graphe.evaluerAffectation(flotPartage) < graphe.evaluerAffectation(gloutonPartage)));
     }
 
     /**
@@ -193,6 +234,20 @@ public class TestGraphe {
         afficherStatistiques("Exhaustif", "Piège Glouton", graphe, secouristes, dpsList, exhaustif, (t4 - t3) / 1_000_000);
         afficherDetailsAffectation("Exhaustif - Piège Glouton", exhaustif);
 
+        // Flot maximal
+        long t5 = System.nanoTime();
+        Map<DPS, List<Secouriste>> flot = graphe.affectationFlotMaximal(new ArrayList<>(secouristes), new ArrayList<>(dpsList));
+        long t6 = System.nanoTime();
+        afficherStatistiques("Flot", "Piège Glouton", graphe, secouristes, dpsList, flot, (t6 - t5) / 1_000_000);
+        afficherDetailsAffectation("Flot - Piège Glouton", flot);
+
+        // Flot à coût minimal
+        long t7 = System.nanoTime();
+        ResultatAffectation coutMin = graphe.affectationCoutMinimal(new ArrayList<>(secouristes), new ArrayList<>(dpsList));
+        long t8 = System.nanoTime();
+        afficherStatistiques("Coût Min", "Piège Glouton", graphe, secouristes, dpsList, coutMin.getAffectation(), (t8 - t7) / 1_000_000);
+        System.out.println("    Résultat rapporté : " + coutMin);
+
         // Attente : L'exhaustif devrait trouver la solution S3->dpsA, S1->dpsB, S2->dpsC, tandis que le glouton peut échouer.
     }
 
@@ -205,17 +260,1339 @@ public class TestGraphe {
         DAG dag = new DAG();
         Graphe graphe = new Graphe(dag);
 
-        List<Competence> competences = new ArrayList<>();
-        // Créer plus de compétences distinctes pour des besoins variés
-        for (int i = 0; i < 5; i++) { // Moins de compétences différentes mais utilisées plus souvent
-            competences.add(new Competence("COMP_TYPE_" + i));
+        Random random = new Random(2030);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "VPSP", "PBF", "PBC"};
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 14; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextInt(3) == 0) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+
+        Site site = new Site("SITE3", "Site C", 0, 0);
+        Sport sport = new Sport("SP3", "Slalom");
+        Journee jour = new Journee(20, 6, 2025);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            DPS dps = new DPS(20L + i, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            if (random.nextBoolean()) {
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1));
+            }
+            dpsList.add(dps);
+        }
+
+        // Glouton
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> glouton = graphe.affectationGloutonne(secouristes, dpsList);
+        long t2 = System.nanoTime();
+        afficherStatistiques("Glouton", "Performance", graphe, secouristes, dpsList, glouton, (t2 - t1) / 1_000_000);
+
+        // Exhaustif sans élagage
+        graphe.setElagage(false);
+        long t3 = System.nanoTime();
+        Map<DPS, List<Secouriste>> exhaustifComplet = graphe.affectationExhaustive(secouristes, dpsList);
+        long t4 = System.nanoTime();
+        long noeudsComplet = graphe.getNbNoeudsExplores();
+        long doublonsComplet = graphe.getNbDoublonsElimines();
+        afficherStatistiques("Exhaustif (sans élagage)", "Performance", graphe, secouristes, dpsList, exhaustifComplet, (t4 - t3) / 1_000_000);
+
+        // Exhaustif avec séparation et évaluation
+        graphe.setElagage(true);
+        long t5 = System.nanoTime();
+        Map<DPS, List<Secouriste>> exhaustif = graphe.affectationExhaustive(secouristes, dpsList);
+        long t6 = System.nanoTime();
+        long noeudsElagues = graphe.getNbNoeudsExplores();
+        afficherStatistiques("Exhaustif (élagage)", "Performance", graphe, secouristes, dpsList, exhaustif, (t6 - t5) / 1_000_000);
+
+        System.out.println("    Nœuds explorés : " + noeudsComplet + " sans élagage, " + noeudsElagues + " avec élagage");
+        System.out.println("    Équipes en double éliminées (sans élagage) : " + doublonsComplet);
+        System.out.println("    Scores identiques : " + (graphe.evaluerAffectation(exhaustifComplet) == graphe.evaluerAffectation(exhaustif)));
+
+        // Exhaustif parallèle (fork/join)
+        long t7 = System.nanoTime();
+        Map<DPS, List<Secouriste>> parallele = graphe.affectationExhaustiveParallele(secouristes, dpsList);
+        long t8 = System.nanoTime();
+        afficherStatistiques("Exhaustif (parallèle)", "Performance", graphe, secouristes, dpsList, parallele, (t8 - t7) / 1_000_000);
+        System.out.println("    Résultat parallèle identique au séquentiel : " + parallele.equals(exhaustif));
+    }
+
+    /**
+     * Test de passage à l'échelle de l'affectation par flot maximal
+     * (ordre de grandeur des Jeux : 10 000 secouristes, 2 000 DPS).
+     */
+    public static void testFlotGrandeEchelle() {
+        System.out.println("\n=== Test 4 : Flot Maximal à Grande Échelle ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(42);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+
+        Site site = new Site("SITE4", "Site D", 0, 0);
+        Sport sport = new Sport("SP4", "Biathlon");
+        Journee jour = new Journee(10, 2, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            DPS dps = new DPS(i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(6)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        // Filtrage des candidats par parcours de la matrice d'éligibilité
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dpsList);
+        long[] exclus = eligibilite.nouvelEnsemble();
+        for (int i = 0; i < secouristes.size(); i += 3) MatriceEligibilite.ajouter(exclus, i);
+        int competencePSE1 = eligibilite.indexCompetence("PSE1");
+        long t0 = System.nanoTime();
+        int candidatsPSE1 = eligibilite.compterEligibles(competencePSE1, exclus);
+        long tFiltre = System.nanoTime() - t0;
+        System.out.printf("  Filtrage PSE1 parmi %d secouristes : %d candidats en %d µs%n", secouristes.size(), candidatsPSE1, tFiltre / 1_000);
+
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> glouton = graphe.affectationGloutonne(secouristes, dpsList);
+        long t2 = System.nanoTime();
+        afficherStatistiques("Glouton", "Grande Échelle", graphe, secouristes, dpsList, glouton, (t2 - t1) / 1_000_000);
+
+        long t3 = System.nanoTime();
+        Map<DPS, List<Secouriste>> flot = graphe.affectationFlotMaximal(secouristes, dpsList);
+        long t4 = System.nanoTime();
+        afficherStatistiques("Flot", "Grande Échelle", graphe, secouristes, dpsList, flot, (t4 - t3) / 1_000_000);
+
+        long t5 = System.nanoTime();
+        ResultatAffectation coutMin = graphe.affectationCoutMinimal(secouristes, dpsList);
+        long t6 = System.nanoTime();
+        afficherStatistiques("Coût Min", "Grande Échelle", graphe, secouristes, dpsList, coutMin.getAffectation(), (t6 - t5) / 1_000_000);
+        System.out.println("    Résultat rapporté : " + coutMin);
+    }
+
+    /**
+     * Vérifie que la fermeture transitive du DAG reste cohérente avec le graphe des prérequis
+     * après des ajouts, des redéfinitions et un ajout refusé pour cause de cycle, que le graphe reste
+     * acyclique au sens du parcours en profondeur de {@link DAG#verifierDAG()}, et que la copie renvoyée
+     * par {@link DAG#getPrerequisGraphe()} ne permet pas de modifier le graphe.
+     */
+    public static void testFermetureDAG() {
+        System.out.println("\n=== Test 5 : Fermeture Transitive du DAG ===");
+        DAG dag = new DAG();
+
+        System.out.println("  Ajout MED (prérequis CO) : " + dag.ajouterCompetence("MED", List.of("CO")));
+        System.out.println("  Ajout SSA → CO (cycle attendu, refusé) : " + dag.ajouterCompetence("SSA", List.of("CO")));
+        System.out.println("  Redéfinition PBC (prérequis PBF, SSA) : " + dag.ajouterCompetence("PBC", List.of("PBF", "SSA")));
+        System.out.println("  Redéfinition CE (prérequis PSE1 seul) : " + dag.ajouterCompetence("CE", List.of("PSE1")));
+
+        Map<String, List<String>> graphe = dag.getPrerequisGraphe();
+        Set<String> intitules = new TreeSet<>(graphe.keySet());
+        graphe.values().forEach(intitules::addAll);
+
+        int incoherences = 0;
+        for (String possedee : intitules) {
+            Secouriste s = creerSecouriste(1, "Test", "Fermeture", List.of(new Competence(possedee)));
+            for (String requise : intitules) {
+                boolean attendu = possedee.equals(requise) || impliqueParParcours(graphe, possedee, requise);
+                if (dag.possederCompetence(s, requise) != attendu) {
+                    incoherences++;
+                    System.out.println("  Incohérence : " + possedee + " → " + requise);
+                }
+            }
+        }
+        System.out.println("  " + intitules.size() + " compétences vérifiées, incohérences : " + incoherences);
+        System.out.println("  Graphe acyclique (parcours en profondeur) : " + dag.verifierDAG());
+
+        boolean copieProtegee = true;
+        try {
+            graphe.get("PSE1").add("CO");
+            copieProtegee = false;
+        } catch (UnsupportedOperationException e) {
+            // Liste de prérequis non modifiable
+        }
+        try {
+            graphe.put("SSA", List.of("CO"));
+            copieProtegee = false;
+        } catch (UnsupportedOperationException e) {
+            // Map non modifiable
+        }
+        System.out.println("  Copie du graphe non modifiable : " + copieProtegee
+                + " | Prérequis de PSE1 inchangés : " + dag.getPrerequisGraphe().get("PSE1"));
+    }
+
+    /**
+     * Test 6 : de nombreux secouristes interchangeables (mêmes compétences).
+     * La recherche exhaustive énumère des effectifs par classe d'équivalence : l'arbre ne dépend plus
+     * du nombre de secouristes de chaque classe, et aucun secouriste n'est affecté deux fois.
+     */
+    public static void testClassesEquivalence() {
+        System.out.println("\n=== Test 6 : Secouristes Interchangeables (Classes d'Équivalence) ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            String intitule = i % 50 == 0 ? "PSE2" : (i % 30 == 0 ? "CE" : "PSE1");
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, List.of(new Competence(intitule))));
+        }
+
+        Site site = new Site("SITE6", "Site F", 0, 0);
+        Sport sport = new Sport("SP6", "Marathon");
+        Journee jour = new Journee(5, 7, 2025);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            DPS dps = new DPS(60L + i, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence("PSE1"), 3));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(i % 2 == 0 ? "PSE2" : "CE"), 1));
+            dpsList.add(dps);
+        }
+
+        MatriceEligibilite eligibilite = MatriceEligibilite.pour(dag, secouristes, dpsList);
+        System.out.println("  " + secouristes.size() + " secouristes répartis en "
+                + new ClassesEquivalence(eligibilite).getNbClasses() + " classes d'équivalence");
+
+        // Sans élagage, l'arbre complet est parcouru et la solution est matérialisée à partir des effectifs
+        graphe.setElagage(false);
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> exhaustif = graphe.affectationExhaustive(secouristes, dpsList);
+        long t2 = System.nanoTime();
+        graphe.setElagage(true);
+        afficherStatistiques("Exhaustif (sans élagage)", "Interchangeables", graphe, secouristes, dpsList, exhaustif, (t2 - t1) / 1_000_000);
+        System.out.println("    Nœuds explorés : " + graphe.getNbNoeudsExplores());
+        System.out.println("    Équipes en double éliminées : " + graphe.getNbDoublonsElimines());
+
+        Set<Secouriste> distincts = Collections.newSetFromMap(new IdentityHashMap<>());
+        int total = 0;
+        for (List<Secouriste> affectes : exhaustif.values()) {
+            distincts.addAll(affectes);
+            total += affectes.size();
+        }
+        System.out.println("    Aucun secouriste affecté deux fois : " + (distincts.size() == total));
+
+        Map<DPS, List<Secouriste>> elague = graphe.affectationExhaustive(secouristes, dpsList);
+        System.out.println("    Score identique avec élagage : " + (graphe.evaluerAffectation(exhaustif) == graphe.evaluerAffectation(elague)));
+    }
+
+    /**
+     * Test 7 : plan de 18 journées résolu journée par journée.
+     * Chaque journée ne mobilise que les secouristes disponibles ce jour-là ; la résolution parallèle
+     * doit donner le même score que la résolution séquentielle des journées.
+     */
+    public static void testDecompositionJournees() {
+        System.out.println("\n=== Test 7 : Décomposition par Journée (18 journées) ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(2024);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 4_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+
+        Site site = new Site("SITE7", "Site G", 0, 0);
+        Sport sport = new Sport("SP7", "Aviron");
+        List<DPS> dpsList = new ArrayList<>();
+        Map<LocalDate, List<Secouriste>> disponibles = new HashMap<>();
+        for (int j = 0; j < 18; j++) {
+            Journee jour = new Journee(1 + j, 8, 2030);
+            for (int i = 1; i <= 400; i++) {
+                DPS dps = new DPS(1000L * (j + 1) + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(6)]), 1 + random.nextInt(3)));
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+                dpsList.add(dps);
+            }
+            List<Secouriste> vivier = new ArrayList<>();
+            for (Secouriste s : secouristes) {
+                if (random.nextInt(10) < 6) vivier.add(s);
+            }
+            disponibles.put(DecompositionJournees.dateDe(jour), vivier);
+        }
+
+        // Référence : journées résolues l'une après l'autre
+        long t1 = System.nanoTime();
+        int scoreSequentiel = 0;
+        long pireJournee = 0;
+        for (Map.Entry<LocalDate, List<DPS>> entry : DecompositionJournees.grouperParJournee(dpsList).entrySet()) {
+            long debut = System.nanoTime();
+            scoreSequentiel += graphe.affectationCoutMinimal(disponibles.get(entry.getKey()), entry.getValue()).getScore();
+            pireJournee = Math.max(pireJournee, System.nanoTime() - debut);
+        }
+        long t2 = System.nanoTime();
+
+        // Index des disponibilités, tel qu'il serait chargé en une requête pour tout l'horizon
+        Map<LocalDate, List<Long>> identifiants = new HashMap<>();
+        for (Map.Entry<LocalDate, List<Secouriste>> entry : disponibles.entrySet()) {
+            identifiants.put(entry.getKey(), entry.getValue().stream().map(Secouriste::getId).collect(Collectors.toList()));
+        }
+        IndexDisponibilites index = new IndexDisponibilites(secouristes, identifiants);
+
+        long t3 = System.nanoTime();
+        ResultatAffectation parallele = ResultatAffectation.fusionner(
+                new DecompositionJournees().resoudre(dpsList, index, graphe::affectationCoutMinimal).values());
+        long t4 = System.nanoTime();
+
+        System.out.printf("  Séquentiel : %d ms (journée la plus longue : %d ms), parallèle : %d ms%n",
+                (t2 - t1) / 1_000_000, pireJournee / 1_000_000, (t4 - t3) / 1_000_000);
+        System.out.println("    Résultat parallèle : " + parallele);
+        System.out.println("    Score identique au séquentiel : " + (parallele.getScore() == scoreSequentiel));
+
+        // Aucun secouriste n'est affecté deux fois le même jour, ni un jour où il n'est pas disponible
+        boolean coherent = true;
+        for (Map.Entry<LocalDate, List<DPS>> entry : DecompositionJournees.grouperParJournee(dpsList).entrySet()) {
+            Set<Secouriste> vivier = Collections.newSetFromMap(new IdentityHashMap<>());
+            vivier.addAll(disponibles.get(entry.getKey()));
+            Set<Secouriste> affectes = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (DPS d : entry.getValue()) {
+                for (Secouriste s : parallele.getAffectation().get(d)) {
+                    coherent &= vivier.contains(s) && index.estDisponible(s, entry.getKey()) && affectes.add(s);
+                }
+            }
+        }
+        System.out.println("    Affectations cohérentes avec les disponibilités : " + coherent);
+    }
+
+    /**
+     * Test 8 : réparation incrémentale après une modification ponctuelle, comparée à une régénération
+     * complète par flot à coût minimal (nombre de lignes d'affectation modifiées et score).
+     */
+    public static void testReparationIncrementale() {
+        System.out.println("\n=== Test 8 : Réparation Incrémentale ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(7);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+
+        Site site = new Site("SITE8", "Site H", 0, 0);
+        Sport sport = new Sport("SP8", "Escrime");
+        Journee jour = new Journee(3, 8, 2030);
+        LocalDate date = DecompositionJournees.dateDe(jour);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 80; i++) {
+            DPS dps = new DPS(800L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(6)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1));
+            dpsList.add(dps);
+        }
+        List<Long> identifiants = secouristes.stream().map(Secouriste::getId).collect(Collectors.toList());
+        IndexDisponibilites disponibilites = new IndexDisponibilites(secouristes, Map.of(date, identifiants));
+        Map<DPS, List<Secouriste>> affectation = graphe.affectationCoutMinimal(secouristes, dpsList).getAffectation();
+
+        // 1. Un besoin augmente
+        DPS modifie = dpsList.get(5);
+        modifie.getBesoins().get(0).setNombre(modifie.getBesoins().get(0).getNombre() + 2);
+        affectation = comparerReparation("Besoin augmenté", graphe, affectation, dpsList, disponibilites,
+                DeltaAffectation.modificationBesoin(modifie));
+
+        // 2. Un secouriste affecté retire sa disponibilité
+        Secouriste absent = affectation.get(dpsList.get(10)).get(0);
+        List<Long> restants = new ArrayList<>(identifiants);
+        restants.remove(absent.getId());
+        disponibilites = new IndexDisponibilites(secouristes, Map.of(date, restants));
+        affectation = comparerReparation("Disponibilité retirée", graphe, affectation, dpsList, disponibilites,
+                DeltaAffectation.disponibilite(absent, date, false));
+        boolean encoreAffecte = affectation.values().stream().anyMatch(l -> l.contains(absent));
+        System.out.println("    Secouriste indisponible retiré du planning : " + !encoreAffecte);
+
+        // 3. Un DPS est ajouté
+        DPS ajoute = new DPS(900L, Time.valueOf("14:00:00"), Time.valueOf("16:00:00"), site, sport, jour);
+        ajoute.ajouterBesoin(new Besoin(ajoute, new Competence("PSE1"), 2));
+        dpsList.add(ajoute);
+        affectation = comparerReparation("DPS ajouté", graphe, affectation, dpsList, disponibilites,
+                DeltaAffectation.ajoutDPS(ajoute));
+
+        // 4. Un DPS est supprimé : ses secouristes peuvent pourvoir les postes vacants
+        DPS supprime = dpsList.remove(20);
+        comparerReparation("DPS supprimé", graphe, affectation, dpsList, disponibilites,
+                DeltaAffectation.suppressionDPS(supprime));
+    }
+
+    /**
+     * Vérification naïve, deux à deux, qu'aucun secouriste n'est affecté à deux DPS qui se chevauchent.
+     * @return true si aucun chevauchement n'est trouvé
+     */
+    private static boolean sansChevauchement(List<Secouriste> secouristes, List<DPS> dpsList,
+                                             Map<DPS, List<Secouriste>> affectation) {
+        for (Secouriste s : secouristes) {
+            List<DPS> vacations = new ArrayList<>();
+            for (DPS d : dpsList) {
+                if (affectation.get(d).contains(s)) vacations.add(d);
+            }
+            for (int i = 0; i < vacations.size(); i++) {
+                for (int j = i + 1; j < vacations.size(); j++) {
+                    DPS a = vacations.get(i);
+                    DPS b = vacations.get(j);
+                    if (a.getHoraireDep().before(b.getHoraireFin()) && b.getHoraireDep().before(a.getHoraireFin())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applique une réparation et l'affiche à côté d'une régénération complète par flot à coût minimal.
+     * @return l'affectation réparée
+     */
+    private static Map<DPS, List<Secouriste>> comparerReparation(String cas, Graphe graphe, Map<DPS, List<Secouriste>> actuelle,
+                                                                 List<DPS> dpsList, IndexDisponibilites disponibilites,
+                                                                 DeltaAffectation delta) {
+        long t1 = System.nanoTime();
+        ReparationAffectation reparation = graphe.reparerAffectation(actuelle, dpsList, disponibilites, delta);
+        long t2 = System.nanoTime();
+        ResultatAffectation complet = graphe.affectationCoutMinimal(disponibilites.getDisponibles(delta.getDate()), dpsList);
+        long t3 = System.nanoTime();
+
+        int lignesCompletes = 0;
+        Set<DPS> concernes = new HashSet<>(actuelle.keySet());
+        concernes.addAll(complet.getAffectation().keySet());
+        for (DPS d : concernes) {
+            List<Secouriste> avant = actuelle.getOrDefault(d, List.of());
+            List<Secouriste> apres = complet.getAffectation().getOrDefault(d, List.of());
+            lignesCompletes += apres.stream().filter(s -> !avant.contains(s)).count();
+            lignesCompletes += avant.stream().filter(s -> !apres.contains(s)).count();
+        }
+        System.out.printf("  [%s] Réparation : %d ligne(s), score %d, %d poste(s) vacant(s), %d µs | Régénération : %d ligne(s), score %d, %d poste(s) vacant(s), %d µs%n",
+                cas, reparation.getNbModifications(), reparation.getScore(), reparation.getDeficitTotal(), (t2 - t1) / 1_000,
+                lignesCompletes, complet.getScore(), complet.getDeficitTotal(), (t3 - t2) / 1_000);
+        return reparation.getAffectation();
+    }
+
+    /**
+     * Test 9 : recherche exhaustive bornée dans le temps, séquentielle et parallèle. À budget croissant, le score
+     * ne diminue pas, la borne supérieure se resserre, et l'échéance est respectée.
+     */
+    public static void testRechercheBornee() {
+        System.out.println("\n=== Test 9 : Recherche Exhaustive Bornée dans le Temps ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(11);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 24; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE9", "Site I", 0, 0);
+        Sport sport = new Sport("SP9", "Judo");
+        Journee jour = new Journee(4, 8, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            DPS dps = new DPS(900L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        int scoreGlouton = graphe.evaluerAffectation(graphe.affectationGloutonne(secouristes, dpsList));
+        System.out.println("  Score glouton : " + scoreGlouton);
+        int scorePrecedent = -1;
+        int borneFinale = Integer.MAX_VALUE;
+        for (long budgetMs : new long[]{0, 20, 200, 2_000}) {
+            ResultatRechercheBornee resultat = graphe.affectationExhaustiveBornee(secouristes, dpsList, Duration.ofMillis(budgetMs));
+            System.out.printf("  Budget %5d ms : %s | borne %d | %d nœuds | %d ms%n",
+                    budgetMs, resultat, resultat.getBorneSuperieure(), graphe.getNbNoeudsExplores(), resultat.getDureeMillis());
+            if (resultat.getScore() < scorePrecedent || resultat.getScore() < scoreGlouton) {
+                System.out.println("    ERREUR : le score a diminué");
+            }
+            if (resultat.getScore() != graphe.evaluerAffectation(resultat.getAffectation())) {
+                System.out.println("    ERREUR : score annoncé différent du score de l'affectation");
+            }
+            scorePrecedent = resultat.getScore();
+            borneFinale = Math.min(borneFinale, resultat.getBorneSuperieure());
+
+            // Variante parallèle, soumise à la même échéance
+            ResultatRechercheBornee parallele = graphe.affectationExhaustiveParalleleBornee(secouristes, dpsList, Duration.ofMillis(budgetMs));
+            System.out.printf("    [Parallèle] %s | borne %d | %d ms%n", parallele, parallele.getBorneSuperieure(), parallele.getDureeMillis());
+            if (parallele.getScore() < scoreGlouton || parallele.getScore() != graphe.evaluerAffectation(parallele.getAffectation())) {
+                System.out.println("    ERREUR : score parallèle incohérent");
+            }
+            borneFinale = Math.min(borneFinale, parallele.getBorneSuperieure());
+        }
+        int optimum = graphe.evaluerAffectation(graphe.affectationExhaustive(secouristes, dpsList));
+        System.out.println("  Optimum (recherche complète) : " + optimum + " | bornes toutes ≥ optimum : " + (borneFinale >= optimum));
+    }
+
+    /**
+     * Test 10 : amélioration de la solution gloutonne par recherche locale, sur le piège du test 2
+     * puis sur une instance aléatoire comparée au flot à coût minimal et à la recherche exhaustive bornée.
+     */
+    public static void testRechercheLocale() {
+        System.out.println("\n=== Test 10 : Glouton Amélioré par Recherche Locale ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+
+        // Piège du test 2 : le polyvalent pris pour le DPS A doit être rendu au DPS B
+        Competence compA = new Competence("PSE2");
+        Competence compB = new Competence("Chef de Poste");
+        Competence compC = new Competence("Conduite VPSP");
+        List<Secouriste> piege = Arrays.asList(
+                creerSecouriste(1, "Poly", "Valentin", List.of(compA, compB)),
+                creerSecouriste(3, "SpeA", "Arthur", List.of(compA)),
+                creerSecouriste(2, "SpeC", "Cécile", List.of(compC)));
+        Site site = new Site("SITE10", "Site J", 0, 0);
+        Sport sport = new Sport("SP10", "Aviron");
+        Journee jour = new Journee(5, 8, 2030);
+        List<DPS> dpsPiege = new ArrayList<>();
+        Competence[] competencesPiege = {compA, compB, compC};
+        for (int i = 0; i < 3; i++) {
+            DPS dps = new DPS(1000L + i, Time.valueOf("09:00:00"), Time.valueOf("11:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, competencesPiege[i], 1));
+            dpsPiege.add(dps);
+        }
+        System.out.printf("  [Piège] Glouton : %d | Glouton amélioré : %d | Exhaustif : %d%n",
+                graphe.evaluerAffectation(graphe.affectationGloutonne(piege, dpsPiege)),
+                graphe.evaluerAffectation(graphe.affectationGloutonneAmelioree(piege, dpsPiege)),
+                graphe.evaluerAffectation(graphe.affectationExhaustive(piege, dpsPiege)));
+
+        // Instance aléatoire plus tendue que l'effectif disponible
+        Random random = new Random(13);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 220; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            DPS dps = new DPS(1100L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> glouton = graphe.affectationGloutonne(secouristes, dpsList);
+        long t2 = System.nanoTime();
+        Map<DPS, List<Secouriste>> ameliore = graphe.affectationGloutonneAmelioree(secouristes, dpsList);
+        long t3 = System.nanoTime();
+        ResultatAffectation coutMin = graphe.affectationCoutMinimal(secouristes, dpsList);
+        long t4 = System.nanoTime();
+        ResultatRechercheBornee borne = graphe.affectationExhaustiveBornee(secouristes, dpsList, Duration.ofSeconds(1));
+        System.out.printf("  [Aléatoire] Glouton : %d (%d ms) | Glouton amélioré : %d (%d ms) | Coût min : %d (%d ms) | Exhaustif 1 s : %d, borne %d%n",
+                graphe.evaluerAffectation(glouton), (t2 - t1) / 1_000_000, graphe.evaluerAffectation(ameliore), (t3 - t2) / 1_000_000,
+                coutMin.getScore(), (t4 - t3) / 1_000_000, borne.getScore(), borne.getBorneSuperieure());
+
+        Set<Secouriste> vus = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean doublon = false;
+        for (List<Secouriste> equipe : ameliore.values()) {
+            for (Secouriste s : equipe) doublon |= !vus.add(s);
+        }
+        System.out.println("    Aucun secouriste affecté deux fois : " + !doublon
+                + " | Résultat reproductible : " + ameliore.equals(graphe.affectationGloutonneAmelioree(secouristes, dpsList)));
+    }
+
+    /**
+     * Test 11 : évaluation incrémentale. Une suite aléatoire d'affectations et de retraits est suivie par
+     * l'évaluateur, dont le score est comparé à {@link Graphe#evaluerAffectation(Map)} à intervalles réguliers.
+     */
+    public static void testEvaluationIncrementale() {
+        System.out.println("\n=== Test 11 : Évaluation Incrémentale ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(17);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE11", "Site K", 0, 0);
+        Sport sport = new Sport("SP11", "Tir");
+        Journee jour = new Journee(6, 8, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 150; i++) {
+            DPS dps = new DPS(1300L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        Map<DPS, List<Secouriste>> affectation = graphe.affectationGloutonne(secouristes, dpsList);
+        EvaluateurIncremental evaluateur = graphe.evaluateurIncremental(secouristes, dpsList, affectation);
+        boolean coherent = evaluateur.getScore() == graphe.evaluerAffectation(affectation);
+        int nbOperations = 200_000;
+        long tempsIncremental = 0;
+        for (int i = 1; i <= nbOperations; i++) {
+            DPS dps = dpsList.get(random.nextInt(dpsList.size()));
+            List<Secouriste> equipe = affectation.get(dps);
+            long t1 = System.nanoTime();
+            if (!equipe.isEmpty() && random.nextBoolean()) {
+                evaluateur.retirer(equipe.remove(random.nextInt(equipe.size())), dps);
+            } else {
+                Secouriste secouriste = secouristes.get(random.nextInt(secouristes.size()));
+                equipe.add(secouriste);
+                evaluateur.affecter(secouriste, dps);
+            }
+            tempsIncremental += System.nanoTime() - t1;
+            if (i % 20_000 == 0) coherent &= evaluateur.getScore() == graphe.evaluerAffectation(affectation);
+        }
+        long t2 = System.nanoTime();
+        int reference = graphe.evaluerAffectation(affectation);
+        long tempsComplet = System.nanoTime() - t2;
+        System.out.printf("  %d opérations : %d ns par mise à jour incrémentale, %d µs par évaluation complète | Score %d | Cohérent : %b%n",
+                nbOperations, tempsIncremental / nbOperations, tempsComplet / 1_000, reference, coherent && reference == evaluateur.getScore());
+    }
+
+    /**
+     * Test 12 : recherche GRASP (constructions gloutonnes randomisées en parallèle). Le résultat doit être
+     * identique quel que soit le nombre de threads, et au moins aussi bon que le glouton.
+     */
+    public static void testGrasp() {
+        System.out.println("\n=== Test 12 : GRASP Multi-Démarrages ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(19);
+
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 220; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE12", "Site L", 0, 0);
+        Sport sport = new Sport("SP12", "Voile");
+        Journee jour = new Journee(7, 8, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            DPS dps = new DPS(1500L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        long t1 = System.nanoTime();
+        int glouton = graphe.evaluerAffectation(graphe.affectationGloutonne(secouristes, dpsList));
+        long t2 = System.nanoTime();
+        Map<DPS, List<Secouriste>> sequentiel = graphe.affectationGrasp(secouristes, dpsList, 64, 1, 42);
+        long t3 = System.nanoTime();
+        Map<DPS, List<Secouriste>> parallele = graphe.affectationGrasp(secouristes, dpsList, 64, 4, 42);
+        long t4 = System.nanoTime();
+        System.out.printf("  Glouton : %d (%d ms) | GRASP 64 démarrages, 1 thread : %d (%d ms) | 4 threads : %d (%d ms)%n",
+                glouton, (t2 - t1) / 1_000_000, graphe.evaluerAffectation(sequentiel), (t3 - t2) / 1_000_000,
+                graphe.evaluerAffectation(parallele), (t4 - t3) / 1_000_000);
+        System.out.println("    Identique quel que soit le nombre de threads : " + sequentiel.equals(parallele));
+    }
+
+    /**
+     * Test 13 : glouton par rareté et regret. Des chefs de poste (CP, qui impliquent PSE1) placés en tête
+     * de liste sont consommés par le glouton sur un besoin PSE1 ; le glouton par regret les réserve au besoin
+     * d'encadrement. Sur une grande instance, le temps d'exécution reste comparable à celui du glouton.
+     */
+    public static void testGloutonRegret() {
+        System.out.println("\n=== Test 13 : Glouton par Rareté et Regret ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) secouristes.add(creerSecouriste(i, "Chef" + i, "Poste", List.of(new Competence("CP"))));
+        for (int i = 5; i <= 10; i++) secouristes.add(creerSecouriste(i, "Equipier" + i, "Pse", List.of(new Competence("PSE1"))));
+        Site site = new Site("SITE13", "Site M", 0, 0);
+        Sport sport = new Sport("SP13", "Triathlon");
+        Journee jour = new Journee(8, 8, 2030);
+        DPS grandPoste = new DPS(1700L, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour);
+        grandPoste.ajouterBesoin(new Besoin(grandPoste, new Competence("PSE1"), 6));
+        DPS encadrement = new DPS(1701L, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour);
+        encadrement.ajouterBesoin(new Besoin(encadrement, new Competence("CP"), 2));
+        encadrement.ajouterBesoin(new Besoin(encadrement, new Competence("CE"), 2));
+        List<DPS> dpsList = List.of(grandPoste, encadrement);
+        System.out.printf("  [Cadres rares] Glouton : %d | Glouton regret : %d | Exhaustif : %d%n",
+                graphe.evaluerAffectation(graphe.affectationGloutonne(secouristes, dpsList)),
+                graphe.evaluerAffectation(graphe.affectationGloutonneRegret(secouristes, dpsList)),
+                graphe.evaluerAffectation(graphe.affectationExhaustive(secouristes, dpsList)));
+
+        // Grande instance tendue : 6 000 secouristes, 3 000 DPS sur une journée
+        Random random = new Random(23);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> grandeListe = new ArrayList<>();
+        for (int i = 1; i <= 6_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            grandeListe.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        List<DPS> grandsDPS = new ArrayList<>();
+        for (int i = 1; i <= 3_000; i++) {
+            DPS dps = new DPS(2000L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            grandsDPS.add(dps);
+        }
+        long t1 = System.nanoTime();
+        int glouton = graphe.evaluerAffectation(graphe.affectationGloutonne(grandeListe, grandsDPS));
+        long t2 = System.nanoTime();
+        int regret = graphe.evaluerAffectation(graphe.affectationGloutonneRegret(grandeListe, grandsDPS));
+        long t3 = System.nanoTime();
+        System.out.printf("  [6 000 secouristes, 3 000 DPS] Glouton : %d (%d ms) | Glouton regret : %d (%d ms)%n",
+                glouton, (t2 - t1) / 1_000_000, regret, (t3 - t2) / 1_000_000);
+    }
+
+    /**
+     * Test 14 : vérification de faisabilité avant résolution. Le 14/02, 5 chefs d'équipe (dont 2 chefs de poste)
+     * pour 15 postes CE (pénurie propre à la compétence) ; le 15/02, 2 chefs de poste pour 2 postes CP et 2 postes CE
+     * (chaque compétence est pourvoyable seule, mais pas les deux à la fois) ; le 16/02 est réalisable.
+     * Sur un grand plan, le rapport est comparé au déficit de la résolution par flot à coût minimal.
+     */
+    public static void testVerificationFaisabilite() {
+        System.out.println("\n=== Test 14 : Vérification de Faisabilité ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) secouristes.add(creerSecouriste(i, "Chef" + i, "Equipe", List.of(new Competence("CE"))));
+        for (int i = 4; i <= 5; i++) secouristes.add(creerSecouriste(i, "Chef" + i, "Poste", List.of(new Competence("CP"))));
+        for (int i = 6; i <= 12; i++) secouristes.add(creerSecouriste(i, "Equipier" + i, "Pse", List.of(new Competence("PSE1"))));
+        Site site = new Site("SITE14", "Site N", 0, 0);
+        Sport sport = new Sport("SP14", "Biathlon");
+        Journee jour1 = new Journee(14, 2, 2030);
+        Journee jour2 = new Journee(15, 2, 2030);
+        Journee jour3 = new Journee(16, 2, 2030);
+
+        DPS encadrementMassif = new DPS(1800L, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour1);
+        encadrementMassif.ajouterBesoin(new Besoin(encadrementMassif, new Competence("CE"), 15));
+        encadrementMassif.ajouterBesoin(new Besoin(encadrementMassif, new Competence("PSE1"), 4));
+        DPS encadrementConjoint = new DPS(1801L, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour2);
+        encadrementConjoint.ajouterBesoin(new Besoin(encadrementConjoint, new Competence("CP"), 2));
+        encadrementConjoint.ajouterBesoin(new Besoin(encadrementConjoint, new Competence("CE"), 2));
+        DPS posteSimple = new DPS(1802L, Time.valueOf("08:00:00"), Time.valueOf("18:00:00"), site, sport, jour3);
+        posteSimple.ajouterBesoin(new Besoin(posteSimple, new Competence("PSE1"), 5));
+        posteSimple.ajouterBesoin(new Besoin(posteSimple, new Competence("CE"), 1));
+        List<DPS> dpsList = List.of(encadrementMassif, encadrementConjoint, posteSimple);
+
+        List<Long> tous = secouristes.stream().map(Secouriste::getId).collect(Collectors.toList());
+        IndexDisponibilites disponibilites = new IndexDisponibilites(secouristes, Map.of(
+                DecompositionJournees.dateDe(jour1), tous,
+                DecompositionJournees.dateDe(jour2), List.of(4L, 5L),
+                DecompositionJournees.dateDe(jour3), tous));
+        RapportFaisabilite rapport = graphe.verifierFaisabilite(dpsList, disponibilites);
+        System.out.println("  Rapport :\n    " + rapport.toString().replace("\n", "\n    "));
+        for (RapportFaisabilite.BilanJournee journee : rapport.getJournees()) {
+            System.out.printf("  [%s] Demande : %d | Couverture maximale : %d | Déficit : %d%n",
+                    journee.getDate(), journee.getDemande(), journee.getCouvertureMaximale(), journee.getDeficit());
+        }
+        System.out.println("    Pénuries par compétence : " + rapport.getPenuries().size()
+                + " | Réalisable : " + rapport.isRealisable());
+
+        // Grand plan tendu : 10 journées de 600 DPS, 4 000 secouristes disponibles chacun 6 jours sur 10
+        Random random = new Random(14);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> grandeListe = new ArrayList<>();
+        for (int i = 1; i <= 4_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            grandeListe.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        List<DPS> grandsDPS = new ArrayList<>();
+        Map<LocalDate, List<Long>> identifiants = new HashMap<>();
+        for (int j = 0; j < 10; j++) {
+            Journee jour = new Journee(1 + j, 9, 2030);
+            for (int i = 1; i <= 600; i++) {
+                DPS dps = new DPS(1000L * (j + 1) + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(6)]), 1 + random.nextInt(4)));
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+                grandsDPS.add(dps);
+            }
+            List<Long> vivier = new ArrayList<>();
+            for (Secouriste s : grandeListe) {
+                if (random.nextInt(10) < 6) vivier.add(s.getId());
+            }
+            identifiants.put(DecompositionJournees.dateDe(jour), vivier);
+        }
+        IndexDisponibilites index = new IndexDisponibilites(grandeListe, identifiants);
+        long t1 = System.nanoTime();
+        RapportFaisabilite grandRapport = graphe.verifierFaisabilite(grandsDPS, index);
+        long t2 = System.nanoTime();
+        ResultatAffectation resolution = ResultatAffectation.fusionner(
+                new DecompositionJournees().resoudre(grandsDPS, index, graphe::affectationCoutMinimal).values());
+        long t3 = System.nanoTime();
+        System.out.printf("  [10 journées, 6 000 DPS] Vérification : %d ms | Résolution : %d ms%n",
+                (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000);
+        System.out.println("    Postes non pourvus prévus : " + grandRapport.getDeficitTotal()
+                + " | après résolution : " + resolution.getDeficitTotal()
+                + " | Pénuries par compétence : " + grandRapport.getPenuries().size());
+    }
+
+    /**
+     * Test 15 : registre des stratégies d'affectation. Chaque stratégie enregistrée résout la même journée ;
+     * les recherches exhaustives non interruptibles ne sont lancées que sur une instance que leur complexité admet.
+     * Le choix automatique retient la programmation dynamique sur une petite instance, le glouton amélioré au-delà.
+     */
+    public static void testRegistreStrategies() {
+        System.out.println("\n=== Test 15 : Registre des Stratégies ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        RegistreStrategies registre = RegistreStrategies.standard(graphe);
+        System.out.println("  Stratégies : " + registre.getNoms());
+
+        Random random = new Random(15);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE15", "Site O", 0, 0);
+        Sport sport = new Sport("SP15", "Pentathlon");
+        Journee jour = new Journee(15, 9, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 8_000; i++) {
+            DPS dps = new DPS(1500L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(6)]), 1 + random.nextInt(2)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1));
+            dpsList.add(dps);
+        }
+
+        // Choix automatique selon la taille de l'instance
+        int[][] tailles = {{20, 5}, {200, 60}, {20_000, 8_000}};
+        for (int[] taille : tailles) {
+            List<Secouriste> vivier = secouristes.subList(0, taille[0]);
+            List<DPS> dpsDuJour = dpsList.subList(0, taille[1]);
+            System.out.printf("  [%d secouristes, %d DPS] Choix automatique : %s%n",
+                    taille[0], taille[1], registre.choisir(vivier, dpsDuJour).getNom());
+        }
+
+        // Toutes les stratégies sur une journée moyenne, par leur nom
+        List<Secouriste> vivier = secouristes.subList(0, 60);
+        List<DPS> dpsDuJour = dpsList.subList(0, 25);
+        java.time.Instant echeance = java.time.Instant.now().plusMillis(500);
+        for (String nom : registre.getNoms()) {
+            boolean petite = !nom.equals(RegistreStrategies.AUTOMATIQUE)
+                    && registre.get(nom).getComplexite() == StrategieAffectation.Complexite.EXPONENTIELLE;
+            long debut = System.nanoTime();
+            ResultatAffectation resultat = petite
+                    ? registre.resoudre(nom, secouristes.subList(0, 20), dpsList.subList(0, 5), echeance)
+                    : registre.resoudre(nom, vivier, dpsDuJour, echeance);
+            long duree = (System.nanoTime() - debut) / 1_000_000;
+            System.out.printf("  [%s%s] Temps : %5d ms | Score : %d | Postes non pourvus : %d | Score cohérent : %b%n",
+                    nom, petite ? ", petite instance" : "", duree, resultat.getScore(), resultat.getDeficitTotal(),
+                    resultat.getScore() == graphe.evaluerAffectation(resultat.getAffectation()));
+        }
+
+        try {
+            registre.get("Inconnue");
+            System.out.println("    Stratégie inconnue acceptée : ERREUR");
+        } catch (IllegalArgumentException e) {
+            System.out.println("    Stratégie inconnue refusée : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test 16 : représentation entière des DPS et des équipes. Les équipes énumérées pour des DPS tirés au hasard
+     * sont toutes distinctes et leur nombre est celui d'une énumération de référence dédoublonnée par un
+     * ensemble de listes ; la recherche exhaustive complète rapporte ensuite ses nœuds par seconde et, si la JVM
+     * le permet, la mémoire allouée par nœud.
+     */
+    public static void testInternement() {
+        System.out.println("\n=== Test 16 : Internement des DPS et des Équipes ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(16);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "VPSP", "PBF", "PBC"};
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE16", "Site P", 0, 0);
+        Sport sport = new Sport("SP16", "Canoë");
+        Journee jour = new Journee(16, 9, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            DPS dps = new DPS(1600L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            for (int b = 0; b < 1 + random.nextInt(3); b++) {
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            }
+            dpsList.add(dps);
+        }
+
+        ClassesEquivalence classes = new ClassesEquivalence(MatriceEligibilite.pour(dag, secouristes, dpsList));
+        BesoinsInternes besoins = new BesoinsInternes(classes.getEligibilite(), dpsList);
+        long equipes = 0;
+        boolean distinctes = true;
+        boolean completes = true;
+        for (int d = 0; d < dpsList.size(); d++) {
+            Set<List<Integer>> produites = new HashSet<>();
+            IterateurEquipes iterateur = graphe.genererCombinaisonsOptimalesPourDPS(besoins, d, classes, classes.effectifs());
+            long repartitions = 0;
+            while (iterateur.suivante()) {
+                List<Integer> equipe = new ArrayList<>();
+                for (int effectif : iterateur.courante()) equipe.add(effectif);
+                distinctes &= produites.add(equipe);
+                repartitions++;
+            }
+            repartitions += iterateur.getNbDoublons();
+            // Référence : énumération récursive de toutes les répartitions, dédoublonnées par un ensemble de listes
+            int[] competences = besoins.getCompetences(d);
+            int[][] eligibles = new int[competences.length][];
+            for (int i = 0; i < competences.length; i++) eligibles[i] = classes.getClassesEligibles(competences[i]);
+            Set<List<Integer>> reference = new HashSet<>();
+            long repartitionsReference = enumererRepartitions(0, eligibles, besoins.getRequis(d), classes.effectifs(),
+                    new int[classes.getNbClasses()], reference);
+            completes &= reference.equals(produites) && repartitions == repartitionsReference;
+            equipes += produites.size();
+        }
+        System.out.println("  Équipes énumérées pour 30 DPS : " + equipes + " | Toutes distinctes : " + distinctes
+                + " | Identiques à la référence : " + completes);
+
+        // Recherche exhaustive complète : débit et allocation
+        List<DPS> petits = dpsList.subList(0, 6);
+        List<Secouriste> vivier = secouristes.subList(0, 16);
+        java.lang.management.ThreadMXBean mxBean = java.lang.management.ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = mxBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) mxBean : null;
+        graphe.setElagage(false);
+        long octetsAvant = allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> exhaustif = graphe.affectationExhaustive(vivier, petits);
+        long t2 = System.nanoTime();
+        long octets = allocations != null ? allocations.getCurrentThreadAllocatedBytes() - octetsAvant : -1;
+        graphe.setElagage(true);
+        long noeuds = graphe.getNbNoeudsExplores();
+        System.out.printf("  [Exhaustif sans élagage] Score : %d | %d nœuds en %d ms (%d nœuds/ms)%s%n",
+                graphe.evaluerAffectation(exhaustif), noeuds, (t2 - t1) / 1_000_000,
+                noeuds / Math.max(1, (t2 - t1) / 1_000_000),
+                octets >= 0 ? String.format(" | %.1f octets alloués par nœud", (double) octets / Math.max(1, noeuds)) : "");
+    }
+
+    /**
+     * Test 17 : ordre « échec d'abord » et domaines vivants de la recherche exhaustive, sur une journée tendue
+     * (compétences rares, besoins supérieurs à l'offre). Le score optimal ne dépend pas de l'ordre de parcours ;
+     * le nombre de nœuds explorés doit nettement baisser, et la recherche parallèle rester identique à la séquentielle.
+     */
+    public static void testPremierEchec() {
+        System.out.println("\n=== Test 17 : Ordre « Échec d'Abord » et Domaines Vivants ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(17);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 18; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE17", "Site Q", 0, 0);
+        Sport sport = new Sport("SP17", "Escrime");
+        Journee jour = new Journee(17, 9, 2030);
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            DPS dps = new DPS(1700L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+
+        int[] scores = new int[2];
+        long[] noeuds = new long[2];
+        for (int i = 0; i < 2; i++) {
+            graphe.setPremierEchec(i == 1);
+            long t1 = System.nanoTime();
+            Map<DPS, List<Secouriste>> exhaustif = graphe.affectationExhaustive(secouristes, dpsList);
+            long t2 = System.nanoTime();
+            scores[i] = graphe.evaluerAffectation(exhaustif);
+            noeuds[i] = graphe.getNbNoeudsExplores();
+            afficherStatistiques(i == 1 ? "Exhaustif (échec d'abord)" : "Exhaustif (ordre de la liste)", "Journée tendue",
+                    graphe, secouristes, dpsList, exhaustif, (t2 - t1) / 1_000_000);
+        }
+        System.out.println("    Nœuds explorés : " + noeuds[0] + " dans l'ordre de la liste, " + noeuds[1] + " échec d'abord"
+                + " | Scores identiques : " + (scores[0] == scores[1]));
+
+        Map<DPS, List<Secouriste>> sequentiel = graphe.affectationExhaustive(secouristes, dpsList);
+        Map<DPS, List<Secouriste>> parallele = graphe.affectationExhaustiveParallele(secouristes, dpsList);
+        System.out.println("    Résultat parallèle identique au séquentiel : " + parallele.equals(sequentiel));
+    }
+
+    /**
+     * Test 18 : programmation dynamique sur les états (DPS, secouristes libres) pour les petites journées.
+     * Sur des journées aléatoires de moins de 25 candidats, le score doit être celui de la recherche exhaustive ;
+     * sur une journée tendue, le nombre d'états résolus est comparé au nombre de nœuds du backtracking, et le
+     * choix automatique du registre doit retenir la programmation dynamique.
+     */
+    public static void testProgrammationDynamique() {
+        System.out.println("\n=== Test 18 : Programmation Dynamique sur les Petites Journées ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(18);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "CO", "VPSP", "PBF", "PBC"};
+        Site site = new Site("SITE18", "Site R", 0, 0);
+        Sport sport = new Sport("SP18", "Triathlon");
+        Journee jour = new Journee(18, 9, 2030);
+
+        int journees = 0;
+        boolean identiques = true;
+        for (int essai = 0; essai < 30; essai++) {
+            List<Secouriste> secouristes = new ArrayList<>();
+            for (int i = 1; i <= 10 + random.nextInt(10); i++) {
+                List<Competence> competences = new ArrayList<>();
+                competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+                if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+                secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+            }
+            List<DPS> dpsList = new ArrayList<>();
+            for (int i = 1; i <= 4 + random.nextInt(5); i++) {
+                DPS dps = new DPS(1800L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+                dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+                if (random.nextBoolean()) {
+                    dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1));
+                }
+                dpsList.add(dps);
+            }
+            if (!graphe.admetProgrammationDynamique(secouristes, dpsList)) continue;
+            journees++;
+            identiques &= graphe.evaluerAffectation(graphe.affectationProgrammationDynamique(secouristes, dpsList))
+                    == graphe.evaluerAffectation(graphe.affectationExhaustive(secouristes, dpsList));
+        }
+        System.out.println("  Journées aléatoires admises : " + journees + "/30 | Scores identiques à l'exhaustif : " + identiques);
+
+        // Journée tendue : les chemins du backtracking convergent vers peu d'états distincts
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 18; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        List<DPS> dpsList = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            DPS dps = new DPS(1850L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(3)));
+            dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+            dpsList.add(dps);
+        }
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> exhaustif = graphe.affectationExhaustive(secouristes, dpsList);
+        long t2 = System.nanoTime();
+        long noeuds = graphe.getNbNoeudsExplores();
+        afficherStatistiques("Exhaustif", "Journée tendue", graphe, secouristes, dpsList, exhaustif, (t2 - t1) / 1_000_000);
+        long t3 = System.nanoTime();
+        Map<DPS, List<Secouriste>> dynamique = graphe.affectationProgrammationDynamique(secouristes, dpsList);
+        long t4 = System.nanoTime();
+        afficherStatistiques("Programmation dynamique", "Journée tendue", graphe, secouristes, dpsList, dynamique, (t4 - t3) / 1_000_000);
+        System.out.println("    " + noeuds + " nœuds de backtracking, " + graphe.getNbNoeudsExplores() + " états résolus"
+                + " | Scores identiques : " + (graphe.evaluerAffectation(exhaustif) == graphe.evaluerAffectation(dynamique)));
+        System.out.println("    Choix automatique : " + RegistreStrategies.standard(graphe).choisir(secouristes, dpsList).getNom());
+    }
+
+    /**
+     * Test 19 : affectation multi-vacations, où un secouriste peut couvrir plusieurs DPS d'horaires disjoints.
+     * Sur une journée aux horaires décalés, aucun secouriste ne doit être affecté à deux DPS qui se chevauchent
+     * (vérification naïve deux à deux) et davantage de postes doivent être pourvus qu'avec le glouton simple ;
+     * quand tous les DPS se chevauchent, le résultat doit être celui du glouton simple. Le planning multi-vacations
+     * est ensuite réparé (DPS ajouté, secouriste devenu indisponible) sans perdre ses vacations successives ni créer
+     * de chevauchement, et la vérification de faisabilité en multi-vacations ne doit pas annoncer plus de postes
+     * vacants que le glouton multi-vacations n'en laisse. Les temps d'exécution des deux gloutons sont enfin
+     * comparés à grande échelle.
+     */
+    public static void testMultiVacations() {
+        System.out.println("\n=== Test 19 : Affectation Multi-Vacations ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        Random random = new Random(19);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP", "VPSP", "PBF", "PBC"};
+        String[][] horaires = {{"08:00:00", "10:00:00"}, {"10:00:00", "12:00:00"}, {"09:00:00", "11:30:00"},
+                {"13:00:00", "17:00:00"}, {"14:00:00", "15:30:00"}, {"17:00:00", "20:00:00"}};
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
         }
-        // S'assurer que les compétences de base du DAG sont aussi là si elles sont utilisées
-        competences.add(new Competence("PSE1"));
-        competences.add(new Competence("PSE2"));
-        competences.add(new Competence("Chef de Poste"));
-        // ... reste du test inchangé
+        Site site = new Site("SITE19", "Site S", 0, 0);
+        Sport sport = new Sport("SP19", "Cyclisme");
+        Journee jour = new Journee(19, 9, 2030);
+        List<DPS> decales = new ArrayList<>();
+        List<DPS> simultanes = new ArrayList<>();
+        for (int i = 1; i <= 8_000; i++) {
+            String[] horaire = horaires[random.nextInt(horaires.length)];
+            DPS dps = new DPS(19_000L + i, Time.valueOf(horaire[0]), Time.valueOf(horaire[1]), site, sport, jour);
+            DPS simultane = new DPS(29_000L + i, Time.valueOf("09:00:00"), Time.valueOf("12:00:00"), site, sport, jour);
+            for (int b = 0; b < 1 + random.nextInt(2); b++) {
+                Competence competence = new Competence(intitules[random.nextInt(intitules.length)]);
+                int nombre = 1 + random.nextInt(3);
+                dps.ajouterBesoin(new Besoin(dps, competence, nombre));
+                simultane.ajouterBesoin(new Besoin(simultane, competence, nombre));
+            }
+            decales.add(dps);
+            simultanes.add(simultane);
+        }
+
+        // Journée aux horaires décalés, à effectif réduit
+        List<Secouriste> vivier = secouristes.subList(0, 80);
+        List<DPS> dpsDuJour = decales.subList(0, 60);
+        Map<DPS, List<Secouriste>> simple = graphe.affectationGloutonne(vivier, dpsDuJour);
+        Map<DPS, List<Secouriste>> multi = graphe.affectationGloutonneMultiVacations(vivier, dpsDuJour);
+        afficherStatistiques("Glouton", "Horaires décalés", graphe, vivier, dpsDuJour, simple, 0);
+        afficherStatistiques("Glouton multi-vacations", "Horaires décalés", graphe, vivier, dpsDuJour, multi, 0);
+
+        int vacationsMax = 0;
+        for (Secouriste s : vivier) {
+            vacationsMax = Math.max(vacationsMax, (int) dpsDuJour.stream().filter(d -> multi.get(d).contains(s)).count());
+        }
+        System.out.println("    Aucun chevauchement : " + sansChevauchement(vivier, dpsDuJour, multi)
+                + " | Vacations au plus par secouriste : " + vacationsMax);
+
+        // Tous les DPS simultanés : même résultat que le glouton simple
+        System.out.println("    DPS simultanés, résultat identique au glouton simple : "
+                + graphe.affectationGloutonneMultiVacations(vivier, simultanes.subList(0, 60))
+                        .equals(graphe.affectationGloutonne(vivier, simultanes.subList(0, 60))));
+
+        // Vérification de faisabilité : la variante multi-vacations n'annonce pas de pénurie évitable
+        LocalDate date = DecompositionJournees.dateDe(jour);
+        List<Long> identifiants = vivier.stream().map(Secouriste::getId).collect(Collectors.toList());
+        IndexDisponibilites disponibilites = new IndexDisponibilites(vivier, Map.of(date, identifiants));
+        int vacantsMulti = graphe.evaluerResultat(multi, dpsDuJour).getDeficitTotal();
+        int deficitUnique = graphe.verifierFaisabilite(dpsDuJour, disponibilites).getDeficitTotal();
+        int deficitMulti = graphe.verifierFaisabilite(dpsDuJour, disponibilites, true).getDeficitTotal();
+        System.out.println("    Postes vacants annoncés : " + deficitUnique + " (un DPS par secouriste), " + deficitMulti
+                + " (multi-vacations) | Laissés par le glouton multi-vacations : " + vacantsMulti
+                + " | Cohérent : " + (deficitMulti <= vacantsMulti));
+
+        // Réparation : les vacations successives sont conservées
+        List<DPS> repares = new ArrayList<>(dpsDuJour);
+        DPS ajoute = new DPS(19_999L, Time.valueOf("20:00:00"), Time.valueOf("22:00:00"), site, sport, jour);
+        ajoute.ajouterBesoin(new Besoin(ajoute, new Competence("PSE1"), 2));
+        repares.add(ajoute);
+        ReparationAffectation apresAjout = graphe.reparerAffectation(multi, repares, disponibilites,
+                DeltaAffectation.ajoutDPS(ajoute));
+        int conservees = 0;
+        int vacations = 0;
+        for (DPS d : dpsDuJour) {
+            vacations += multi.get(d).size();
+            conservees += multi.get(d).stream().filter(apresAjout.getAffectation().get(d)::contains).count();
+        }
+        System.out.println("    [DPS ajouté] Vacations conservées : " + conservees + "/" + vacations
+                + " | Aucun chevauchement : " + sansChevauchement(vivier, repares, apresAjout.getAffectation())
+                + " | Postes vacants : " + apresAjout.getDeficitTotal());
+
+        Secouriste absent = vivier.stream()
+                .filter(s -> dpsDuJour.stream().filter(d -> multi.get(d).contains(s)).count() > 1)
+                .findFirst().orElseThrow();
+        List<Long> restants = new ArrayList<>(identifiants);
+        restants.remove(absent.getId());
+        ReparationAffectation apresRetrait = graphe.reparerAffectation(apresAjout.getAffectation(), repares,
+                new IndexDisponibilites(vivier, Map.of(date, restants)), DeltaAffectation.disponibilite(absent, date, false));
+        boolean retire = apresRetrait.getAffectation().values().stream().noneMatch(l -> l.contains(absent));
+        System.out.println("    [Disponibilité retirée] Secouriste retiré de toutes ses vacations : " + retire
+                + " | Lignes modifiées : " + apresRetrait.getNbModifications()
+                + " | Aucun chevauchement : " + sansChevauchement(vivier, repares, apresRetrait.getAffectation())
+                + " | Postes vacants : " + apresRetrait.getDeficitTotal());
 
-        // Reste de l'implémentation comme dans la version d'origine
+        // Grande échelle
+        long t1 = System.nanoTime();
+        Map<DPS, List<Secouriste>> simpleGrand = graphe.affectationGloutonne(secouristes, decales);
+        long t2 = System.nanoTime();
+        Map<DPS, List<Secouriste>> multiGrand = graphe.affectationGloutonneMultiVacations(secouristes, decales);
+        long t3 = System.nanoTime();
+        afficherStatistiques("Glouton", "Grande échelle", graphe, secouristes, decales, simpleGrand, (t2 - t1) / 1_000_000);
+        afficherStatistiques("Glouton multi-vacations", "Grande échelle", graphe, secouristes, decales, multiGrand, (t3 - t2) / 1_000_000);
+    }
+
+    /**
+     * Test 20 : plafonds horaires. Deux semaines de DPS de durées variées sont résolues jour après jour par chaque
+     * stratégie non exponentielle, la charge horaire enregistrant chaque journée avant la suivante. Les cumuls
+     * sont ensuite recomptés naïvement à partir des affectations pour vérifier qu'aucun plafond n'est dépassé
+     * et que la charge tenue par les solveurs concorde.
+     */
+    public static void testPlafondsHoraires() {
+        System.out.println("\n=== Test 20 : Plafonds Horaires ===");
+        DAG dag = new DAG();
+        Graphe graphe = new Graphe(dag);
+        RegistreStrategies registre = RegistreStrategies.standard(graphe);
+        Random random = new Random(20);
+        String[] intitules = {"SSA", "PSE1", "PSE2", "CE", "CP"};
+        String[][] horaires = {{"08:00:00", "10:00:00"}, {"09:00:00", "12:00:00"}, {"10:00:00", "14:00:00"},
+                {"13:00:00", "19:00:00"}, {"11:00:00", "19:00:00"}};
+        int maxJour = 6 * 60;
+        int maxSemaine = 20 * 60;
+
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            List<Competence> competences = new ArrayList<>();
+            competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            if (random.nextBoolean()) competences.add(new Competence(intitules[random.nextInt(intitules.length)]));
+            secouristes.add(creerSecouriste(i, "Nom" + i, "Prenom" + i, competences));
+        }
+        Site site = new Site("SITE20", "Site P", 0, 0);
+        Sport sport = new Sport("SP20", "Marathon");
+        List<DPS> dpsList = new ArrayList<>();
+        for (int jour = 1; jour <= 14; jour++) {
+            Journee journee = new Journee(jour, 9, 2030);
+            for (int i = 0; i < 10; i++) {
+                String[] horaire = horaires[random.nextInt(horaires.length)];
+                DPS dps = new DPS(20_000L + 100L * jour + i, Time.valueOf(horaire[0]), Time.valueOf(horaire[1]), site, sport, journee);
+                for (int b = 0; b < 1 + random.nextInt(2); b++) {
+                    dps.ajouterBesoin(new Besoin(dps, new Competence(intitules[random.nextInt(intitules.length)]), 1 + random.nextInt(2)));
+                }
+                dpsList.add(dps);
+            }
+        }
+
+        for (String nom : registre.getNoms()) {
+            if (nom.equals(RegistreStrategies.AUTOMATIQUE)
+                    || registre.get(nom).getComplexite() == StrategieAffectation.Complexite.EXPONENTIELLE) continue;
+            int sansPlafonds = 0;
+            for (ResultatAffectation journee : resoudreParJour(registre, nom, secouristes, dpsList, null).values()) {
+                sansPlafonds += journee.getScore();
+            }
+            ChargeHoraire charge = ChargeHoraire.pour(secouristes, dpsList, maxJour, maxSemaine);
+            SortedMap<LocalDate, ResultatAffectation> parJour = resoudreParJour(registre, nom, secouristes, dpsList, charge);
+
+            // Recomptage naïf des cumuls de chaque secouriste, par jour et par semaine
+            int score = 0;
+            Map<Long, int[]> minutesJour = new HashMap<>();
+            Map<Long, int[]> minutesSemaine = new HashMap<>();
+            for (ResultatAffectation journee : parJour.values()) {
+                score += journee.getScore();
+                for (Map.Entry<DPS, List<Secouriste>> entry : journee.getAffectation().entrySet()) {
+                    int jour = entry.getKey().getJournee().getJour() - 1;
+                    for (Secouriste s : entry.getValue()) {
+                        minutesJour.computeIfAbsent(s.getId(), k -> new int[14])[jour] += entry.getKey().calculTemps();
+                        minutesSemaine.computeIfAbsent(s.getId(), k -> new int[2])[jour / 7] += entry.getKey().calculTemps();
+                    }
+                }
+            }
+            boolean respectes = true;
+            boolean coherents = true;
+            for (Secouriste s : secouristes) {
+                int[] parJourNaif = minutesJour.getOrDefault(s.getId(), new int[14]);
+                int[] parSemaineNaif = minutesSemaine.getOrDefault(s.getId(), new int[2]);
+                for (int jour = 0; jour < 14; jour++) {
+                    LocalDate date = LocalDate.of(2030, 9, jour + 1);
+                    if (parJourNaif[jour] > maxJour || parSemaineNaif[jour / 7] > maxSemaine) respectes = false;
+                    if (charge.getMinutesJour(s, date) != parJourNaif[jour]
+                            || charge.getMinutesSemaine(s, date) != parSemaineNaif[jour / 7]) coherents = false;
+                }
+            }
+            System.out.printf("  [%s] Score : %d (sans plafonds : %d) | Plafonds respectés : %b | Cumuls cohérents : %b%n",
+                    nom, score, sansPlafonds, respectes, coherents);
+        }
+
+        // Recherche exhaustive sous plafonds : seuls les secouristes dont le budget couvre le DPS sont employés
+        ChargeHoraire charge = ChargeHoraire.pour(secouristes, dpsList, maxJour, maxSemaine);
+        LocalDate premier = LocalDate.of(2030, 9, 1);
+        for (Secouriste s : secouristes.subList(0, 6)) charge.enregistrer(s, dpsList.get(0));
+        List<Secouriste> vivier = secouristes.subList(0, 12);
+        List<DPS> dpsDuJour = dpsList.subList(1, 5);
+        Map<DPS, List<Secouriste>> exhaustive = graphe.affectationExhaustive(vivier, dpsDuJour, charge);
+        boolean respectes = true;
+        for (Map.Entry<DPS, List<Secouriste>> entry : exhaustive.entrySet()) {
+            for (Secouriste s : entry.getValue()) {
+                if (entry.getKey().calculTemps() > charge.getMinutesRestantes(s, premier)) respectes = false;
+            }
+        }
+        System.out.println("  [Exhaustif, secouristes déjà employés] Score : " + graphe.evaluerAffectation(exhaustive)
+                + " (sans plafonds : " + graphe.evaluerAffectation(graphe.affectationExhaustive(vivier, dpsDuJour))
+                + ") | Plafonds respectés : " + respectes);
+
+        // La charge étant passée à chaque résolution, un même graphe résout en même temps avec et sans plafonds
+        java.util.concurrent.CompletableFuture<Map<DPS, List<Secouriste>>> avec =
+                java.util.concurrent.CompletableFuture.supplyAsync(() -> graphe.affectationGloutonne(vivier, dpsDuJour, charge));
+        java.util.concurrent.CompletableFuture<Map<DPS, List<Secouriste>>> sans =
+                java.util.concurrent.CompletableFuture.supplyAsync(() -> graphe.affectationGloutonne(vivier, dpsDuJour));
+        System.out.println("  [Glouton, résolutions concurrentes] Identiques aux résolutions séquentielles : "
+                + (avec.join().equals(graphe.affectationGloutonne(vivier, dpsDuJour, charge))
+                   && sans.join().equals(graphe.affectationGloutonne(vivier, dpsDuJour))));
+    }
+
+    /**
+     * Résout les journées une à une dans l'ordre chronologique, en enregistrant chaque journée dans la charge.
+     * @param charge la charge horaire en vigueur, ou null sans plafonds
+     */
+    private static SortedMap<LocalDate, ResultatAffectation> resoudreParJour(RegistreStrategies registre, String nom,
+                                                                             List<Secouriste> secouristes, List<DPS> dps,
+                                                                             ChargeHoraire charge) {
+        java.util.concurrent.ExecutorService sequentiel = java.util.concurrent.Executors.newSingleThreadExecutor();
+        try {
+            return new DecompositionJournees(sequentiel).resoudre(dps, date -> secouristes, (vivier, dpsDuJour) -> {
+                ResultatAffectation resultat = registre.resoudre(nom, vivier, dpsDuJour, java.time.Instant.now().plusMillis(200), charge);
+                if (charge != null) charge.enregistrer(resultat.getAffectation());
+                return resultat;
+            });
+        } finally {
+            sequentiel.shutdown();
+        }
+    }
+
+    /**
+     * Énumère récursivement les répartitions des besoins à partir du besoin {@code i} : chaque besoin prend exactement
+     * le nombre requis de secouristes libres de ses classes éligibles, ou n'est pas couvert (référence du test 16).
+     * @return le nombre de répartitions, doublons compris
+     */
+    private static long enumererRepartitions(int i, int[][] eligibles, int[] requis, int[] libres, int[] equipe,
+                                             Set<List<Integer>> equipes) {
+        if (i == requis.length) {
+            List<Integer> cle = new ArrayList<>();
+            for (int effectif : equipe) cle.add(effectif);
+            equipes.add(cle);
+            return 1;
+        }
+        long total = enumererRepartitions(i + 1, eligibles, requis, libres, equipe, equipes);
+        if (requis[i] > 0) total += repartirBesoin(i, 0, requis[i], eligibles, requis, libres, equipe, equipes);
+        return total;
+    }
+
+    /** Répartit {@code reste} secouristes du besoin {@code i} sur ses classes éligibles à partir de la position {@code j}. */
+    private static long repartirBesoin(int i, int j, int reste, int[][] eligibles, int[] requis, int[] libres,
+                                       int[] equipe, Set<List<Integer>> equipes) {
+        if (reste == 0) return enumererRepartitions(i + 1, eligibles, requis, libres, equipe, equipes);
+        if (j == eligibles[i].length) return 0;
+        int k = eligibles[i][j];
+        long total = 0;
+        for (int x = 0; x <= Math.min(reste, libres[k]); x++) {
+            libres[k] -= x;
+            equipe[k] += x;
+            total += repartirBesoin(i, j + 1, reste - x, eligibles, requis, libres, equipe, equipes);
+            libres[k] += x;
+            equipe[k] -= x;
+        }
+        return total;
+    }
+
+    /**
+     * Implication calculée naïvement par parcours récursif des prérequis (référence du test).
+     */
+    private static boolean impliqueParParcours(Map<String, List<String>> graphe, String possedee, String requise) {
+        for (String p : graphe.getOrDefault(possedee, List.of())) {
+            if (p.equals(requise) || impliqueParParcours(graphe, p, requise)) return true;
+        }
+        return false;
     }
 }
@@ -12,6 +12,8 @@ public class AdminAffectationsView {
     private AnchorPane root;
     private Button greedyButton;
     private Button exhaustiveButton;
+    private ComboBox<String> strategieComboBox;
+    private Button strategieButton;
     private TableView<AdminAffectationsModel.Affectation> tableView;
     private TableColumn<AdminAffectationsModel.Affectation, String> colDate;
     private TableColumn<AdminAffectationsModel.Affectation, String> colSitesOlympiques;
@@ -84,11 +86,18 @@ public class AdminAffectationsView {
         greedyButton.getStyleClass().addAll("dashboard-button", "active-button");
         greedyButton.setPrefSize(200, 60);
         
-        exhaustiveButton = new Button("Générer via Algorithme Exhaustif");
+        exhaustiveButton = new Button("Générer via Recherche Bornée");
         exhaustiveButton.getStyleClass().addAll("dashboard-button", "active-button");
         exhaustiveButton.setPrefSize(200, 60);
         
-        buttonContainer.getChildren().addAll(greedyButton, exhaustiveButton);
+        strategieComboBox = new ComboBox<>();
+        strategieComboBox.setPrefWidth(200);
+        
+        strategieButton = new Button("Générer via la Stratégie Choisie");
+        strategieButton.getStyleClass().addAll("dashboard-button", "active-button");
+        strategieButton.setPrefSize(200, 60);
+        
+        buttonContainer.getChildren().addAll(greedyButton, exhaustiveButton, strategieComboBox, strategieButton);
         
         VBox tableContainer = new VBox();
         tableContainer.setAlignment(Pos.TOP_LEFT);
@@ -163,10 +172,20 @@ public class AdminAffectationsView {
         return exhaustiveButton;
     }
     
+    public ComboBox<String> getStrategieComboBox() {
+        return strategieComboBox;
+    }
+    
+    public Button getStrategieButton() {
+        return strategieButton;
+    }
+    
     private void setupController(String nomUtilisateur) {
         controller = new AdminAffectationsController(
                 greedyButton,
                 exhaustiveButton,
+                strategieComboBox,
+                strategieButton,
                 tableView,
                 colDate,
                 colSitesOlympiques,